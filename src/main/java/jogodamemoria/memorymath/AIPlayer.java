@@ -1,56 +1,140 @@
 package jogodamemoria.memorymath;
 
-import java.util.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.random.RandomGenerator;
+import jogodamemoria.memorymath.model.BuscaMonteCarlo;
+import jogodamemoria.memorymath.model.SolucionadorExato;
+import jogodamemoria.memorymath.util.Log;
 
 /**
  * Classe que representa um jogador controlado por IA.
  * Implementa diferentes níveis de dificuldade baseados na memória de cartas abertas.
+ * A memória é sincronizada: a tela calcula a jogada em outro thread enquanto
+ * as cartas reveladas continuam sendo registradas no thread do JavaFX.
  * 
  * @author MemoryMath Team
  * @version 2.0
  */
 public class AIPlayer extends Player {
+
+    /** Tamanho de memória das dificuldades que nunca esquecem uma carta. */
+    public static final int MEMORIA_ILIMITADA = -1;
     
     /**
      * Enumeração dos níveis de dificuldade da IA.
      */
     public enum Difficulty {
-        FACIL("Fácil", 2),      // Memória dos 2 últimos pares abertos
-        MEDIO("Médio", 6),      // Memória dos 6 últimos pares abertos
-        DIFICIL("Difícil", Integer.MAX_VALUE); // Memória de todos os pares abertos
+        FACIL("Fácil", 2, 100),      // Memória dos 2 últimos pares abertos
+        MEDIO("Médio", 6, 200),      // Memória dos 6 últimos pares abertos
+        DIFICIL("Difícil", MEMORIA_ILIMITADA, 400), // Memória de todos os pares abertos
+        ESPECIALISTA("Especialista", MEMORIA_ILIMITADA, 500), // Memória total e busca por simulação
+        PERFEITO("Perfeito", MEMORIA_ILIMITADA, 500); // Memória total e jogada ótima calculada
         
         private final String displayName;
         private final int memorySize;
+        private final long tempoDecisaoMs;
         
-        Difficulty(String displayName, int memorySize) {
+        Difficulty(String displayName, int memorySize, long tempoDecisaoMs) {
             this.displayName = displayName;
             this.memorySize = memorySize;
+            this.tempoDecisaoMs = tempoDecisaoMs;
         }
         
         public String getDisplayName() {
             return displayName;
         }
         
+        /**
+         * @return Número de pares errados lembrados, ou {@link #MEMORIA_ILIMITADA}
+         */
         public int getMemorySize() {
             return memorySize;
         }
+
+        public boolean isMemoriaIlimitada() {
+            return memorySize == MEMORIA_ILIMITADA;
+        }
+
+        /**
+         * @return Tempo máximo para escolher uma carta, em milissegundos; depois
+         *         dele a tela joga uma carta qualquer no lugar da IA
+         */
+        public long getTempoDecisaoMs() {
+            return tempoDecisaoMs;
+        }
     }
     
     private final Difficulty difficulty;
-    private final Map<String, CardInfo> revealedCards;
-    private final Queue<CardPair> cardMemory;
-    private final Random random;
+    private final RandomGenerator random;
+    private volatile long tempoDecisaoMs;
+
+    // Pares errados lembrados, em um anel de capacidade fixa com duas cartas
+    // por posição; o mais antigo é sobrescrito (e esquecido) pelo próximo.
+    // Sem limite de memória nada é esquecido e o anel não existe.
+    private final int[] anelPares;
+    private int inicioAnel;
+    private int paresNoAnel;
+    private int paresLembrados;
+
+    private static final int NENHUMA = -1;
+
+    // Memória indexada pelo índice da carta no tabuleiro
+    private boolean[] conhecidas = new boolean[0];
+    private boolean[] conhecidaOperacao = new boolean[0];
+    private int[] resultadoConhecido = new int[0];
+    private int cartasConhecidas;
+
+    // Listas duplamente ligadas, embutidas nos vetores, das cartas conhecidas de
+    // cada valor de resultado: uma lista de operações e outra de resultados.
+    private int[] proximaCarta = new int[0];
+    private int[] cartaAnterior = new int[0];
+    private int[] primeiraOperacao = new int[0];
+    private int[] primeiroResultado = new int[0];
+
+    // Valores com operação e resultado conhecidos (pares prontos), em um
+    // conjunto indexado que aceita inserir, remover e sortear em tempo constante
+    private int[] prontos = new int[0];
+    private int[] posicaoPronto = new int[0];
+    private int quantidadeProntos;
+
+    // Primeira carta da jogada em andamento e se ela era desconhecida antes
+    private int ultimaAbertura = NENHUMA;
+    private boolean ultimaAberturaInedita;
     
     /**
      * Construtor da IA.
      * @param difficulty Nível de dificuldade da IA
      */
     public AIPlayer(Difficulty difficulty) {
-        super("IA - " + difficulty.getDisplayName());
+        this(difficulty, new SplittableRandom());
+    }
+
+    /**
+     * Construtor da IA com fonte aleatória própria, para partidas reprodutíveis.
+     * @param difficulty Nível de dificuldade da IA
+     * @param random Fonte aleatória das escolhas da IA
+     */
+    public AIPlayer(Difficulty difficulty, RandomGenerator random) {
+        this("IA - " + difficulty.getDisplayName(), difficulty, random);
+    }
+
+    /**
+     * Construtor da IA com nome próprio, usado ao retomar uma partida salva.
+     * @param nome Nome exibido da IA
+     * @param difficulty Nível de dificuldade da IA
+     * @param random Fonte aleatória das escolhas da IA
+     */
+    public AIPlayer(String nome, Difficulty difficulty, RandomGenerator random) {
+        super(nome);
         this.difficulty = difficulty;
-        this.revealedCards = new HashMap<>();
-        this.cardMemory = new LinkedList<>();
-        this.random = new Random();
+        this.anelPares = difficulty.isMemoriaIlimitada() ? null : new int[2 * difficulty.getMemorySize()];
+        this.random = random;
+        this.tempoDecisaoMs = difficulty.getTempoDecisaoMs();
     }
     
     /**
@@ -60,228 +144,471 @@ public class AIPlayer extends Player {
     public Difficulty getDifficulty() {
         return difficulty;
     }
+
+    /**
+     * @return Tempo máximo para escolher uma carta, em milissegundos
+     */
+    public long getTempoDecisaoMs() {
+        return tempoDecisaoMs;
+    }
+
+    /**
+     * Troca o tempo de decisão da dificuldade, por exemplo para simular
+     * partidas sem tela mais depressa. A IA especialista usa três quartos
+     * dele na busca.
+     * @param tempoDecisaoMs Tempo máximo para escolher uma carta, em milissegundos
+     */
+    public void setTempoDecisaoMs(long tempoDecisaoMs) {
+        this.tempoDecisaoMs = tempoDecisaoMs;
+    }
     
     /**
      * Registra uma carta revelada na memória da IA.
-     * @param idCarta ID da carta
-     * @param infoCarta Informações da carta
+     * @param carta Índice da carta no tabuleiro
+     * @param resultado Resultado da carta
+     * @param operacao true se for carta de operação
      */
-    public void registrarCartaRevelada(String idCarta, CardInfo infoCarta) {
-        revealedCards.put(idCarta, infoCarta);
+    public synchronized void registrarCartaRevelada(int carta, int resultado, boolean operacao) {
+        garantirCapacidade(carta, resultado);
+        if (conhecidas[carta]) {
+            return;
+        }
+        conhecidas[carta] = true;
+        conhecidaOperacao[carta] = operacao;
+        resultadoConhecido[carta] = resultado;
+        cartasConhecidas++;
+
+        int[] cabecas = operacao ? primeiraOperacao : primeiroResultado;
+        int cabeca = cabecas[resultado];
+        proximaCarta[carta] = cabeca;
+        cartaAnterior[carta] = NENHUMA;
+        if (cabeca != NENHUMA) {
+            cartaAnterior[cabeca] = carta;
+        }
+        cabecas[resultado] = carta;
+        atualizarPronto(resultado);
     }
 
     /**
      * Remove uma carta da memória quando ela é encontrada (matched).
-     * @param idCarta ID da carta
+     * @param carta Índice da carta no tabuleiro
+     */
+    public synchronized void removerCartaDaMemoria(int carta) {
+        if (carta >= conhecidas.length || !conhecidas[carta]) {
+            return;
+        }
+        conhecidas[carta] = false;
+        cartasConhecidas--;
+
+        int resultado = resultadoConhecido[carta];
+        int anterior = cartaAnterior[carta];
+        int proxima = proximaCarta[carta];
+        if (anterior != NENHUMA) {
+            proximaCarta[anterior] = proxima;
+        } else if (conhecidaOperacao[carta]) {
+            primeiraOperacao[resultado] = proxima;
+        } else {
+            primeiroResultado[resultado] = proxima;
+        }
+        if (proxima != NENHUMA) {
+            cartaAnterior[proxima] = anterior;
+        }
+        atualizarPronto(resultado);
+    }
+
+    /**
+     * Inclui ou retira o valor do conjunto de pares prontos conforme as duas
+     * listas do valor estejam ou não preenchidas.
      */
-    public void removerCartaDaMemoria(String idCarta) {
-        revealedCards.remove(idCarta);
+    private void atualizarPronto(int resultado) {
+        boolean pronto = primeiraOperacao[resultado] != NENHUMA && primeiroResultado[resultado] != NENHUMA;
+        int posicao = posicaoPronto[resultado];
+        if (pronto && posicao == NENHUMA) {
+            posicaoPronto[resultado] = quantidadeProntos;
+            prontos[quantidadeProntos++] = resultado;
+        } else if (!pronto && posicao != NENHUMA) {
+            int ultimo = prontos[--quantidadeProntos];
+            prontos[posicao] = ultimo;
+            posicaoPronto[ultimo] = posicao;
+            posicaoPronto[resultado] = NENHUMA;
+        }
+    }
+
+    private void garantirCapacidade(int carta, int resultado) {
+        if (carta >= conhecidas.length) {
+            int tamanho = Math.max(carta + 1, conhecidas.length * 2);
+            conhecidas = Arrays.copyOf(conhecidas, tamanho);
+            conhecidaOperacao = Arrays.copyOf(conhecidaOperacao, tamanho);
+            resultadoConhecido = Arrays.copyOf(resultadoConhecido, tamanho);
+            proximaCarta = Arrays.copyOf(proximaCarta, tamanho);
+            cartaAnterior = Arrays.copyOf(cartaAnterior, tamanho);
+        }
+        if (resultado >= primeiraOperacao.length) {
+            int anterior = primeiraOperacao.length;
+            int tamanho = Math.max(resultado + 1, anterior * 2);
+            primeiraOperacao = Arrays.copyOf(primeiraOperacao, tamanho);
+            primeiroResultado = Arrays.copyOf(primeiroResultado, tamanho);
+            posicaoPronto = Arrays.copyOf(posicaoPronto, tamanho);
+            prontos = Arrays.copyOf(prontos, tamanho);
+            Arrays.fill(primeiraOperacao, anterior, tamanho, NENHUMA);
+            Arrays.fill(primeiroResultado, anterior, tamanho, NENHUMA);
+            Arrays.fill(posicaoPronto, anterior, tamanho, NENHUMA);
+        }
     }
     
     /**
-     * Registra um par de cartas abertas na memória.
-     * @param carta1 ID da primeira carta
-     * @param carta2 ID da segunda carta
+     * Registra um par de cartas abertas na memória. Com a memória cheia, o par
+     * mais antigo é sobrescrito e as cartas dele são esquecidas.
+     * @param carta1 Índice da primeira carta
+     * @param carta2 Índice da segunda carta
      */
-    public void registrarParAberto(String carta1, String carta2) {
-        CardPair pair = new CardPair(carta1, carta2);
-        cardMemory.offer(pair);
-
-        while (cardMemory.size() > difficulty.getMemorySize()) {
-            CardPair removed = cardMemory.poll();
-            if (removed != null) {
-                revealedCards.remove(removed.getCarta1());
-                revealedCards.remove(removed.getCarta2());
+    public synchronized void registrarParAberto(int carta1, int carta2) {
+        if (anelPares == null) {
+            paresLembrados++;
+            return;
+        }
+        int capacidade = difficulty.getMemorySize();
+        int posicao;
+        if (paresNoAnel < capacidade) {
+            posicao = inicioAnel + paresNoAnel;
+            if (posicao >= capacidade) {
+                posicao -= capacidade;
             }
+            paresNoAnel++;
+        } else {
+            posicao = inicioAnel;
+            removerCartaDaMemoria(anelPares[2 * posicao]);
+            removerCartaDaMemoria(anelPares[2 * posicao + 1]);
+            inicioAnel = posicao + 1 == capacidade ? 0 : posicao + 1;
         }
+        anelPares[2 * posicao] = carta1;
+        anelPares[2 * posicao + 1] = carta2;
+        paresLembrados = paresNoAnel;
     }
     
     /**
      * Calcula a melhor jogada para a IA.
-     * @param cartasDisponiveis Lista de cartas disponíveis para jogar
-     * @return ID da carta escolhida, ou null se não houver jogada ótima
+     * @param cartasDisponiveis Índices das cartas disponíveis para jogar
+     * @param quantidade Número de posições válidas em cartasDisponiveis
+     * @param cartaAberta Operação já revelada nesta jogada, ou -1 na primeira carta
+     * @return Índice da carta escolhida, ou -1 se não houver carta disponível
      */
-    public String calcularMelhorJogada(List<String> cartasDisponiveis) {
-        System.out.println("IA " + difficulty.getDisplayName() + " calculando melhor jogada...");
-        System.out.println("Cartas disponíveis: " + cartasDisponiveis.size());
-        for (String id : cartasDisponiveis) {
-            System.out.println("  - " + id);
+    public int calcularMelhorJogada(int[] cartasDisponiveis, int quantidade, int cartaAberta) {
+        int carta = decidirJogada(cartasDisponiveis, quantidade, cartaAberta);
+        synchronized (this) {
+            // Uma decisão interrompida é descartada sem mexer na memória
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Decisão da IA interrompida");
+            }
+            registrarAbertura(carta, cartaAberta);
+        }
+        return carta;
+    }
+
+    /**
+     * Escolhe uma carta só pela memória, sem busca: um par pronto se houver,
+     * senão uma carta sorteada. Usado quando {@link #calcularMelhorJogada}
+     * passa do prazo ou falha.
+     * @param cartasDisponiveis Índices das cartas disponíveis para jogar
+     * @param quantidade Número de posições válidas em cartasDisponiveis
+     * @param cartaAberta Operação já revelada nesta jogada, ou -1 na primeira carta
+     * @return Índice da carta escolhida, ou -1 se não houver carta disponível
+     */
+    public synchronized int jogadaDeReserva(int[] cartasDisponiveis, int quantidade, int cartaAberta) {
+        if (quantidade == 0) {
+            return -1;
+        }
+        int carta = encontrarMatchConhecido(cartaAberta);
+        if (carta < 0) {
+            carta = cartasDisponiveis[random.nextInt(quantidade)];
         }
+        registrarAbertura(carta, cartaAberta);
+        return carta;
+    }
+
+    private void registrarAbertura(int carta, int cartaAberta) {
+        if (cartaAberta < 0 && carta >= 0) {
+            ultimaAbertura = carta;
+            ultimaAberturaInedita = !conhecida(carta);
+        }
+    }
+
+    private int decidirJogada(int[] cartasDisponiveis, int quantidade, int cartaAberta) {
+        Log.debug("IA %s calculando melhor jogada entre %d cartas", difficulty.getDisplayName(), quantidade);
         
-        if (cartasDisponiveis.isEmpty()) {
-            System.err.println("ERRO: Lista de cartas disponíveis vazia!");
-            return null;
+        if (quantidade == 0) {
+            Log.erro("Lista de cartas disponíveis vazia!");
+            return -1;
         }
 
-        String matchConhecido = encontrarMatchConhecido(cartasDisponiveis);
-        if (matchConhecido != null) {
-            System.out.println("Match conhecido encontrado: " + matchConhecido);
-            return matchConhecido;
+        PlanoBusca plano;
+        boolean aberturaInedita;
+        synchronized (this) {
+            int matchConhecido = encontrarMatchConhecido(cartaAberta);
+            if (matchConhecido >= 0) {
+                Log.debug("Match conhecido encontrado: %d", matchConhecido);
+                return matchConhecido;
+            }
+
+            plano = difficulty == Difficulty.ESPECIALISTA || difficulty == Difficulty.PERFEITO
+                    ? planejarBusca(cartasDisponiveis, quantidade, cartaAberta) : null;
+            if (plano == null) {
+                return escolherSemBusca(cartasDisponiveis, quantidade);
+            }
+            aberturaInedita = cartaAberta != ultimaAbertura || ultimaAberturaInedita;
         }
 
-        String cartaEstrategica = escolherCartaEstrategica(cartasDisponiveis);
-        if (cartaEstrategica != null) {
-            System.out.println("Carta estratégica escolhida: " + cartaEstrategica);
+        // A busca roda fora do bloqueio: as cartas reveladas enquanto isso
+        // continuam sendo registradas. Tabuleiros grandes demais para o
+        // solucionador ficam com a busca por simulação.
+        int indice;
+        if (difficulty == Difficulty.PERFEITO && SolucionadorExato.suporta(plano.posicao.getPares())) {
+            indice = SolucionadorExato.getInstance().escolher(plano.posicao, aberturaInedita);
+        } else {
+            long prazo = System.nanoTime() + tempoDecisaoMs * 750_000L;
+            indice = BuscaMonteCarlo.getInstance().escolher(plano.posicao, plano.jogadas, prazo, plano.random);
+        }
+        int carta = plano.cartas[indice];
+        Log.debug("Carta escolhida pela busca: %d", carta);
+        return carta;
+    }
+
+    private int escolherSemBusca(int[] cartasDisponiveis, int quantidade) {
+        int cartaEstrategica = escolherCartaEstrategica(cartasDisponiveis, quantidade);
+        if (cartaEstrategica >= 0) {
+            Log.debug("Carta estratégica escolhida: %d", cartaEstrategica);
             return cartaEstrategica;
         }
 
-        int randomIndex = random.nextInt(cartasDisponiveis.size());
-        String cartaAleatoria = cartasDisponiveis.get(randomIndex);
-        System.out.println("Carta aleatória escolhida: " + cartaAleatoria);
+        int cartaAleatoria = cartasDisponiveis[random.nextInt(quantidade)];
+        Log.debug("Carta aleatória escolhida: %d", cartaAleatoria);
         return cartaAleatoria;
     }
-    
+
     /**
-     * Encontra uma carta que forma match com uma carta já conhecida.
-     * @param cartasDisponiveis Cartas disponíveis
-     * @return ID da carta que forma match, ou null se não encontrar
+     * Jogadas que a busca compara, cada uma com a carta que a representa, e
+     * a fonte das simulações, tirada da fonte da IA.
      */
-    private String encontrarMatchConhecido(List<String> cartasDisponiveis) {
-        for (String idCarta : cartasDisponiveis) {
-            CardInfo infoCarta = revealedCards.get(idCarta);
-            if (infoCarta != null) {
-                for (Map.Entry<String, CardInfo> entry : revealedCards.entrySet()) {
-                    String outraCarta = entry.getKey();
-                    CardInfo infoOutraCarta = entry.getValue();
-
-                    if (!outraCarta.equals(idCarta) && 
-                        infoCarta.getResult() == infoOutraCarta.getResult() &&
-                        saoTiposDiferentes(idCarta, outraCarta)) {
-                        return idCarta;
-                    }
-                }
-            }
+    private static final class PlanoBusca {
+        final BuscaMonteCarlo.Posicao posicao;
+        final int[] jogadas;
+        final int[] cartas;
+        final SplittableRandom random;
+
+        PlanoBusca(BuscaMonteCarlo.Posicao posicao, int[] jogadas, int[] cartas, SplittableRandom random) {
+            this.posicao = posicao;
+            this.jogadas = jogadas;
+            this.cartas = cartas;
+            this.random = random;
         }
-        return null;
     }
-    
+
     /**
-     * Escolhe uma carta estratégica para revelar.
-     * @param cartasDisponiveis Cartas disponíveis
-     * @return ID da carta estratégica, ou null se não encontrar
+     * Monta a posição da busca a partir da memória. Sem par pronto, as cartas
+     * disponíveis se dividem em nunca vistas e já vistas, e as de cada grupo
+     * são equivalentes; basta comparar uma de cada.
+     * @return Plano da busca, ou null se só houver um grupo ou se a memória
+     *         não couber no modelo (valores repetidos no tabuleiro)
      */
-    private String escolherCartaEstrategica(List<String> cartasDisponiveis) {
-        List<String> cartasNaoVistas = new ArrayList<>();
-        List<String> cartasOperacao = new ArrayList<>();
-        List<String> cartasResultado = new ArrayList<>();
-        
-        for (String idCarta : cartasDisponiveis) {
-            if (!revealedCards.containsKey(idCarta)) {
-                cartasNaoVistas.add(idCarta);
-            } else {
-                if (idCarta.contains("op")) {
-                    cartasOperacao.add(idCarta);
-                } else if (idCarta.contains("re")) {
-                    cartasResultado.add(idCarta);
+    private PlanoBusca planejarBusca(int[] cartasDisponiveis, int quantidade, int cartaAberta) {
+        int desconhecida = -1;
+        int vista = -1;
+        int desconhecidas = 0;
+        int vistas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            int carta = cartasDisponiveis[i];
+            if (!conhecida(carta)) {
+                if (random.nextInt(++desconhecidas) == 0) {
+                    desconhecida = carta;
                 }
+            } else if (random.nextInt(++vistas) == 0) {
+                vista = carta;
             }
         }
-
-        if (!cartasNaoVistas.isEmpty()) {
-            return cartasNaoVistas.get(random.nextInt(cartasNaoVistas.size()));
+        if (desconhecida < 0 || vista < 0) {
+            return null;
         }
 
-        if (!cartasOperacao.isEmpty()) {
-            return cartasOperacao.get(random.nextInt(cartasOperacao.size()));
+        int[] pares = new int[primeiraOperacao.length];
+        int vistos = 0;
+        for (int valor = 0; valor < pares.length; valor++) {
+            int operacao = primeiraOperacao[valor];
+            int resultado = primeiroResultado[valor];
+            if ((operacao != NENHUMA && proximaCarta[operacao] != NENHUMA)
+                    || (resultado != NENHUMA && proximaCarta[resultado] != NENHUMA)) {
+                return null;
+            }
+            pares[valor] = operacao != NENHUMA || resultado != NENHUMA ? vistos++ : NENHUMA;
+        }
+        if (vistos > quantidade) {
+            return null;
         }
 
-        if (!cartasResultado.isEmpty()) {
-            return cartasResultado.get(random.nextInt(cartasResultado.size()));
+        BuscaMonteCarlo.Posicao posicao = new BuscaMonteCarlo.Posicao(quantidade,
+                cartaAberta < 0 ? -1 : pares[resultadoConhecido[cartaAberta]]);
+        for (int valor = 0; valor < pares.length; valor++) {
+            if (primeiraOperacao[valor] != NENHUMA) {
+                posicao.conhecerOperacao(pares[valor]);
+            }
+            if (primeiroResultado[valor] != NENHUMA) {
+                posicao.conhecerResultado(pares[valor]);
+            }
         }
-        
-        return null;
+        int[] jogadas = {BuscaMonteCarlo.CARTA_DESCONHECIDA, pares[resultadoConhecido[vista]]};
+        return new PlanoBusca(posicao, jogadas, new int[] {desconhecida, vista}, new SplittableRandom(random.nextLong()));
+    }
+
+    private boolean conhecida(int carta) {
+        return carta < conhecidas.length && conhecidas[carta];
     }
     
     /**
-     * Verifica se duas cartas são de tipos diferentes (operação vs resultado).
-     * @param idCarta1 ID da primeira carta
-     * @param idCarta2 ID da segunda carta
-     * @return true se são de tipos diferentes
+     * Encontra na memória a carta que completa um par, sem percorrer as
+     * cartas disponíveis. Na primeira carta, sorteia um valor entre os pares
+     * prontos e devolve a sua operação; na segunda, devolve um resultado
+     * conhecido com o mesmo valor da operação aberta.
+     * @param cartaAberta Operação revelada nesta jogada, ou -1 na primeira carta
+     * @return Índice da carta que forma match, ou -1 se não encontrar
      */
-    private boolean saoTiposDiferentes(String idCarta1, String idCarta2) {
-        boolean ehOp1 = idCarta1.contains("op");
-        boolean ehOp2 = idCarta2.contains("op");
-        return ehOp1 != ehOp2;
+    private int encontrarMatchConhecido(int cartaAberta) {
+        if (cartaAberta < 0) {
+            if (quantidadeProntos == 0) {
+                return -1;
+            }
+            return primeiraOperacao[prontos[random.nextInt(quantidadeProntos)]];
+        }
+        if (!conhecida(cartaAberta)) {
+            return -1;
+        }
+        return primeiroResultado[resultadoConhecido[cartaAberta]];
     }
     
     /**
-     * Limpa a memória da IA.
+     * Escolhe uma carta estratégica para revelar: de preferência uma ainda não vista,
+     * depois uma operação conhecida e por último um resultado conhecido.
+     * @param cartasDisponiveis Cartas disponíveis
+     * @param quantidade Número de cartas disponíveis
+     * @return Índice da carta estratégica, ou -1 se não encontrar
      */
-    public void limparMemoria() {
-        cardMemory.clear();
-        revealedCards.clear();
-    }
+    private int escolherCartaEstrategica(int[] cartasDisponiveis, int quantidade) {
+        int naoVistas = 0;
+        int operacoes = 0;
+        int resultados = 0;
+        for (int i = 0; i < quantidade; i++) {
+            int carta = cartasDisponiveis[i];
+            if (!conhecida(carta)) {
+                naoVistas++;
+            } else if (conhecidaOperacao[carta]) {
+                operacoes++;
+            } else {
+                resultados++;
+            }
+        }
 
-    /**
-     * Obtém estatísticas da memória da IA.
-     * @return String com estatísticas
-     */
-    public String obterEstatisticasMemoria() {
-        return String.format("IA %s - Cartas na memória: %d, Pares lembrados: %d/%d", 
-                           difficulty.getDisplayName(), 
-                           revealedCards.size(),
-                           cardMemory.size(),
-                           difficulty.getMemorySize());
+        int categoria;
+        int escolhida;
+        if (naoVistas > 0) {
+            categoria = 0;
+            escolhida = random.nextInt(naoVistas);
+        } else if (operacoes > 0) {
+            categoria = 1;
+            escolhida = random.nextInt(operacoes);
+        } else if (resultados > 0) {
+            categoria = 2;
+            escolhida = random.nextInt(resultados);
+        } else {
+            return -1;
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            int carta = cartasDisponiveis[i];
+            int categoriaCarta = !conhecida(carta) ? 0 : conhecidaOperacao[carta] ? 1 : 2;
+            if (categoriaCarta == categoria && escolhida-- == 0) {
+                return carta;
+            }
+        }
+        return -1;
     }
     
     /**
-     * Executa a lógica do turno da IA.
+     * Limpa a memória da IA.
      */
-    @Override
-    public void jogarTurno() {
+    public synchronized void limparMemoria() {
+        inicioAnel = 0;
+        paresNoAnel = 0;
+        paresLembrados = 0;
+        Arrays.fill(conhecidas, false);
+        Arrays.fill(primeiraOperacao, NENHUMA);
+        Arrays.fill(primeiroResultado, NENHUMA);
+        Arrays.fill(posicaoPronto, NENHUMA);
+        quantidadeProntos = 0;
+        cartasConhecidas = 0;
+        ultimaAbertura = NENHUMA;
     }
-    
+
     /**
-     * Classe interna para armazenar informações de um par de cartas.
+     * Grava a memória da IA (cartas conhecidas e pares lembrados, na ordem
+     * em que serão esquecidos) para retomar a partida depois.
+     * @param saida Destino dos dados
+     * @throws IOException Se a escrita falhar
      */
-    private static class CardPair {
-        private final String carta1;
-        private final String carta2;
-        private final long timestamp;
-        
-        public CardPair(String carta1, String carta2) {
-            this.carta1 = carta1;
-            this.carta2 = carta2;
-            this.timestamp = System.currentTimeMillis();
+    public synchronized void gravarMemoria(DataOutput saida) throws IOException {
+        saida.writeInt(cartasConhecidas);
+        for (int carta = 0; carta < conhecidas.length; carta++) {
+            if (conhecidas[carta]) {
+                saida.writeInt(carta);
+                saida.writeBoolean(conhecidaOperacao[carta]);
+                saida.writeInt(resultadoConhecido[carta]);
+            }
         }
-        
-        public String getCarta1() {
-            return carta1;
+        saida.writeInt(paresNoAnel);
+        for (int i = 0; i < paresNoAnel; i++) {
+            int posicao = (inicioAnel + i) % difficulty.getMemorySize();
+            saida.writeInt(anelPares[2 * posicao]);
+            saida.writeInt(anelPares[2 * posicao + 1]);
         }
-        
-        public String getCarta2() {
-            return carta2;
+    }
+
+    /**
+     * Substitui a memória da IA pela gravada em {@link #gravarMemoria(DataOutput)}.
+     * @param entrada Origem dos dados
+     * @throws IOException Se a leitura falhar
+     */
+    public synchronized void lerMemoria(DataInput entrada) throws IOException {
+        limparMemoria();
+        int cartas = entrada.readInt();
+        for (int i = 0; i < cartas; i++) {
+            int carta = entrada.readInt();
+            boolean operacao = entrada.readBoolean();
+            registrarCartaRevelada(carta, entrada.readInt(), operacao);
         }
-        
-        public long getTimestamp() {
-            return timestamp;
+        int pares = entrada.readInt();
+        for (int i = 0; i < pares; i++) {
+            int carta1 = entrada.readInt();
+            int carta2 = entrada.readInt();
+            if (anelPares != null && i >= pares - difficulty.getMemorySize()) {
+                registrarParAberto(carta1, carta2);
+            }
         }
     }
+
+    /**
+     * Obtém estatísticas da memória da IA.
+     * @return String com estatísticas
+     */
+    public synchronized String obterEstatisticasMemoria() {
+        return String.format("IA %s - Cartas na memória: %d, Pares lembrados: %d/%s", 
+                           difficulty.getDisplayName(), 
+                           cartasConhecidas,
+                           paresLembrados,
+                           difficulty.isMemoriaIlimitada() ? "∞" : String.valueOf(difficulty.getMemorySize()));
+    }
     
     /**
-     * Classe interna para armazenar informações de uma carta.
+     * Executa a lógica do turno da IA.
      */
-    public static class CardInfo {
-        private final String displayText;
-        private final int result;
-        private final boolean isOperation;
-        
-        public CardInfo(String displayText, int result, boolean isOperation) {
-            this.displayText = displayText;
-            this.result = result;
-            this.isOperation = isOperation;
-        }
-        
-        public String getDisplayText() {
-            return displayText;
-        }
-        
-        public int getResult() {
-            return result;
-        }
-        
-        public boolean isOperation() {
-            return isOperation;
-        }
+    @Override
+    public void jogarTurno() {
     }
+
 }
\ No newline at end of file
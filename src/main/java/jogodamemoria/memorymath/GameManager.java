@@ -1,7 +1,11 @@
 package jogodamemoria.memorymath;
 
 import jogodamemoria.memorymath.model.Card;
+import jogodamemoria.memorymath.model.CodigoPartida;
+import jogodamemoria.memorymath.model.PartidaSalva;
+import jogodamemoria.memorymath.model.ReplayJogadas;
 import java.util.List;
+import jogodamemoria.memorymath.util.Log;
 import jogodamemoria.memorymath.Player;
 import jogodamemoria.memorymath.HumanPlayer;
 import jogodamemoria.memorymath.AIPlayer;
@@ -16,6 +20,11 @@ import jogodamemoria.memorymath.AIPlayer;
  */
 public class GameManager {
 
+    /** Número de linhas do tabuleiro padrão. */
+    public static final int LINHAS_PADRAO = 4;
+    /** Número de colunas do tabuleiro padrão. */
+    public static final int COLUNAS_PADRAO = 3;
+
     private static GameManager instance;
     private GameManager() {}
     
@@ -40,6 +49,11 @@ public class GameManager {
     private Player player1, player2, currentPlayer, vencedor;
     private List<Card.OperationType> selectedOperations;
     private AIPlayer.Difficulty aiDifficulty;
+    private CodigoPartida codigoPartida;
+    private ReplayJogadas replay;
+    private PartidaSalva partidaSalva;
+    private boolean desenhoRapido;
+    private double multiplicadorVelocidade = lerMultiplicadorConfigurado();
 
     /**
      * Define o modo de jogo.
@@ -56,11 +70,25 @@ public class GameManager {
      * @param ops Lista de operações selecionadas
      */
     public void configurarJogoPvP(String p1Name, String p2Name, List<Card.OperationType> ops) {
+        configurarJogoPvP(p1Name, p2Name, CodigoPartida.novo(ops, LINHAS_PADRAO, COLUNAS_PADRAO));
+    }
+
+    /**
+     * Configura o jogo para modo PvP reproduzindo o tabuleiro de um código de partida.
+     * 
+     * @param p1Name Nome do primeiro jogador
+     * @param p2Name Nome do segundo jogador
+     * @param codigo Código com a semente, as operações e as dimensões do tabuleiro
+     */
+    public void configurarJogoPvP(String p1Name, String p2Name, CodigoPartida codigo) {
         this.player1 = new HumanPlayer(p1Name);
         this.player2 = new HumanPlayer(p2Name);
-        this.selectedOperations = ops;
+        this.codigoPartida = codigo;
+        this.selectedOperations = codigo.getOperacoes();
         this.currentPlayer = this.player1;
         this.vencedor = null;
+        this.replay = null;
+        this.partidaSalva = null;
     }
 
     /**
@@ -71,14 +99,87 @@ public class GameManager {
      * @param ops Lista de operações selecionadas
      */
     public void configurarJogoPvE(String p1Name, AIPlayer.Difficulty difficulty, List<Card.OperationType> ops) {
+        configurarJogoPvE(p1Name, difficulty, CodigoPartida.novo(ops, LINHAS_PADRAO, COLUNAS_PADRAO));
+    }
+
+    /**
+     * Configura o jogo para modo PvE reproduzindo o tabuleiro de um código de partida.
+     * A IA usa o fluxo aleatório derivado da mesma semente.
+     * 
+     * @param p1Name Nome do jogador humano
+     * @param difficulty Dificuldade da IA
+     * @param codigo Código com a semente, as operações e as dimensões do tabuleiro
+     */
+    public void configurarJogoPvE(String p1Name, AIPlayer.Difficulty difficulty, CodigoPartida codigo) {
         this.player1 = new HumanPlayer(p1Name);
-        this.player2 = new AIPlayer(difficulty);
+        this.player2 = new AIPlayer(difficulty, codigo.criarFontes().paraIA());
         this.aiDifficulty = difficulty;
-        this.selectedOperations = ops;
+        this.codigoPartida = codigo;
+        this.selectedOperations = codigo.getOperacoes();
         this.currentPlayer = this.player1;
         this.vencedor = null;
+        this.replay = null;
+        this.partidaSalva = null;
     }
 
+    /**
+     * Configura a tela de jogo para assistir a uma partida gravada. Os dois
+     * lugares são ocupados por jogadores humanos com os nomes gravados; as
+     * jogadas vêm do replay, não de cliques nem da IA.
+     * 
+     * @param replay Partida gravada
+     */
+    public void configurarReplay(ReplayJogadas replay) {
+        this.player1 = new HumanPlayer(replay.getNomeJogador1());
+        this.player2 = new HumanPlayer(replay.getNomeJogador2());
+        this.gameMode = GameMode.PVP;
+        this.codigoPartida = replay.getCodigo();
+        this.selectedOperations = codigoPartida.getOperacoes();
+        this.currentPlayer = this.player1;
+        this.vencedor = null;
+        this.replay = replay;
+        this.partidaSalva = null;
+    }
+
+    /**
+     * Configura a próxima partida para retomar uma partida salva. O modo de
+     * jogo é deduzido dos jogadores gravados.
+     * 
+     * @param partida Partida salva
+     */
+    public void configurarRetomada(PartidaSalva partida) {
+        this.player1 = partida.getJogador1();
+        this.player2 = partida.getJogador2();
+        this.gameMode = player2 instanceof AIPlayer ? GameMode.PVE : GameMode.PVP;
+        if (player2 instanceof AIPlayer) {
+            this.aiDifficulty = ((AIPlayer) player2).getDifficulty();
+        }
+        this.codigoPartida = partida.getCodigo();
+        this.selectedOperations = codigoPartida.getOperacoes();
+        this.currentPlayer = partida.isVezDoJogador1() ? player1 : player2;
+        this.vencedor = null;
+        this.replay = null;
+        this.partidaSalva = partida;
+    }
+
+    /**
+     * Entrega a partida salva a ser retomada, uma única vez.
+     * 
+     * @return Partida salva configurada, ou null se a partida começar do zero
+     */
+    public PartidaSalva consumirPartidaSalva() {
+        PartidaSalva partida = partidaSalva;
+        partidaSalva = null;
+        return partida;
+    }
+
+    /**
+     * Obtém a partida gravada em reprodução.
+     * 
+     * @return Replay configurado, ou null em uma partida normal
+     */
+    public ReplayJogadas getReplay() { return replay; }
+
     /**
      * Troca o turno entre os jogadores.
      */
@@ -135,6 +236,70 @@ public class GameManager {
      */
     public List<Card.OperationType> getSelectedOperations() { return selectedOperations; }
 
+    /**
+     * Obtém o código que reconstrói o tabuleiro da partida atual.
+     * 
+     * @return Código da partida
+     */
+    public CodigoPartida getCodigoPartida() { return codigoPartida; }
+
+    /**
+     * Define se o tabuleiro deve ser desenhado em um único Canvas em vez de
+     * um nó por carta. Recomendado para tabuleiros grandes.
+     *
+     * @param desenhoRapido true para usar o Canvas
+     */
+    public void setDesenhoRapido(boolean desenhoRapido) { this.desenhoRapido = desenhoRapido; }
+
+    /**
+     * Verifica se o tabuleiro deve ser desenhado em Canvas.
+     *
+     * @return true se o desenho rápido estiver ativo
+     */
+    public boolean isDesenhoRapido() { return desenhoRapido; }
+
+    /**
+     * Define o multiplicador dos atrasos da partida (espera da IA, tempo em
+     * que um par errado fica à mostra).
+     *
+     * @param multiplicador 1 para o ritmo normal, valores menores aceleram e 0 elimina as esperas
+     */
+    public void setMultiplicadorVelocidade(double multiplicador) { this.multiplicadorVelocidade = multiplicador; }
+
+    /**
+     * Obtém o multiplicador dos atrasos da partida. O valor inicial vem da
+     * propriedade de sistema {@code memorymath.velocidade}, ou 1 se ausente.
+     *
+     * @return Multiplicador dos atrasos
+     */
+    public double getMultiplicadorVelocidade() { return multiplicadorVelocidade; }
+
+    private static double lerMultiplicadorConfigurado() {
+        String configurado = System.getProperty("memorymath.velocidade");
+        if (configurado != null) {
+            try {
+                return Math.max(0, Double.parseDouble(configurado.trim()));
+            } catch (NumberFormatException e) {
+                Log.aviso("Multiplicador de velocidade inválido: %s", configurado);
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Obtém o número de linhas do tabuleiro da partida atual.
+     * 
+     * @return Linhas de cada grid (operações e resultados)
+     */
+    public int getLinhas() { return codigoPartida != null ? codigoPartida.getLinhas() : LINHAS_PADRAO; }
+
+    /**
+     * Obtém o número de colunas do tabuleiro da partida atual.
+     * 
+     * @return Colunas de cada grid (operações e resultados)
+     */
+    public int getColunas() { return codigoPartida != null ? codigoPartida.getColunas() : COLUNAS_PADRAO; }
+
     /**
      * Adiciona um ponto ao jogador atual.
      */
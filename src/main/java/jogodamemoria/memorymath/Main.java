@@ -4,6 +4,7 @@ import javafx.application.Application;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import jogodamemoria.memorymath.transitions.SceneManager;
+import jogodamemoria.memorymath.util.MedidorLatencia;
 
 import java.io.InputStream;
 import java.io.IOException;
@@ -43,6 +44,16 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    /**
+     * Chamado ao fechar a aplicação. Uma partida em andamento é salva para
+     * ser continuada pelo menu e as latências medidas são gravadas.
+     */
+    @Override
+    public void stop() {
+        SceneManager.getInstance().salvarPartidaEmAndamento();
+        MedidorLatencia.getInstance().despejar();
+    }
+
     /**
      * Método principal que inicia a aplicação.
      * 
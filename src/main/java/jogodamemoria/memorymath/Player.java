@@ -35,6 +35,13 @@ public abstract class Player {
      */
     public int getScore() { return score; }
 
+    /**
+     * Define a pontuação do jogador, ao retomar uma partida ou posicionar um replay.
+     * 
+     * @param score Nova pontuação (valores negativos viram zero)
+     */
+    public void setScore(int score) { this.score = Math.max(0, score); }
+
     /**
      * Adiciona um ponto à pontuação do jogador.
      */
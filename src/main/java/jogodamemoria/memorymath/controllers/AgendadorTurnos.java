@@ -0,0 +1,93 @@
+package jogodamemoria.memorymath.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+/**
+ * Dono de todos os atrasos de uma partida: a espera antes da jogada da IA,
+ * o intervalo entre as suas duas cartas e o tempo em que um par errado fica
+ * à mostra.
+ *
+ * <p>Os atrasos pedidos são multiplicados pelo {@link #setMultiplicador
+ * multiplicador} de velocidade; com multiplicador zero (modo turbo) a ação é
+ * apenas enfileirada com {@link Platform#runLater}, sem temporizador.
+ * {@link #cancelarTodas()} interrompe o que estiver pendente e descarta as
+ * ações que já estavam na fila, de modo que nada dispara depois que o jogador
+ * sai da partida.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class AgendadorTurnos {
+
+    /** Multiplicador das velocidades oferecidas na configuração. */
+    static final double NORMAL = 1.0;
+    /** Executa as ações sem espera. */
+    static final double TURBO = 0.0;
+
+    private final List<PauseTransition> pendentes = new ArrayList<>();
+    private double multiplicador = NORMAL;
+    private int geracao;
+
+    /**
+     * Define o multiplicador aplicado a todos os atrasos seguintes.
+     *
+     * @param multiplicador 1 para o ritmo normal, valores menores aceleram e 0 é o modo turbo
+     */
+    void setMultiplicador(double multiplicador) {
+        this.multiplicador = Math.max(0, multiplicador);
+    }
+
+    double getMultiplicador() { return multiplicador; }
+
+    /**
+     * Agenda uma ação no thread do JavaFX.
+     *
+     * @param segundos Atraso no ritmo normal, em segundos
+     * @param acao Ação a executar
+     */
+    void agendar(double segundos, Runnable acao) {
+        int geracaoAgendada = geracao;
+        double atraso = segundos * multiplicador;
+        if (atraso <= 0) {
+            Platform.runLater(() -> {
+                if (geracaoAgendada == geracao) {
+                    acao.run();
+                }
+            });
+            return;
+        }
+
+        PauseTransition pausa = new PauseTransition(Duration.seconds(atraso));
+        pausa.setOnFinished(event -> {
+            pendentes.remove(pausa);
+            if (geracaoAgendada == geracao) {
+                acao.run();
+            }
+        });
+        pendentes.add(pausa);
+        pausa.play();
+    }
+
+    /**
+     * Cancela todas as ações agendadas, inclusive as que já estão na fila
+     * do JavaFX.
+     */
+    void cancelarTodas() {
+        geracao++;
+        for (int i = 0; i < pendentes.size(); i++) {
+            pendentes.get(i).stop();
+        }
+        pendentes.clear();
+    }
+
+    /**
+     * Obtém o número de temporizadores ainda em andamento.
+     *
+     * @return Temporizadores pendentes
+     */
+    int getPendentes() { return pendentes.size(); }
+}
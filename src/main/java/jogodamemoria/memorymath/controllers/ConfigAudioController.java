@@ -6,6 +6,7 @@ import javafx.scene.control.Slider;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import jogodamemoria.memorymath.util.AudioManager;
+import jogodamemoria.memorymath.util.Log;
 
 /**
  * Controlador para configurações de áudio do jogo.
@@ -117,6 +118,6 @@ public class ConfigAudioController {
      */
     @FXML
     private void salvarConfiguracoes() {
-        System.out.println("Configurações de áudio salvas!");
+        Log.info("Configurações de áudio salvas");
     }
 } 
\ No newline at end of file
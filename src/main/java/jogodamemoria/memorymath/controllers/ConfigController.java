@@ -7,6 +7,8 @@ import javafx.scene.layout.HBox;
 import jogodamemoria.memorymath.AIPlayer;
 import jogodamemoria.memorymath.GameManager;
 import jogodamemoria.memorymath.model.Card;
+import jogodamemoria.memorymath.model.CodigoPartida;
+import jogodamemoria.memorymath.model.PoolBaralhos;
 import jogodamemoria.memorymath.transitions.SceneManager;
 import jogodamemoria.memorymath.util.AlertUtils;
 import jogodamemoria.memorymath.util.AudioManager;
@@ -24,6 +26,22 @@ public class ConfigController {
     private static final String ERRO_NOME_VAZIO = "Nome do jogador não pode estar vazio";
     private static final String ERRO_NENHUMA_OPERACAO = "Por favor, selecione pelo menos um tipo de operação para continuar.";
 
+    /** Tamanhos de tabuleiro oferecidos, como {linhas, colunas} de cada grid. */
+    private static final int[][] TAMANHOS_TABULEIRO = {
+            {GameManager.LINHAS_PADRAO, GameManager.COLUNAS_PADRAO},
+            {6, 5},
+            {8, 6},
+            {10, 10},
+            {20, 20}
+    };
+
+    /** Primeiro tamanho da lista a partir do qual o desenho rápido é sugerido. */
+    private static final int INDICE_SUGESTAO_DESENHO_RAPIDO = 3;
+
+    /** Multiplicadores de atraso oferecidos e os seus nomes na tela. */
+    private static final double[] RITMOS_PARTIDA = {AgendadorTurnos.NORMAL, 0.5, 0.25, AgendadorTurnos.TURBO};
+    private static final String[] NOMES_RITMOS_PARTIDA = {"Normal", "Rápido (2×)", "Muito rápido (4×)", "Turbo (sem espera)"};
+
     @FXML private TextField textFieldJogador1;
     @FXML private TextField textFieldJogador2;
     @FXML private Label labelJogador2;
@@ -33,6 +51,8 @@ public class ConfigController {
     @FXML private ToggleButton toggleButtonFacilAI;
     @FXML private ToggleButton toggleButtonMedioAI;
     @FXML private ToggleButton toggleButtonDificilAI;
+    @FXML private ToggleButton toggleButtonEspecialistaAI;
+    @FXML private ToggleButton toggleButtonPerfeitoAI;
     @FXML private ToggleGroup aiDifficultyGroup;
 
     @FXML private ToggleButton toggleSoma;
@@ -40,15 +60,58 @@ public class ConfigController {
     @FXML private ToggleButton toggleMultiplicacao;
     @FXML private ToggleButton toggleDivisao;
 
+    @FXML private TextField textFieldCodigoPartida;
+    @FXML private ComboBox<String> comboTamanhoTabuleiro;
+    @FXML private CheckBox checkDesenhoRapido;
+    @FXML private ComboBox<String> comboRitmoPartida;
+
     /**
      * Inicializa o controlador configurando a interface baseada no modo de jogo.
      */
     @FXML
     public void initialize() {
         configurarGrupoToggle();
+        configurarTamanhosTabuleiro();
+        configurarRitmosPartida();
         configurarInterfaceParaModoJogo();
     }
 
+    /**
+     * Preenche a lista de ritmos da partida, com o ritmo atual selecionado.
+     */
+    private void configurarRitmosPartida() {
+        if (comboRitmoPartida == null) {
+            return;
+        }
+        comboRitmoPartida.getItems().addAll(NOMES_RITMOS_PARTIDA);
+        double atual = GameManager.getInstance().getMultiplicadorVelocidade();
+        int selecionado = 0;
+        for (int i = 0; i < RITMOS_PARTIDA.length; i++) {
+            if (RITMOS_PARTIDA[i] == atual) {
+                selecionado = i;
+            }
+        }
+        comboRitmoPartida.getSelectionModel().select(selecionado);
+    }
+
+    /**
+     * Preenche a lista de tamanhos de tabuleiro, com o tamanho padrão selecionado.
+     */
+    private void configurarTamanhosTabuleiro() {
+        if (comboTamanhoTabuleiro == null) {
+            return;
+        }
+        for (int[] tamanho : TAMANHOS_TABULEIRO) {
+            comboTamanhoTabuleiro.getItems().add(tamanho[0] + " × " + tamanho[1] + " (" + tamanho[0] * tamanho[1] + " pares)");
+        }
+        comboTamanhoTabuleiro.getSelectionModel().selectFirst();
+        if (checkDesenhoRapido != null) {
+            checkDesenhoRapido.setSelected(GameManager.getInstance().isDesenhoRapido());
+            comboTamanhoTabuleiro.getSelectionModel().selectedIndexProperty().addListener((obs, antigo, indice) ->
+                    checkDesenhoRapido.setSelected(indice.intValue() >= INDICE_SUGESTAO_DESENHO_RAPIDO));
+        }
+    }
+
     /**
      * Configura o grupo de toggle buttons para dificuldade da IA.
      */
@@ -57,6 +120,8 @@ public class ConfigController {
         toggleButtonFacilAI.setToggleGroup(aiDifficultyGroup);
         toggleButtonMedioAI.setToggleGroup(aiDifficultyGroup);
         toggleButtonDificilAI.setToggleGroup(aiDifficultyGroup);
+        toggleButtonEspecialistaAI.setToggleGroup(aiDifficultyGroup);
+        toggleButtonPerfeitoAI.setToggleGroup(aiDifficultyGroup);
         toggleButtonFacilAI.setSelected(true);
     }
 
@@ -135,7 +200,14 @@ public class ConfigController {
             }
         }
 
-        if (obterOperacoesSelecionadas().isEmpty()) {
+        if (codigoPartidaInformado()) {
+            try {
+                CodigoPartida.decodificar(textFieldCodigoPartida.getText());
+            } catch (IllegalArgumentException e) {
+                AlertUtils.mostrarErro("Código da partida", e.getMessage());
+                return false;
+            }
+        } else if (obterOperacoesSelecionadas().isEmpty()) {
             AlertUtils.mostrarAviso("Nenhuma Operação Selecionada", ERRO_NENHUMA_OPERACAO);
             return false;
         }
@@ -152,6 +224,37 @@ public class ConfigController {
         return nomeJogador != null && !nomeJogador.trim().isEmpty();
     }
 
+    /**
+     * Verifica se o usuário digitou um código de partida.
+     * @return true se o campo de código estiver preenchido
+     */
+    private boolean codigoPartidaInformado() {
+        return textFieldCodigoPartida != null && nomeJogadorValido(textFieldCodigoPartida.getText());
+    }
+
+    /**
+     * Obtém o código da partida: o digitado pelo usuário ou o de um tabuleiro já
+     * pré-gerado pelo {@link PoolBaralhos}, com semente aleatória. O código digitado
+     * já traz o tamanho do tabuleiro, que prevalece sobre o tamanho escolhido.
+     * @return código da partida
+     */
+    private CodigoPartida obterCodigoPartida() {
+        if (codigoPartidaInformado()) {
+            return CodigoPartida.decodificar(textFieldCodigoPartida.getText());
+        }
+        int[] tamanho = obterTamanhoSelecionado();
+        return PoolBaralhos.getInstance().novoCodigo(obterOperacoesSelecionadas(), tamanho[0], tamanho[1]);
+    }
+
+    /**
+     * Obtém o tamanho de tabuleiro selecionado.
+     * @return vetor {linhas, colunas}
+     */
+    private int[] obterTamanhoSelecionado() {
+        int indice = comboTamanhoTabuleiro == null ? -1 : comboTamanhoTabuleiro.getSelectionModel().getSelectedIndex();
+        return TAMANHOS_TABULEIRO[indice < 0 ? 0 : indice];
+    }
+
     /**
      * Obtém a lista de operações selecionadas.
      * @return lista de tipos de operação selecionados
@@ -184,6 +287,10 @@ public class ConfigController {
             return AIPlayer.Difficulty.MEDIO;
         } else if (toggleButtonDificilAI.isSelected()) {
             return AIPlayer.Difficulty.DIFICIL;
+        } else if (toggleButtonEspecialistaAI.isSelected()) {
+            return AIPlayer.Difficulty.ESPECIALISTA;
+        } else if (toggleButtonPerfeitoAI.isSelected()) {
+            return AIPlayer.Difficulty.PERFEITO;
         }
         return AIPlayer.Difficulty.FACIL;
     }
@@ -194,14 +301,18 @@ public class ConfigController {
     private void configurarEIniciarJogo() {
         GameManager gameManager = GameManager.getInstance();
         String nomeJogador1 = textFieldJogador1.getText().trim();
-        List<Card.OperationType> operacoes = obterOperacoesSelecionadas();
+        CodigoPartida codigo = obterCodigoPartida();
+        gameManager.setDesenhoRapido(checkDesenhoRapido != null && checkDesenhoRapido.isSelected());
+        if (comboRitmoPartida != null && comboRitmoPartida.getSelectionModel().getSelectedIndex() >= 0) {
+            gameManager.setMultiplicadorVelocidade(RITMOS_PARTIDA[comboRitmoPartida.getSelectionModel().getSelectedIndex()]);
+        }
 
         if (gameManager.getGameMode() == GameManager.GameMode.PVP) {
             String nomeJogador2 = textFieldJogador2.getText().trim();
-            gameManager.configurarJogoPvP(nomeJogador1, nomeJogador2, operacoes);
+            gameManager.configurarJogoPvP(nomeJogador1, nomeJogador2, codigo);
         } else {
             AIPlayer.Difficulty dificuldade = obterDificuldadeSelecionada();
-            gameManager.configurarJogoPvE(nomeJogador1, dificuldade, operacoes);
+            gameManager.configurarJogoPvE(nomeJogador1, dificuldade, codigo);
         }
 
         AudioManager.getInstance().pausarMusicaFundo();
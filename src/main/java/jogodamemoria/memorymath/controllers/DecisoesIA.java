@@ -0,0 +1,165 @@
+package jogodamemoria.memorymath.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import javafx.application.Platform;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.util.Log;
+
+/**
+ * Calcula as jogadas da IA fora do thread do JavaFX, para que o tabuleiro
+ * continue respondendo enquanto ela pensa.
+ *
+ * <p>Cada decisão roda em um thread virtual e tem o prazo da
+ * {@link AIPlayer#getTempoDecisaoMs() IA}; se o prazo estourar ou o cálculo
+ * falhar, o cálculo é interrompido e vale a
+ * {@link AIPlayer#jogadaDeReserva jogada de reserva}, feita só pela memória.
+ * As {@link #sugerir dicas} do jogador usam os mesmos threads, sem prazo.
+ * O resultado volta ao thread do JavaFX com {@link Platform#runLater}.
+ * {@link #cancelarTodas()} interrompe as decisões pendentes, como o
+ * {@link AgendadorTurnos} faz com os atrasos, e {@link #encerrar()} libera
+ * os threads quando a tela da partida é fechada.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class DecisoesIA {
+
+    private final List<Future<?>> pendentes = new ArrayList<>();
+    private ExecutorService executor;
+    private int geracao;
+
+    /**
+     * Pede uma carta à IA. Deve ser chamado no thread do JavaFX.
+     *
+     * @param ia Jogador que decide
+     * @param candidatas Cartas entre as quais escolher, copiadas do motor
+     * @param cartaAberta Operação já revelada nesta jogada, ou -1 na primeira carta
+     * @param aoDecidir Recebe a carta escolhida no thread do JavaFX, se a
+     *        decisão não tiver sido cancelada antes
+     */
+    void decidir(AIPlayer ia, int[] candidatas, int cartaAberta, IntConsumer aoDecidir) {
+        int geracaoPedida = geracao;
+        long prazo = ia.getTempoDecisaoMs();
+        long inicio = System.nanoTime();
+
+        CompletableFuture<Integer> decisao = new CompletableFuture<>();
+        Future<?> tarefa = submeter(() -> ia.calcularMelhorJogada(candidatas, candidatas.length, cartaAberta), decisao);
+        decisao.orTimeout(prazo, TimeUnit.MILLISECONDS)
+                .whenComplete((jogada, erro) -> Platform.runLater(() -> {
+                    pendentes.remove(tarefa);
+                    if (geracaoPedida != geracao) {
+                        return;
+                    }
+                    int carta;
+                    if (erro == null) {
+                        carta = jogada;
+                    } else {
+                        tarefa.cancel(true);
+                        avisarFalha(erro, prazo);
+                        carta = ia.jogadaDeReserva(candidatas, candidatas.length, cartaAberta);
+                    }
+                    Log.debug("IA decidiu a carta %d em %.2f ms", carta, (System.nanoTime() - inicio) / 1e6);
+                    aoDecidir.accept(carta);
+                }));
+    }
+
+    /**
+     * Calcula uma dica do jogador. Deve ser chamado no thread do JavaFX.
+     *
+     * @param calculo Cálculo da carta sugerida, sobre uma cópia da posição
+     * @param aoSugerir Recebe a carta no thread do JavaFX, se a dica não
+     *        tiver sido cancelada antes
+     */
+    void sugerir(IntSupplier calculo, IntConsumer aoSugerir) {
+        int geracaoPedida = geracao;
+        CompletableFuture<Integer> dica = new CompletableFuture<>();
+        Future<?> tarefa = submeter(calculo, dica);
+        dica.whenComplete((carta, erro) -> Platform.runLater(() -> {
+            pendentes.remove(tarefa);
+            if (geracaoPedida != geracao) {
+                return;
+            }
+            if (erro != null) {
+                Log.erro("Falha ao calcular a dica", erro);
+                return;
+            }
+            aoSugerir.accept(carta);
+        }));
+    }
+
+    /**
+     * Roda o cálculo em um thread virtual e guarda a tarefa, para que
+     * {@link #cancelarTodas()} possa interrompê-la.
+     */
+    private Future<?> submeter(IntSupplier calculo, CompletableFuture<Integer> resposta) {
+        Future<?> tarefa = executor().submit(() -> {
+            try {
+                resposta.complete(calculo.getAsInt());
+            } catch (RuntimeException e) {
+                resposta.completeExceptionally(e);
+            }
+        });
+        pendentes.add(tarefa);
+        return tarefa;
+    }
+
+    private static void avisarFalha(Throwable erro, long prazo) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null
+                ? erro.getCause() : erro;
+        if (causa instanceof TimeoutException) {
+            Log.aviso("IA passou do prazo de %d ms; jogando pela memória.", prazo);
+        } else if (!(causa instanceof CancellationException)) {
+            Log.erro("Falha ao calcular a jogada da IA", causa);
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return executor;
+    }
+
+    /**
+     * Interrompe todas as decisões pendentes e descarta as respostas, inclusive
+     * as que já estão na fila do JavaFX.
+     */
+    void cancelarTodas() {
+        geracao++;
+        for (int i = 0; i < pendentes.size(); i++) {
+            pendentes.get(i).cancel(true);
+        }
+        pendentes.clear();
+    }
+
+    /**
+     * Cancela as decisões pendentes e desliga o executor. Uma nova decisão
+     * depois disso cria outro executor, já que a tela é reaproveitada entre
+     * partidas.
+     */
+    void encerrar() {
+        cancelarTodas();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Obtém o número de decisões e dicas ainda não entregues.
+     *
+     * @return Decisões pendentes
+     */
+    int getPendentes() { return pendentes.size(); }
+}
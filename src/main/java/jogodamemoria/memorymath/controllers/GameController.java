@@ -1,17 +1,22 @@
 package jogodamemoria.memorymath.controllers;
 
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.RowConstraints;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
-import javafx.animation.PauseTransition;
-import javafx.util.Duration;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.scene.layout.Region;
@@ -19,18 +24,33 @@ import javafx.scene.layout.Priority;
 import jogodamemoria.memorymath.GameManager;
 import jogodamemoria.memorymath.Player;
 import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.model.Baralho;
+import jogodamemoria.memorymath.model.BaralhoPreparado;
 import jogodamemoria.memorymath.model.Card;
+import jogodamemoria.memorymath.model.CodigoPartida;
 import jogodamemoria.memorymath.model.Gerador;
+import jogodamemoria.memorymath.model.MotorJogo;
+import jogodamemoria.memorymath.model.PartidaSalva;
+import jogodamemoria.memorymath.model.PoolBaralhos;
+import jogodamemoria.memorymath.model.RegistroJogadas;
+import jogodamemoria.memorymath.model.ReplayJogadas;
+import jogodamemoria.memorymath.model.ReprodutorJogadas;
+import jogodamemoria.memorymath.model.SolucionadorExato;
+import jogodamemoria.memorymath.model.Tabuleiro;
 import jogodamemoria.memorymath.transitions.SceneManager;
 import jogodamemoria.memorymath.util.ImageUtils;
 import jogodamemoria.memorymath.util.AlertUtils;
 import jogodamemoria.memorymath.util.ResourceLoadException;
 import jogodamemoria.memorymath.util.AudioManager;
 
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import jogodamemoria.memorymath.util.Log;
+import jogodamemoria.memorymath.util.MedidorLatencia;
 
 /**
  * Controlador responsável pela tela principal do jogo.
@@ -40,9 +60,10 @@ import java.util.Collections;
  * @version 1.0
  */
 public class GameController {
-    private static final int NUMERO_COLUNAS = 3;
-    private static final int NUMERO_LINHAS = 4;
-    private static final int TOTAL_PARES = 12;
+    private static final int TAMANHO_CARTA_MAXIMO = 90;
+    private static final int TAMANHO_CARTA_MINIMO = 32;
+    private static final double LARGURA_AREA_GRADE = 340;
+    private static final double ALTURA_AREA_GRADE = 400;
 
     private static final String CAMINHO_IMAGEM_VERSO_CARTA = "/images/verso-carta.png";
     private static final String CAMINHO_IMAGEM_REVELACAO_SOMA = "/images/amareloEstimulo.jpg";
@@ -50,6 +71,7 @@ public class GameController {
     private static final String CAMINHO_IMAGEM_REVELACAO_MULTIPLICACAO = "/images/roxoDesafio.png";
     private static final String CAMINHO_IMAGEM_REVELACAO_DIVISAO = "/images/verdeLogico.jpg";
 
+    @FXML private BorderPane raiz;
     @FXML private GridPane gradeOperacoes;
     @FXML private GridPane gradeResultados;
     @FXML private Label rotuloIndicadorTurno;
@@ -57,6 +79,13 @@ public class GameController {
     @FXML private Label pontuacaoJogador1;
     @FXML private Label nomeJogador2;
     @FXML private Label pontuacaoJogador2;
+    @FXML private Label rotuloCodigoPartida;
+    @FXML private Button botaoSalvarESair;
+    @FXML private Button botaoDica;
+    @FXML private Label painelLatencia;
+    @FXML private HBox areaGrades;
+    @FXML private StackPane areaCanvas;
+    @FXML private Canvas canvasTabuleiro;
 
     private Image imagemVersoCarta;
     private Image imagemRevelacaoSoma;
@@ -65,53 +94,89 @@ public class GameController {
     private Image imagemRevelacaoDivisao;
 
     private Gerador gerador;
-    private StackPane primeiraCartaSelecionada;
-    private StackPane segundaCartaSelecionada;
-    private boolean aguardandoSegundaCarta = false;
-    private int paresEncontrados = 0;
-    private final int TOTAL_CARTAS = NUMERO_LINHAS * NUMERO_COLUNAS * 2;
-
-    private Integer[][] resultadosEmbaralhados;
+    private boolean inicializado = false;
+
+    private int numeroLinhas = GameManager.LINHAS_PADRAO;
+    private int numeroColunas = GameManager.COLUNAS_PADRAO;
+    private int tamanhoCarta = TAMANHO_CARTA_MAXIMO;
+    private int espacoCartas;
+    private String estiloGrade;
+
+    private Tabuleiro tabuleiro;
+    private RegistroCartas registro;
+    private MotorJogo motor;
+    private RegistroJogadas registroJogadas;
+    private ReprodutorJogadas reprodutor;
+    private final PoolCartas poolCartas = new PoolCartas();
+    private TabuleiroCanvas tabuleiroCanvas;
+    private boolean desenhoRapido;
 
     private boolean turnoIA = false;
-    private PauseTransition atrasoIA;
-
-    private static final int PONTOS_ACERTO = 5;
-    private static final int PONTOS_ERRO = -1;
+    private int cartaDica = -1;
+    private int pedidoDica;
+    private final AgendadorTurnos agendador = new AgendadorTurnos();
+    private final DecisoesIA decisoesIA = new DecisoesIA();
+
+    private final MedidorLatencia medidor = MedidorLatencia.getInstance();
+    private final Runnable fimDoLayout = this::concluirMedicaoClique;
+    private Scene cenaMedida;
+    private long inicioClique;
+    private long inicioMotor;
+    private long registroIAAntes;
+    private long inicioRenderizacao;
+
+    private static final double ATRASO_JOGADA_IA = 1.0;
+    private static final double ATRASO_SEGUNDA_CARTA_IA = 1.0;
+    private static final double ATRASO_APOS_ACERTO = 0.5;
+    private static final double ATRASO_PAR_ERRADO = 1.5;
+    private static final double ATRASO_MAXIMO_REPLAY = 3.0;
+    private static final int SALTO_REPLAY = 10;
+
+    private static final Card.OperationType[] TIPOS_OPERACAO = Card.OperationType.values();
+
+    private static final String CLASSE_GRADE_COMPACTA = "grade-compacta";
+    private static final PseudoClass PSEUDO_OCULTA = PseudoClass.getPseudoClass("oculta");
+    private static final PseudoClass PSEUDO_REVELADA = PseudoClass.getPseudoClass("revelada");
+    private static final PseudoClass PSEUDO_ENCONTRADA = PseudoClass.getPseudoClass("encontrada");
+    private static final PseudoClass PSEUDO_ERRO_PAR = PseudoClass.getPseudoClass("erro-match");
+    private static final PseudoClass PSEUDO_DICA = PseudoClass.getPseudoClass("dica");
 
     /**
      * Método chamado automaticamente pelo JavaFX quando o FXML é carregado.
      */
     @FXML
     public void initialize() {
-        System.out.println("=== INICIALIZAÇÃO AUTOMÁTICA DO GAME CONTROLLER ===");
-        System.out.println("Método initialize() chamado automaticamente pelo JavaFX");
+        Log.debug("=== INICIALIZAÇÃO AUTOMÁTICA DO GAME CONTROLLER ===");
+        Log.debug("Método initialize() chamado automaticamente pelo JavaFX");
 
         if (gradeOperacoes == null) {
-            System.err.println("ERRO: gradeOperacoes não foi injetado!");
+            Log.erro("gradeOperacoes não foi injetado!");
         } else {
-            System.out.println("✓ gradeOperacoes injetado corretamente");
+            Log.debug("✓ gradeOperacoes injetado corretamente");
         }
         
         if (gradeResultados == null) {
-            System.err.println("ERRO: gradeResultados não foi injetado!");
+            Log.erro("gradeResultados não foi injetado!");
         } else {
-            System.out.println("✓ gradeResultados injetado corretamente");
+            Log.debug("✓ gradeResultados injetado corretamente");
         }
         
         if (rotuloIndicadorTurno == null) {
-            System.err.println("ERRO: rotuloIndicadorTurno não foi injetado!");
+            Log.erro("rotuloIndicadorTurno não foi injetado!");
         } else {
-            System.out.println("✓ rotuloIndicadorTurno injetado corretamente");
+            Log.debug("✓ rotuloIndicadorTurno injetado corretamente");
+        }
+
+        if (raiz != null) {
+            raiz.addEventFilter(KeyEvent.KEY_PRESSED, this::manipularTecla);
         }
 
         javafx.application.Platform.runLater(() -> {
             try {
-                System.out.println("Chamando inicializar() via Platform.runLater...");
+                Log.debug("Chamando inicializar() via Platform.runLater...");
                 inicializar();
             } catch (Exception e) {
-                System.err.println("ERRO na inicialização automática: " + e.getMessage());
-                e.printStackTrace();
+                Log.erro("Erro na inicialização automática: " + e.getMessage(), e);
             }
         });
     }
@@ -123,62 +188,108 @@ public class GameController {
     private boolean verificarConfiguracaoGameManager() {
         GameManager gerenciadorJogo = GameManager.getInstance();
         if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null!");
+            Log.erro("GameManager é null!");
             return false;
         }
         
         if (gerenciadorJogo.getPlayer1() == null) {
-            System.err.println("ERRO: Player1 é null!");
+            Log.erro("Player1 é null!");
             return false;
         }
         
         if (gerenciadorJogo.getPlayer2() == null) {
-            System.err.println("ERRO: Player2 é null!");
+            Log.erro("Player2 é null!");
             return false;
         }
         
         if (gerenciadorJogo.getSelectedOperations() == null || gerenciadorJogo.getSelectedOperations().isEmpty()) {
-            System.err.println("ERRO: Operações não selecionadas!");
+            Log.erro("Operações não selecionadas!");
             return false;
         }
         
-        System.out.println("GameManager configurado corretamente:");
-        System.out.println("- Jogador 1: " + gerenciadorJogo.getPlayer1().getName());
-        System.out.println("- Jogador 2: " + gerenciadorJogo.getPlayer2().getName());
-        System.out.println("- Operações: " + gerenciadorJogo.getSelectedOperations());
+        Log.debug("GameManager configurado corretamente:");
+        Log.debug(() -> "- Jogador 1: " + gerenciadorJogo.getPlayer1().getName());
+        Log.debug(() -> "- Jogador 2: " + gerenciadorJogo.getPlayer2().getName());
+        Log.debug(() -> "- Operações: " + gerenciadorJogo.getSelectedOperations());
         
         return true;
     }
 
     @FXML
     public void inicializar() {
-        System.out.println("=== INICIANDO GAME CONTROLLER ===");
-        paresEncontrados = 0;
+        if (inicializado) {
+            return;
+        }
+        Log.debug("=== INICIANDO GAME CONTROLLER ===");
 
         if (gradeOperacoes == null) {
-            System.err.println("ERRO: gradeOperacoes é null!");
+            Log.erro("gradeOperacoes é null!");
             return;
         }
         if (gradeResultados == null) {
-            System.err.println("ERRO: gradeResultados é null!");
+            Log.erro("gradeResultados é null!");
             return;
         }
         
-        System.out.println("Grids injetados corretamente");
+        Log.debug("Grids injetados corretamente");
 
         if (!verificarConfiguracaoGameManager()) {
-            System.err.println("ERRO: GameManager não está configurado corretamente!");
+            Log.erro("GameManager não está configurado corretamente!");
             return;
         }
         
-        carregarTodasImagensCartas();
+        agendador.setMultiplicador(GameManager.getInstance().getMultiplicadorVelocidade());
+        if (imagemVersoCarta == null) {
+            carregarTodasImagensCartas();
+        }
         configurarJogo();
+        if (motor == null) {
+            Log.erro("Partida não configurada; tela do jogo não inicializada.");
+            AlertUtils.mostrarErro("Erro ao iniciar partida", "Não foi possível preparar o tabuleiro desta partida.");
+            return;
+        }
+        inicializado = true;
         configurarLayoutResponsivo();
-        popularGrades();
+        desenhoRapido = usarDesenhoRapido();
+        alternarAreaTabuleiro();
+        if (desenhoRapido) {
+            prepararCanvas();
+        } else {
+            popularGrades();
+        }
+        if (motor.getParesEncontrados() > 0) {
+            sincronizarCartas();
+        }
+        if (botaoSalvarESair != null) {
+            botaoSalvarESair.setDisable(reprodutor != null);
+        }
+        cartaDica = -1;
+        if (botaoDica != null) {
+            botaoDica.setDisable(reprodutor != null || !SolucionadorExato.suporta(tabuleiro.getTotalPares()));
+        }
         configurarInformacoesJogadores();
+        acompanharPulsos();
         atualizarIndicadorTurno();
+        if (reprodutor != null) {
+            raiz.requestFocus();
+            agendarProximaJogadaReplay();
+        }
         
-        System.out.println("=== GAME CONTROLLER INICIALIZADO ===");
+        Log.debug("=== GAME CONTROLLER INICIALIZADO ===");
+    }
+
+    /**
+     * Prepara uma nova partida reaproveitando esta tela: as grades e os
+     * painéis de carta da partida anterior são reutilizados.
+     */
+    public void prepararNovaPartida() {
+        cancelarPendentes();
+        salvarRegistroJogadas();
+        motor = null;
+        reprodutor = null;
+        turnoIA = false;
+        inicializado = false;
+        inicializar();
     }
 
     /**
@@ -186,6 +297,14 @@ public class GameController {
      */
     @FXML
     private void encerraPartida() {
+        cancelarPendentes();
+        decisoesIA.encerrar();
+        if (tabuleiroCanvas != null) {
+            tabuleiroCanvas.parar();
+        }
+        salvarRegistroJogadas();
+        motor = null;
+        reprodutor = null;
         SceneManager.getInstance().carregarCena("/fxml/menu-view.fxml");
     }
 
@@ -194,39 +313,76 @@ public class GameController {
      */
     private void configurarLayoutResponsivo() {
         if (gradeOperacoes == null || gradeResultados == null) {
-            System.err.println("ERRO: Grids são null em configurarLayoutResponsivo");
+            Log.erro("Grids são null em configurarLayoutResponsivo");
             return;
         }
         
-        System.out.println("Configurando layout responsivo...");
+        Log.debug("Configurando layout responsivo...");
+
+        int espaco = numeroColunas > 6 || numeroLinhas > 6 ? 3 : 8;
+        espacoCartas = espaco;
+        double larguraCarta = (LARGURA_AREA_GRADE - espaco * (numeroColunas - 1)) / numeroColunas;
+        double alturaCarta = (ALTURA_AREA_GRADE - espaco * (numeroLinhas - 1)) / numeroLinhas;
+        int novoTamanho = (int) Math.max(TAMANHO_CARTA_MINIMO, Math.min(TAMANHO_CARTA_MAXIMO, Math.min(larguraCarta, alturaCarta)));
+        if (novoTamanho != tamanhoCarta || estiloGrade == null) {
+            tamanhoCarta = novoTamanho;
+            definirEstiloGrades();
+        }
+
+        gradeOperacoes.setHgap(espaco);
+        gradeOperacoes.setVgap(espaco);
+        gradeResultados.setHgap(espaco);
+        gradeResultados.setVgap(espaco);
+
+        if (gradeOperacoes.getColumnConstraints().size() != numeroColunas
+                || gradeOperacoes.getRowConstraints().size() != numeroLinhas) {
+            configurarRestricoesGrades();
+        }
         
-        gradeOperacoes.setHgap(8);
-        gradeOperacoes.setVgap(8);
-        gradeResultados.setHgap(8);
-        gradeResultados.setVgap(8);
+        Log.debug(() -> "Layout responsivo configurado (cartas de " + tamanhoCarta + "px)");
+    }
+
+    /**
+     * Ajusta as grades ao tamanho atual das cartas. A aparência das cartas
+     * vem do styles.css; aqui só se define o tamanho da fonte, herdado pelos
+     * rótulos, e se a grade usa a variante compacta de bordas e margens.
+     */
+    private void definirEstiloGrades() {
+        estiloGrade = "-fx-font-size: " + Math.max(10, tamanhoCarta / 5) + "px;";
+        boolean compacta = tamanhoCarta < 60;
+        for (GridPane grade : new GridPane[] {gradeOperacoes, gradeResultados}) {
+            grade.setStyle(estiloGrade);
+            grade.getStyleClass().remove(CLASSE_GRADE_COMPACTA);
+            if (compacta) {
+                grade.getStyleClass().add(CLASSE_GRADE_COMPACTA);
+            }
+        }
+    }
 
+    /**
+     * Divide as duas grades em linhas e colunas iguais.
+     */
+    private void configurarRestricoesGrades() {
         gradeOperacoes.getColumnConstraints().clear();
         gradeOperacoes.getRowConstraints().clear();
         gradeResultados.getColumnConstraints().clear();
         gradeResultados.getRowConstraints().clear();
 
-        for (int i = 0; i < NUMERO_COLUNAS; i++) {
+        for (int i = 0; i < numeroColunas; i++) {
             ColumnConstraints restricoesColuna = new ColumnConstraints();
-            restricoesColuna.setPercentWidth(100.0 / NUMERO_COLUNAS);
+            restricoesColuna.setPercentWidth(100.0 / numeroColunas);
             restricoesColuna.setHgrow(Priority.ALWAYS);
             gradeOperacoes.getColumnConstraints().add(restricoesColuna);
             gradeResultados.getColumnConstraints().add(restricoesColuna);
         }
         
-        for (int i = 0; i < NUMERO_LINHAS; i++) {
+        for (int i = 0; i < numeroLinhas; i++) {
             RowConstraints restricoesLinha = new RowConstraints();
-            restricoesLinha.setPercentHeight(100.0 / NUMERO_LINHAS);
+            restricoesLinha.setPercentHeight(100.0 / numeroLinhas);
             restricoesLinha.setVgrow(Priority.ALWAYS);
             gradeOperacoes.getRowConstraints().add(restricoesLinha);
             gradeResultados.getRowConstraints().add(restricoesLinha);
         }
-        
-        System.out.println("Layout responsivo configurado");
     }
 
     /**
@@ -235,129 +391,114 @@ public class GameController {
      */
     private boolean verificarGerador() {
         if (gerador == null) {
-            System.err.println("ERRO: Gerador é null!");
+            Log.erro("Gerador é null!");
             return false;
         }
         
         try {
-            Integer[][] operandos1 = gerador.getMatrizOperandos1();
-            Integer[][] operandos2 = gerador.getMatrizOperandos2();
-            Integer[][] resultados = gerador.getMatrizResultados();
+            Baralho baralho = gerador.getBaralho();
             
-            if (operandos1 == null || operandos2 == null || resultados == null) {
-                System.err.println("ERRO: Matrizes do gerador são null!");
+            if (baralho == null) {
+                Log.erro("Baralho do gerador é null!");
                 return false;
             }
             
-            System.out.println("Gerador funcionando corretamente:");
-            System.out.println("- Dimensões: " + operandos1.length + "x" + operandos1[0].length);
-            System.out.println("- Operandos1[0][0]: " + operandos1[0][0]);
-            System.out.println("- Operandos2[0][0]: " + operandos2[0][0]);
-            System.out.println("- Resultados[0][0]: " + resultados[0][0]);
+            Log.debug("Gerador funcionando corretamente:");
+            Log.debug(() -> "- Dimensões: " + baralho.getLinhas() + "x" + baralho.getColunas());
+            Log.debug(() -> "- Operandos1[0][0]: " + baralho.getOperando1(0));
+            Log.debug(() -> "- Operandos2[0][0]: " + baralho.getOperando2(0));
+            Log.debug(() -> "- Resultados[0][0]: " + baralho.getResultado(0));
             
             return true;
         } catch (Exception e) {
-            System.err.println("ERRO ao verificar gerador: " + e.getMessage());
-            e.printStackTrace();
+            Log.erro("Erro ao verificar gerador: " + e.getMessage(), e);
             return false;
         }
     }
 
     /**
-     * Configura o jogo inicializando o gerador e as operações.
+     * Configura o jogo inicializando o gerador e as operações. Se algo
+     * falhar, o motor fica null.
      */
     private void configurarJogo() {
-        System.out.println("Configurando jogo...");
+        Log.debug("Configurando jogo...");
+        motor = null;
         
         GameManager gerenciadorJogo = GameManager.getInstance();
         if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null");
+            Log.erro("GameManager é null");
             return;
         }
         
         List<Card.OperationType> operacoesSelecionadas = gerenciadorJogo.getSelectedOperations();
         if (operacoesSelecionadas == null || operacoesSelecionadas.isEmpty()) {
-            System.err.println("ERRO: Nenhuma operação selecionada");
+            Log.erro("Nenhuma operação selecionada");
             operacoesSelecionadas = List.of(Card.OperationType.SOMA, Card.OperationType.SUBTRACAO);
-            System.out.println("Usando operações padrão: " + operacoesSelecionadas);
+            Log.debug("Usando operações padrão: %s", operacoesSelecionadas);
         }
         
-        int[] arrayOperacoes = new int[4];
-        
-        for (Card.OperationType op : operacoesSelecionadas) {
-            switch (op) {
-                case SOMA:
-                    arrayOperacoes[Gerador.SOMA] = 1;
-                    break;
-                case SUBTRACAO:
-                    arrayOperacoes[Gerador.SUBTRACAO] = 1;
-                    break;
-                case MULTIPLICACAO:
-                    arrayOperacoes[Gerador.MULTIPLICACAO] = 1;
-                    break;
-                case DIVISAO:
-                    arrayOperacoes[Gerador.DIVISAO] = 1;
-                    break;
-            }
+        CodigoPartida codigo = gerenciadorJogo.getCodigoPartida();
+        if (codigo == null) {
+            codigo = CodigoPartida.novo(operacoesSelecionadas, gerenciadorJogo.getLinhas(), gerenciadorJogo.getColunas());
         }
+        numeroLinhas = codigo.getLinhas();
+        numeroColunas = codigo.getColunas();
 
         try {
-            System.out.println("Criando gerador com dimensões: " + NUMERO_LINHAS + "x" + NUMERO_COLUNAS);
-            gerador = new Gerador(NUMERO_LINHAS, NUMERO_COLUNAS, arrayOperacoes);
+            BaralhoPreparado baralhoPreparado = PoolBaralhos.getInstance().retirar(codigo);
+            if (baralhoPreparado == null) {
+                Log.debug("Criando gerador com dimensões: %dx%d (código %s)", numeroLinhas, numeroColunas, codigo);
+                baralhoPreparado = BaralhoPreparado.gerar(codigo);
+            } else {
+                Log.debug("Usando baralho pré-gerado (código %s)", codigo);
+            }
+            gerador = baralhoPreparado.getGerador();
             
             if (!verificarGerador()) {
-                System.err.println("ERRO: Gerador não está funcionando corretamente!");
+                Log.erro("Gerador não está funcionando corretamente!");
                 return;
             }
             
-            embaralharResultados();
-            System.out.println("Jogo configurado com sucesso");
-        } catch (Exception e) {
-            System.err.println("ERRO ao configurar jogo: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Embaralha os resultados para criar posições aleatórias no grid de resultados.
-     */
-    private void embaralharResultados() {
-        if (gerador == null) {
-            System.err.println("ERRO: Gerador é null em embaralharResultados");
-            return;
-        }
-        
-        System.out.println("Embaralhando resultados...");
-        
-        resultadosEmbaralhados = new Integer[NUMERO_LINHAS][NUMERO_COLUNAS];
-
-        List<Integer> todosResultados = new ArrayList<>();
-        for (int i = 0; i < NUMERO_LINHAS; i++) {
-            for (int j = 0; j < NUMERO_COLUNAS; j++) {
-                todosResultados.add(gerador.getMatrizResultados()[i][j]);
+            tabuleiro = baralhoPreparado.criarTabuleiro();
+            ReplayJogadas replay = gerenciadorJogo.getReplay();
+            if (replay != null) {
+                reprodutor = new ReprodutorJogadas(replay, tabuleiro, gerenciadorJogo.getPlayer1(), gerenciadorJogo.getPlayer2());
+                motor = reprodutor.getMotor();
+                registroJogadas = null;
+            } else {
+                reprodutor = null;
+                motor = new MotorJogo(tabuleiro, gerenciadorJogo.getPlayer1(), gerenciadorJogo.getPlayer2());
+                PartidaSalva partidaSalva = gerenciadorJogo.consumirPartidaSalva();
+                if (partidaSalva != null) {
+                    partidaSalva.aplicar(motor);
+                    Log.info("Partida retomada com %d pares encontrados", motor.getParesEncontrados());
+                }
+                registroJogadas = motor.getRegistro();
+                if (registroJogadas == null) {
+                    registroJogadas = new RegistroJogadas(codigo, gerenciadorJogo.getPlayer1().getName(), gerenciadorJogo.getPlayer2().getName());
+                    motor.setRegistro(registroJogadas);
+                }
             }
-        }
-
-        Collections.shuffle(todosResultados);
-
-        int indice = 0;
-        for (int i = 0; i < NUMERO_LINHAS; i++) {
-            for (int j = 0; j < NUMERO_COLUNAS; j++) {
-                resultadosEmbaralhados[i][j] = todosResultados.get(indice++);
+            motor.setOuvinte(new OuvinteTela());
+            if (rotuloCodigoPartida != null) {
+                rotuloCodigoPartida.setText("Código: " + codigo);
             }
+            Log.info("Partida configurada (código %s, %dx%d)", codigo, numeroLinhas, numeroColunas);
+        } catch (Exception e) {
+            Log.erro("Erro ao configurar jogo: " + e.getMessage(), e);
+            motor = null;
+            reprodutor = null;
         }
-        
-        System.out.println("Resultados embaralhados com sucesso");
     }
 
     /**
      * Carrega todas as imagens das cartas (verso e faces coloridas).
      */
     private void carregarTodasImagensCartas() {
-        System.out.println("=== CARREGANDO IMAGENS ===");
+        Log.debug("=== CARREGANDO IMAGENS ===");
         carregarImagemVersoCarta();
         carregarImagensRevelacao();
-        System.out.println("=== IMAGENS CARREGADAS ===");
+        Log.debug("=== IMAGENS CARREGADAS ===");
     }
 
     /**
@@ -365,7 +506,7 @@ public class GameController {
      */
     private void carregarImagemVersoCarta() {
         try {
-            System.out.println("Carregando imagem do verso da carta: " + CAMINHO_IMAGEM_VERSO_CARTA);
+            Log.debug(() -> "Carregando imagem do verso da carta: " + CAMINHO_IMAGEM_VERSO_CARTA);
             imagemVersoCarta = ImageUtils.carregarImagem(CAMINHO_IMAGEM_VERSO_CARTA);
 
             if (imagemVersoCarta == null) {
@@ -376,13 +517,13 @@ public class GameController {
                 throw new RuntimeException("Erro ao carregar a imagem do verso da carta");
             }
             
-            System.out.println("Imagem do verso da carta carregada com sucesso");
+            Log.debug("Imagem do verso da carta carregada com sucesso");
         } catch (ResourceLoadException e) {
-            System.err.println("ERRO ao carregar imagem do verso: " + e.getMessage());
+            Log.erro("Erro ao carregar imagem do verso: " + e.getMessage());
             AlertUtils.mostrarErro("Erro ao carregar recursos do jogo", e.getMessage());
             imagemVersoCarta = null;
         } catch (Exception e) {
-            System.err.println("ERRO inesperado ao carregar imagem do verso: " + e.getMessage());
+            Log.erro("Erro inesperado ao carregar imagem do verso: " + e.getMessage());
             AlertUtils.mostrarErro("Erro ao carregar recursos do jogo", "Erro inesperado: " + e.getMessage());
             imagemVersoCarta = null;
         }
@@ -438,37 +579,106 @@ public class GameController {
         }
     }
 
+    /**
+     * Verifica se esta partida deve usar o desenho em Canvas. Sem a imagem do
+     * verso o Canvas não tem o que desenhar, então as grades de nós são usadas.
+     * @return true se o tabuleiro será desenhado no Canvas
+     */
+    private boolean usarDesenhoRapido() {
+        return GameManager.getInstance().isDesenhoRapido() && canvasTabuleiro != null && imagemVersoCarta != null;
+    }
+
+    /**
+     * Mostra a área do Canvas ou a das grades, conforme o modo de desenho.
+     */
+    private void alternarAreaTabuleiro() {
+        if (areaGrades == null || areaCanvas == null) {
+            return;
+        }
+        areaGrades.setVisible(!desenhoRapido);
+        areaGrades.setManaged(!desenhoRapido);
+        areaCanvas.setVisible(desenhoRapido);
+        areaCanvas.setManaged(desenhoRapido);
+    }
+
+    /**
+     * Prepara o Canvas para o tabuleiro da partida.
+     */
+    private void prepararCanvas() {
+        if (tabuleiroCanvas == null) {
+            tabuleiroCanvas = new TabuleiroCanvas(canvasTabuleiro);
+            canvasTabuleiro.setOnMouseClicked(event -> {
+                inicioClique = System.nanoTime();
+                int carta = tabuleiroCanvas.cartaEm(event.getX(), event.getY());
+                if (carta >= 0) {
+                    manipularCliqueCarta(carta);
+                }
+            });
+        }
+        Image[] frentes = new Image[TIPOS_OPERACAO.length];
+        for (int i = 0; i < frentes.length; i++) {
+            frentes[i] = obterImagemRevelacaoParaOperacao(TIPOS_OPERACAO[i]);
+        }
+        tabuleiroCanvas.configurar(tabuleiro, tamanhoCarta, espacoCartas, imagemVersoCarta, frentes);
+        Log.debug("Tabuleiro desenhado em Canvas (%dx%d)", numeroLinhas, numeroColunas);
+    }
+
+    /**
+     * Atualiza a aparência de uma carta no modo de desenho em uso.
+     * @param carta Índice da carta no tabuleiro
+     * @param estado Estado visual da carta
+     * @param erroPar true para destacar um par errado
+     */
+    private void atualizarCarta(int carta, byte estado, boolean erroPar) {
+        if (desenhoRapido) {
+            tabuleiroCanvas.atualizar(carta, erroPar);
+            return;
+        }
+        StackPane painel = registro.getPainel(carta);
+        if (painel == null) {
+            Log.erro("Carta sem painel: %d", carta);
+            return;
+        }
+        definirEstadoVisual(painel, estado, erroPar);
+    }
+
     /**
      * Popula os grids de operações e resultados.
      */
     private void popularGrades() {
-        System.out.println("=== POPULANDO GRADES ===");
+        Log.debug("=== POPULANDO GRADES ===");
         
         if (gradeOperacoes == null) {
-            System.err.println("ERRO: gradeOperacoes é null em popularGrades");
+            Log.erro("gradeOperacoes é null em popularGrades");
             return;
         }
         
         if (gradeResultados == null) {
-            System.err.println("ERRO: gradeResultados é null em popularGrades");
+            Log.erro("gradeResultados é null em popularGrades");
             return;
         }
         
+        registro = new RegistroCartas(tabuleiro);
+        poolCartas.devolverTodos(gradeOperacoes.getChildren());
+        poolCartas.devolverTodos(gradeResultados.getChildren());
+        gradeOperacoes.getChildren().clear();
+        gradeResultados.getChildren().clear();
         popularGrade(gradeOperacoes, "op");
         popularGrade(gradeResultados, "re");
         
-        System.out.println("=== GRADES POPULADAS ===");
+        Log.debug("=== GRADES POPULADAS (%d painéis criados no total, %d sobrando na reserva) ===",
+                poolCartas.getCriados(), poolCartas.getLivres());
     }
 
     /**
      * Configura as informações dos jogadores na interface.
      */
     private void configurarInformacoesJogadores() {
-        System.out.println("Configurando informações dos jogadores...");
+        Log.debug("Configurando informações dos jogadores...");
         
         GameManager gerenciadorJogo = GameManager.getInstance();
         if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null em configurarInformacoesJogadores");
+            Log.erro("GameManager é null em configurarInformacoesJogadores");
             return;
         }
         
@@ -485,594 +695,478 @@ public class GameController {
             pontuacaoJogador2.setText(String.valueOf(gerenciadorJogo.getPlayer2().getScore()));
         }
         
-        System.out.println("Informações dos jogadores configuradas");
+        Log.debug("Informações dos jogadores configuradas");
     }
 
     /**
      * Atualiza o indicador de turno.
      */
     private void atualizarIndicadorTurno() {
-        System.out.println("Atualizando indicador de turno...");
+        Log.debug("Atualizando indicador de turno...");
         
         GameManager gerenciadorJogo = GameManager.getInstance();
         if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null em atualizarIndicadorTurno");
+            Log.erro("GameManager é null em atualizarIndicadorTurno");
             return;
         }
         
-        if (rotuloIndicadorTurno != null && gerenciadorJogo.getCurrentPlayer() != null) {
-            rotuloIndicadorTurno.setText("Vez de: " + gerenciadorJogo.getCurrentPlayer().getName());
+        Player jogadorAtual = motor.getJogadorAtual();
+        if (reprodutor != null) {
+            turnoIA = false;
+            if (rotuloIndicadorTurno != null) {
+                int total = reprodutor.getReplay().getTotalJogadas();
+                rotuloIndicadorTurno.setText(reprodutor.temProxima()
+                        ? "Replay " + reprodutor.getPosicao() + "/" + total + " - vez de: " + jogadorAtual.getName()
+                        : "Replay concluído (" + total + " cartas)");
+            }
+            return;
+        }
+        if (rotuloIndicadorTurno != null && jogadorAtual != null) {
+            rotuloIndicadorTurno.setText("Vez de: " + jogadorAtual.getName());
         }
 
-        if (gerenciadorJogo.getCurrentPlayer() instanceof AIPlayer) {
+        if (jogadorAtual instanceof AIPlayer) {
             turnoIA = true;
-            if (!aguardandoSegundaCarta) {
+            if (motor.getFase() == MotorJogo.Fase.PRIMEIRA_CARTA) {
                 iniciarTurnoIA();
             }
         } else {
             turnoIA = false;
         }
         
-        System.out.println("Indicador de turno atualizado");
+        Log.debug("Indicador de turno atualizado");
     }
 
     /**
      * Inicia o turno da IA.
      */
     private void iniciarTurnoIA() {
-        System.out.println("=== INICIANDO TURNO DA IA ===");
+        Log.debug("=== INICIANDO TURNO DA IA ===");
         if (!turnoIA) {
-            System.err.println("ERRO: turnoIA é false!");
+            Log.erro("turnoIA é false!");
             return;
         }
 
-        System.out.println("Configurando atraso para IA...");
-        atrasoIA = new PauseTransition(Duration.seconds(1.0));
-        atrasoIA.setOnFinished(event -> {
-            System.out.println("Atraso da IA finalizado, executando jogada...");
+        agendador.agendar(ATRASO_JOGADA_IA, () -> {
+            Log.debug("Atraso da IA finalizado, executando jogada...");
             executarJogadaIA();
         });
-        atrasoIA.play();
-        System.out.println("Atraso da IA iniciado");
     }
 
     /**
      * Executa a jogada da IA.
      */
     private void executarJogadaIA() {
-        System.out.println("=== EXECUTANDO JOGADA DA IA ===");
+        Log.debug("=== EXECUTANDO JOGADA DA IA ===");
         if (!turnoIA) {
-            System.err.println("ERRO: turnoIA é false em executarJogadaIA!");
+            Log.erro("turnoIA é false em executarJogadaIA!");
             return;
         }
-        
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null!");
+        if (motor.getFase() != MotorJogo.Fase.PRIMEIRA_CARTA) {
+            Log.erro("IA tentando fazer primeira jogada fora da fase: %s", motor.getFase());
             return;
         }
-        
-        AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getCurrentPlayer();
-        if (jogadorIA == null) {
-            System.err.println("ERRO: Jogador atual não é IA!");
-            return;
-        }
-
-        System.out.println("IA: " + jogadorIA.getName() + " - Dificuldade: " + jogadorIA.getDifficulty());
+        pedirDecisaoIA(this::aplicarPrimeiraJogadaIA);
+    }
 
-        List<String> cartasDisponiveis = new ArrayList<>();
-        for (int i = 0; i < gradeOperacoes.getChildren().size(); i++) {
-            StackPane carta = (StackPane) gradeOperacoes.getChildren().get(i);
-            if (!isCartaRevelada(carta) && !isCartaEncontrada(carta)) {
-                cartasDisponiveis.add(carta.getId());
-            }
-        }
-        
-        System.out.println("Cartas disponíveis (operações): " + cartasDisponiveis.size());
-        for (String id : cartasDisponiveis) {
-            System.out.println("  - " + id);
+    private void aplicarPrimeiraJogadaIA(int melhorJogada) {
+        if (!turnoIA || motor == null || motor.getFase() != MotorJogo.Fase.PRIMEIRA_CARTA) {
+            return;
         }
-        
-        if (cartasDisponiveis.isEmpty()) {
-            System.err.println("ERRO: Nenhuma carta disponível para IA!");
+        if (melhorJogada < 0 || motor.escolherCarta(melhorJogada) != MotorJogo.Resultado.REVELADA) {
+            Log.erro("Melhor jogada da IA inválida: %d", melhorJogada);
             return;
         }
 
-        String melhorJogada = jogadorIA.calcularMelhorJogada(cartasDisponiveis);
-        System.out.println("Melhor jogada calculada: " + melhorJogada);
-        
-        if (melhorJogada != null) {
-            StackPane cartaParaClicar = encontrarCartaPorId(melhorJogada);
-            if (cartaParaClicar != null) {
-                System.out.println("Carta encontrada para clicar: " + cartaParaClicar.getId());
-                if (!aguardandoSegundaCarta) {
-                    System.out.println("Primeira jogada da IA - revelando carta...");
-                    primeiraCartaSelecionada = cartaParaClicar;
-                    revelarCarta(cartaParaClicar);
-                    registrarCartaParaIA(cartaParaClicar);
-                    aguardandoSegundaCarta = true;
-
-                    PauseTransition atrasoSegundaCarta = new PauseTransition(Duration.seconds(1.0));
-                    atrasoSegundaCarta.setOnFinished(event -> {
-                        System.out.println("Atraso da segunda jogada finalizado...");
-                        executarSegundaJogadaIA();
-                    });
-                    atrasoSegundaCarta.play();
-                    System.out.println("Atraso da segunda jogada iniciado");
-                } else {
-                    System.err.println("ERRO: IA tentando fazer primeira jogada mas aguardandoSegundaCarta é true!");
-                }
-            } else {
-                System.err.println("ERRO: Carta para clicar é null!");
-            }
-        } else {
-            System.err.println("ERRO: Melhor jogada é null!");
-        }
+        agendador.agendar(ATRASO_SEGUNDA_CARTA_IA, this::executarSegundaJogadaIA);
     }
 
     /**
      * Executa a segunda jogada da IA.
      */
     private void executarSegundaJogadaIA() {
-        System.out.println("=== EXECUTANDO SEGUNDA JOGADA DA IA ===");
-        if (!turnoIA || !aguardandoSegundaCarta) {
-            System.err.println("ERRO: turnoIA=" + turnoIA + ", aguardandoSegundaCarta=" + aguardandoSegundaCarta);
-            return;
-        }
-        
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        if (gerenciadorJogo == null) {
-            System.err.println("ERRO: GameManager é null!");
+        Log.debug("=== EXECUTANDO SEGUNDA JOGADA DA IA ===");
+        if (!turnoIA || motor.getFase() != MotorJogo.Fase.SEGUNDA_CARTA) {
+            Log.erro("Segunda jogada da IA fora de hora (fase %s)", motor.getFase());
             return;
         }
-        
-        AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getCurrentPlayer();
-        if (jogadorIA == null) {
-            System.err.println("ERRO: Jogador atual não é IA!");
-            return;
-        }
-
-        System.out.println("IA: " + jogadorIA.getName() + " - Segunda jogada");
-
-        List<String> cartasDisponiveis = new ArrayList<>();
-        for (int i = 0; i < gradeResultados.getChildren().size(); i++) {
-            StackPane carta = (StackPane) gradeResultados.getChildren().get(i);
-            if (!isCartaRevelada(carta) && !isCartaEncontrada(carta) && (primeiraCartaSelecionada == null || !carta.getId().equals(primeiraCartaSelecionada.getId()))) {
-                cartasDisponiveis.add(carta.getId());
-            }
-        }
-        
-        System.out.println("Cartas disponíveis (resultados): " + cartasDisponiveis.size());
-        for (String id : cartasDisponiveis) {
-            System.out.println("  - " + id);
-        }
-        
-        if (cartasDisponiveis.isEmpty()) {
-            System.err.println("ERRO: Nenhuma carta disponível para segunda jogada da IA!");
-            return;
-        }
-
-        String melhorJogada = jogadorIA.calcularMelhorJogada(cartasDisponiveis);
-        System.out.println("Melhor jogada calculada (segunda): " + melhorJogada);
-        
-        if (melhorJogada != null) {
-            StackPane cartaParaClicar = encontrarCartaPorId(melhorJogada);
-            if (cartaParaClicar != null) {
-                System.out.println("Segunda carta encontrada para clicar: " + cartaParaClicar.getId());
-                segundaCartaSelecionada = cartaParaClicar;
-                revelarCarta(cartaParaClicar);
-                registrarCartaParaIA(cartaParaClicar);
-
-                PauseTransition atrasoVerificacao = new PauseTransition(Duration.seconds(0.5));
-                atrasoVerificacao.setOnFinished(event -> {
-                    System.out.println("Atraso de verificação finalizado - verificando par...");
-                    verificarPar();
-                });
-                atrasoVerificacao.play();
-                System.out.println("Atraso de verificação iniciado");
-            } else {
-                System.err.println("ERRO: Segunda carta para clicar é null!");
-            }
-        } else {
-            System.err.println("ERRO: Melhor jogada (segunda) é null!");
-        }
+        pedirDecisaoIA(this::aplicarSegundaJogadaIA);
     }
 
-    /**
-     * Encontra uma carta pelo ID.
-     * @param idCarta ID da carta
-     * @return StackPane da carta, ou null se não encontrada
-     */
-    private StackPane encontrarCartaPorId(String idCarta) {
-        System.out.println("Procurando carta com ID: " + idCarta);
-
-        for (int i = 0; i < gradeOperacoes.getChildren().size(); i++) {
-            StackPane carta = (StackPane) gradeOperacoes.getChildren().get(i);
-            if (carta.getId() != null && carta.getId().equals(idCarta)) {
-                System.out.println("Carta encontrada no grid de operações: " + carta.getId());
-                return carta;
-            }
+    private void aplicarSegundaJogadaIA(int melhorJogada) {
+        if (!turnoIA || motor == null || motor.getFase() != MotorJogo.Fase.SEGUNDA_CARTA) {
+            return;
         }
-
-        for (int i = 0; i < gradeResultados.getChildren().size(); i++) {
-            StackPane carta = (StackPane) gradeResultados.getChildren().get(i);
-            if (carta.getId() != null && carta.getId().equals(idCarta)) {
-                System.out.println("Carta encontrada no grid de resultados: " + carta.getId());
-                return carta;
-            }
+        if (melhorJogada < 0 || motor.escolherCarta(melhorJogada) == MotorJogo.Resultado.INVALIDA) {
+            Log.erro("Segunda jogada da IA inválida: %d", melhorJogada);
         }
-        
-        System.err.println("ERRO: Carta com ID '" + idCarta + "' não encontrada!");
-        return null;
     }
 
     /**
-     * Registra carta revelada na memória da IA.
-     * @param carta Carta revelada
+     * Pede a carta à IA da vez em outro thread; a resposta chega ao
+     * consumidor no thread do JavaFX, se a partida não tiver sido
+     * interrompida antes.
+     * @param aoDecidir Aplica a carta escolhida
      */
-    private void registrarCartaParaIA(StackPane carta) {
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        if (gerenciadorJogo.getPlayer1() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer1();
-            InformacoesCarta informacoesCarta = obterInformacoesCarta(carta);
-
-            AIPlayer.CardInfo informacoesCartaIA = new AIPlayer.CardInfo(
-                informacoesCarta.textoExibicao, 
-                informacoesCarta.resultado, 
-                informacoesCarta.isOperacao
-            );
-            
-            jogadorIA.registrarCartaRevelada(carta.getId(), informacoesCartaIA);
-        }
-        
-        if (gerenciadorJogo.getPlayer2() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer2();
-            InformacoesCarta informacoesCarta = obterInformacoesCarta(carta);
-
-            AIPlayer.CardInfo informacoesCartaIA = new AIPlayer.CardInfo(
-                informacoesCarta.textoExibicao, 
-                informacoesCarta.resultado, 
-                informacoesCarta.isOperacao
-            );
-            
-            jogadorIA.registrarCartaRevelada(carta.getId(), informacoesCartaIA);
+    private void pedirDecisaoIA(IntConsumer aoDecidir) {
+        int[] candidatas = motor.candidatasJogadaIA();
+        if (candidatas == null) {
+            Log.erro("IA sem jogada possível na fase %s", motor.getFase());
+            return;
         }
+        decisoesIA.decidir((AIPlayer) motor.getJogadorAtual(), candidatas, motor.getCartaAbertaIA(), aoDecidir);
     }
 
     /**
-     * Remove carta da memória da IA quando encontrada.
-     * @param carta Carta encontrada
-     */
-    private void removerCartaDaIA(StackPane carta) {
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        if (gerenciadorJogo.getPlayer1() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer1();
-            jogadorIA.removerCartaDaMemoria(carta.getId());
-        }
-        
-        if (gerenciadorJogo.getPlayer2() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer2();
-            jogadorIA.removerCartaDaMemoria(carta.getId());
-        }
-    }
-    
-    /**
-     * Registra um par de cartas abertas na memória das IAs.
-     * @param carta1 Primeira carta do par
-     * @param carta2 Segunda carta do par
+     * Cancela os atrasos agendados e as decisões da IA ainda em cálculo.
      */
-    private void registrarParParaIA(StackPane carta1, StackPane carta2) {
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        if (gerenciadorJogo.getPlayer1() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer1();
-            jogadorIA.registrarParAberto(carta1.getId(), carta2.getId());
-        }
-        
-        if (gerenciadorJogo.getPlayer2() instanceof AIPlayer) {
-            AIPlayer jogadorIA = (AIPlayer) gerenciadorJogo.getPlayer2();
-            jogadorIA.registrarParAberto(carta1.getId(), carta2.getId());
-        }
+    private void cancelarPendentes() {
+        agendador.cancelarTodas();
+        decisoesIA.cancelarTodas();
     }
 
     /**
-     * Popula um grid com cartas.
+     * Popula um grid com cartas, reaproveitando os painéis da reserva.
      * @param grade GridPane a ser populado
      * @param prefixo Prefixo para identificação das cartas
      */
     private void popularGrade(GridPane grade, String prefixo) {
         if (grade == null) {
-            System.err.println("ERRO: Grid é null para prefixo: " + prefixo);
+            Log.erro("Grid é null para prefixo: " + prefixo);
             return;
         }
         
-        System.out.println("Populando grade: " + prefixo + " com " + NUMERO_LINHAS + "x" + NUMERO_COLUNAS + " cartas");
-        
-        for (int linha = 0; linha < NUMERO_LINHAS; linha++) {
-            for (int coluna = 0; coluna < NUMERO_COLUNAS; coluna++) {
-                StackPane painelCarta = criarPainelCarta(prefixo, linha, coluna);
+        Log.debug(() -> "Populando grade: " + prefixo + " com " + numeroLinhas + "x" + numeroColunas + " cartas");
+
+        List<StackPane> cartas = new ArrayList<>(numeroLinhas * numeroColunas);
+        for (int linha = 0; linha < numeroLinhas; linha++) {
+            for (int coluna = 0; coluna < numeroColunas; coluna++) {
+                StackPane painelCarta = obterPainelCarta(prefixo, linha, coluna);
                 if (painelCarta != null) {
-                    grade.add(painelCarta, coluna, linha);
-                    System.out.println("Adicionada carta " + painelCarta.getId() + " na posição (" + coluna + "," + linha + ")");
+                    GridPane.setConstraints(painelCarta, coluna, linha);
+                    cartas.add(painelCarta);
                 } else {
-                    System.err.println("ERRO: Falha ao criar carta para posição (" + coluna + "," + linha + ")");
+                    Log.erro("Falha ao criar carta para posição (" + coluna + "," + linha + ")");
                 }
             }
         }
-        
-        System.out.println("Grade " + prefixo + " populada com " + grade.getChildren().size() + " cartas");
+        grade.getChildren().setAll(cartas);
+
+        Log.debug(() -> "Grade " + prefixo + " populada com " + grade.getChildren().size() + " cartas");
     }
 
     /**
-     * Cria um painel de carta individual.
+     * Obtém o painel de uma carta, retirado da reserva quando possível, já
+     * registrado e com o verso para cima.
      * @param prefixo Prefixo da carta
      * @param linha Linha da carta
      * @param coluna Coluna da carta
      * @return StackPane representando a carta
      */
-    private StackPane criarPainelCarta(String prefixo, int linha, int coluna) {
+    private StackPane obterPainelCarta(String prefixo, int linha, int coluna) {
+        int carta = prefixo.equals("op") ? tabuleiro.indiceOperacao(linha, coluna) : tabuleiro.indiceResultado(linha, coluna);
         if (imagemVersoCarta == null) {
-            System.err.println("ERRO: imagemVersoCarta é null! Criando carta com fallback.");
+            Log.erro("imagemVersoCarta é null! Criando carta com fallback.");
             StackPane painelCarta = new StackPane();
             painelCarta.setId("carta-" + prefixo + "-" + linha + "-" + coluna);
-            painelCarta.getStyleClass().add("carta");
-            painelCarta.setStyle("-fx-background-color: #4A90E2; -fx-border-color: black; -fx-border-width: 2; " +
-                              "-fx-background-radius: 5; -fx-border-radius: 5; -fx-min-width: 90px; -fx-min-height: 90px; " +
-                              "-fx-pref-width: 90px; -fx-pref-height: 90px; -fx-max-width: 90px; -fx-max-height: 90px;");
-            
-            Label rotuloCarta = new Label("?");
-            rotuloCarta.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: white; " +
-                              "-fx-padding: 10px; -fx-alignment: center;");
-            painelCarta.getChildren().add(rotuloCarta);
+            registro.registrar(carta, painelCarta);
+            painelCarta.getStyleClass().addAll("carta", "carta-sem-imagem");
+            painelCarta.setMinSize(tamanhoCarta, tamanhoCarta);
+            painelCarta.setPrefSize(tamanhoCarta, tamanhoCarta);
+            painelCarta.setMaxSize(tamanhoCarta, tamanhoCarta);
+            painelCarta.getChildren().add(new Label("?"));
             
             painelCarta.setOnMouseClicked(event -> manipularCliqueCarta(painelCarta));
             return painelCarta;
         }
 
+        StackPane painelCarta = poolCartas.retirar();
+        if (painelCarta == null) {
+            painelCarta = criarPainelCarta();
+            poolCartas.registrarCriacao();
+        }
+        painelCarta.setId("carta-" + prefixo + "-" + linha + "-" + coluna);
+        registro.registrar(carta, painelCarta);
+        reiniciarPainelCarta(painelCarta, carta);
+        return painelCarta;
+    }
+
+    /**
+     * Cria um painel de carta vazio: verso, frente e rótulo.
+     * @return StackPane representando a carta
+     */
+    private StackPane criarPainelCarta() {
         ImageView versoCarta = new ImageView(imagemVersoCarta);
-        versoCarta.setFitWidth(90);
-        versoCarta.setFitHeight(90);
+        versoCarta.getStyleClass().add("verso-carta");
         versoCarta.setPreserveRatio(false);
         versoCarta.setSmooth(true);
         versoCarta.setCache(true);
 
         ImageView frenteCarta = new ImageView();
-        frenteCarta.setFitWidth(90);
-        frenteCarta.setFitHeight(90);
+        frenteCarta.getStyleClass().add("frente-carta");
         frenteCarta.setPreserveRatio(false);
-        frenteCarta.setVisible(false);
 
-        Label rotuloCarta = new Label("?");
-        rotuloCarta.setVisible(false);
-        rotuloCarta.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: white; " +
-                          "-fx-padding: 10px; -fx-alignment: center;");
+        Label rotuloCarta = new Label();
+        rotuloCarta.getStyleClass().add("rotulo-carta");
 
         StackPane painelCarta = new StackPane(versoCarta, frenteCarta, rotuloCarta);
-        painelCarta.setId("carta-" + prefixo + "-" + linha + "-" + coluna);
         painelCarta.getStyleClass().add("carta");
-        painelCarta.setStyle("-fx-border-color: black; -fx-border-width: 2; -fx-background-radius: 5; -fx-border-radius: 5; " +
-                          "-fx-min-width: 90px; -fx-min-height: 90px; -fx-pref-width: 90px; -fx-pref-height: 90px; " +
-                          "-fx-max-width: 90px; -fx-max-height: 90px;");
-
         painelCarta.setOnMouseClicked(event -> manipularCliqueCarta(painelCarta));
-        
         return painelCarta;
     }
 
+    /**
+     * Prepara um painel para a carta indicada, já com a face e o texto
+     * definidos e virado para baixo. O tamanho só é reatribuído quando muda.
+     * @param painelCarta Painel a ser reiniciado
+     * @param carta Índice da carta no tabuleiro
+     */
+    private void reiniciarPainelCarta(StackPane painelCarta, int carta) {
+        if (painelCarta.getPrefWidth() != tamanhoCarta) {
+            painelCarta.setMinSize(tamanhoCarta, tamanhoCarta);
+            painelCarta.setPrefSize(tamanhoCarta, tamanhoCarta);
+            painelCarta.setMaxSize(tamanhoCarta, tamanhoCarta);
+            for (int i = 0; i < 2; i++) {
+                ImageView imagem = (ImageView) painelCarta.getChildren().get(i);
+                imagem.setFitWidth(tamanhoCarta);
+                imagem.setFitHeight(tamanhoCarta);
+            }
+        }
+
+        Image imagemRevelacao = obterImagemRevelacaoParaOperacao(TIPOS_OPERACAO[tabuleiro.getOperacao(carta)]);
+        ((ImageView) painelCarta.getChildren().get(1)).setImage(imagemRevelacao != null ? imagemRevelacao : imagemVersoCarta);
+        ((Label) painelCarta.getChildren().get(2)).setText(tabuleiro.getTexto(carta));
+        definirEstadoVisual(painelCarta, Tabuleiro.OCULTA, false);
+        painelCarta.pseudoClassStateChanged(PSEUDO_DICA, false);
+    }
+
+    /**
+     * Troca o estado visual da carta ligando e desligando pseudo-classes; o
+     * styles.css decide o que aparece em cada estado.
+     * @param painelCarta Painel da carta
+     * @param estado {@link Tabuleiro#OCULTA}, {@link Tabuleiro#REVELADA} ou {@link Tabuleiro#ENCONTRADA}
+     * @param erroPar true para destacar um par errado
+     */
+    private static void definirEstadoVisual(StackPane painelCarta, byte estado, boolean erroPar) {
+        painelCarta.pseudoClassStateChanged(PSEUDO_OCULTA, estado == Tabuleiro.OCULTA);
+        painelCarta.pseudoClassStateChanged(PSEUDO_REVELADA, estado == Tabuleiro.REVELADA);
+        painelCarta.pseudoClassStateChanged(PSEUDO_ENCONTRADA, estado == Tabuleiro.ENCONTRADA);
+        painelCarta.pseudoClassStateChanged(PSEUDO_ERRO_PAR, erroPar);
+    }
+
     /**
      * Manipula o clique em uma carta.
      * @param cartaClicada Carta que foi clicada
      */
     private void manipularCliqueCarta(StackPane cartaClicada) {
-        if (turnoIA) {
-            return;
+        inicioClique = System.nanoTime();
+        if (cartaClicada != null) {
+            manipularCliqueCarta(registro.getIndice(cartaClicada));
         }
-        
-        if (cartaClicada == null || isCartaRevelada(cartaClicada) || isCartaEncontrada(cartaClicada)) {
+    }
+
+    /**
+     * Manipula o clique em uma carta, seja no painel ou no Canvas.
+     * @param carta Índice da carta clicada
+     */
+    private void manipularCliqueCarta(int carta) {
+        if (turnoIA || motor == null || reprodutor != null) {
+            inicioClique = 0;
             return;
         }
 
-        registrarCartaParaIA(cartaClicada);
-
-        if (!aguardandoSegundaCarta) {
-            if (!isCartaOperacao(cartaClicada)) {
-                AlertUtils.mostrarErro("Jogada inválida", "A primeira carta deve ser do grid de operações.");
-                return;
-            }
-            primeiraCartaSelecionada = cartaClicada;
-            revelarCarta(cartaClicada);
-            aguardandoSegundaCarta = true;
+        MotorJogo.Fase fase = motor.getFase();
+        inicioMotor = System.nanoTime();
+        registroIAAntes = motor.getNanosRegistroIA();
+        long manipulador = inicioMotor - inicioClique;
+        MotorJogo.Resultado resultado = motor.escolherCarta(carta);
+        if (resultado == MotorJogo.Resultado.INVALIDA || resultado == MotorJogo.Resultado.GRID_ERRADO) {
+            // Cliques recusados não revelam nada e ficam fora das medições
+            inicioClique = 0;
         } else {
-            if (!isCartaResultado(cartaClicada)) {
-                AlertUtils.mostrarErro("Jogada inválida", "A segunda carta deve ser do grid de resultados.");
-                return;
-            }
-            if (cartaClicada != primeiraCartaSelecionada) {
-                segundaCartaSelecionada = cartaClicada;
-                revelarCarta(cartaClicada);
-                registrarCartaParaIA(cartaClicada);
-                verificarPar();
-            }
+            medidor.registrar(MedidorLatencia.Fase.MANIPULADOR, manipulador);
+        }
+        if (resultado == MotorJogo.Resultado.GRID_ERRADO) {
+            AlertUtils.mostrarErro("Jogada inválida", fase == MotorJogo.Fase.PRIMEIRA_CARTA
+                    ? "A primeira carta deve ser do grid de operações."
+                    : "A segunda carta deve ser do grid de resultados.");
         }
     }
 
     /**
-     * Verifica se uma carta está revelada.
-     * @param carta Carta a ser verificada
-     * @return true se a carta está revelada
+     * Mostra a face de uma carta que o motor acabou de revelar.
+     * @param carta Índice da carta revelada
      */
-    private boolean isCartaRevelada(StackPane carta) {
-        if (carta.getChildren().size() >= 2) {
-            return !carta.getChildren().get(0).isVisible();
+    private void revelarCarta(int carta) {
+        long inicio = System.nanoTime();
+        limparDica();
+        atualizarCarta(carta, Tabuleiro.REVELADA, false);
+        long inicioAudio = System.nanoTime();
+        AudioManager.getInstance().tocarSomRevelarCarta();
+        if (inicioClique != 0 && inicioRenderizacao == 0) {
+            long registroIA = motor.getNanosRegistroIA() - registroIAAntes;
+            if (registroIA > 0) {
+                medidor.registrar(MedidorLatencia.Fase.REGISTRO_IA, registroIA);
+            }
+            medidor.registrar(MedidorLatencia.Fase.MODELO, inicio - inicioMotor - registroIA);
+            medidor.registrar(MedidorLatencia.Fase.AUDIO, System.nanoTime() - inicioAudio);
+            inicioRenderizacao = inicio;
         }
-        return false;
     }
 
     /**
-     * Verifica se uma carta já foi encontrada (matched).
-     * @param carta Carta a ser verificada
-     * @return true se a carta foi encontrada
+     * Destaca a carta que o {@link SolucionadorExato} sugere para o jogador
+     * da vez. A sugestão é calculada fora do thread do JavaFX e descartada se
+     * alguma carta for revelada antes dela chegar. O destaque some na próxima
+     * carta revelada.
      */
-    private boolean isCartaEncontrada(StackPane carta) {
+    @FXML
+    private void mostrarDica() {
+        if (motor == null || reprodutor != null || turnoIA) {
+            return;
+        }
+        limparDica();
+        IntSupplier sugestao = motor.prepararSugestao();
+        if (sugestao == null) {
+            Log.aviso("Sem dica para a fase %s", motor.getFase());
+            return;
+        }
+        int pedido = pedidoDica;
+        decisoesIA.sugerir(sugestao, carta -> {
+            if (pedido != pedidoDica) {
+                return;
+            }
+            if (carta < 0) {
+                Log.aviso("Sem dica para a fase %s", motor.getFase());
+                return;
+            }
+            cartaDica = carta;
+            destacarDica(carta, true);
+        });
+    }
 
-        return carta.getStyleClass().contains("matched");
+    private void limparDica() {
+        // Dicas ainda em cálculo deixam de valer
+        pedidoDica++;
+        if (cartaDica >= 0) {
+            destacarDica(cartaDica, false);
+            cartaDica = -1;
+        }
+    }
+
+    private void destacarDica(int carta, boolean ativa) {
+        if (desenhoRapido) {
+            tabuleiroCanvas.destacar(ativa ? carta : -1);
+            return;
+        }
+        StackPane painel = registro.getPainel(carta);
+        if (painel != null) {
+            painel.pseudoClassStateChanged(PSEUDO_DICA, ativa);
+        }
     }
 
     /**
-     * Revela o conteúdo de uma carta.
-     * @param carta Carta a ser revelada
+     * Acompanha os pulsos da cena da partida para fechar a medição de cada
+     * clique quando o layout do pulso seguinte termina.
      */
-    private void revelarCarta(StackPane carta) {
-        if (carta == null) {
-            System.err.println("ERRO: Carta é null em revelarCarta");
+    private void acompanharPulsos() {
+        Scene cena = raiz != null ? raiz.getScene() : null;
+        if (cena == cenaMedida) {
             return;
         }
-        
-        if (carta.getChildren().size() < 3) {
-            System.err.println("ERRO: Carta não tem elementos suficientes: " + carta.getChildren().size());
-            return;
+        if (cenaMedida != null) {
+            cenaMedida.removePostLayoutPulseListener(fimDoLayout);
         }
-        
-        carta.getChildren().get(0).setVisible(false);
-
-        ImageView frenteCarta = (ImageView) carta.getChildren().get(1);
-        frenteCarta.setVisible(true);
-
-        InformacoesCarta informacoesCarta = obterInformacoesCarta(carta);
-
-        if (informacoesCarta.tipoOperacao != null) {
-            Image imagemRevelacao = obterImagemRevelacaoParaOperacao(informacoesCarta.tipoOperacao);
-            if (imagemRevelacao != null) {
-                frenteCarta.setImage(imagemRevelacao);
-            } else {
-                System.err.println("ERRO: Imagem de revelação é null para tipo: " + informacoesCarta.tipoOperacao);
-                frenteCarta.setImage(imagemRevelacaoSoma != null ? imagemRevelacaoSoma : imagemVersoCarta);
-            }
-        } else {
-            System.err.println("ERRO: Tipo de operação é null");
-            frenteCarta.setImage(imagemRevelacaoSoma != null ? imagemRevelacaoSoma : imagemVersoCarta);
+        if (cena != null) {
+            cena.addPostLayoutPulseListener(fimDoLayout);
         }
-
-        Label rotuloCarta = (Label) carta.getChildren().get(2);
-        rotuloCarta.setText(informacoesCarta.textoExibicao);
-        rotuloCarta.setVisible(true);
-
-        AudioManager.getInstance().tocarSomRevelarCarta();
+        cenaMedida = cena;
     }
 
     /**
-     * Verifica se as duas cartas selecionadas formam um par.
+     * Fecha a medição do clique em andamento, se houver, ao fim do layout.
      */
-    private void verificarPar() {
-        InformacoesCarta informacoes1 = obterInformacoesCarta(primeiraCartaSelecionada);
-        InformacoesCarta informacoes2 = obterInformacoesCarta(segundaCartaSelecionada);
-        
-        boolean isPar = false;
-
-        if (isCartaOperacao(primeiraCartaSelecionada) && isCartaResultado(segundaCartaSelecionada)) {
-            isPar = informacoes1.resultado == informacoes2.resultado;
-            System.out.println("Verificando par: " + informacoes1.textoExibicao + " (" + informacoes1.resultado + ") == " + informacoes2.textoExibicao + " (" + informacoes2.resultado + ") = " + isPar);
-        } else if (isCartaResultado(primeiraCartaSelecionada) && isCartaOperacao(segundaCartaSelecionada)) {
-            isPar = informacoes2.resultado == informacoes1.resultado;
-            System.out.println("Verificando par: " + informacoes2.textoExibicao + " (" + informacoes2.resultado + ") == " + informacoes1.textoExibicao + " (" + informacoes1.resultado + ") = " + isPar);
+    private void concluirMedicaoClique() {
+        if (inicioRenderizacao == 0) {
+            return;
         }
-        
-        if (isPar) {
-            System.out.println("PAR ENCONTRADO!");
-            manipularParEncontrado();
-        } else {
-            System.out.println("NÃO É PAR!");
-            manipularParNaoEncontrado();
+        long agora = System.nanoTime();
+        medidor.registrar(MedidorLatencia.Fase.RENDERIZACAO, agora - inicioRenderizacao);
+        medidor.registrar(MedidorLatencia.Fase.TOTAL, agora - inicioClique);
+        inicioRenderizacao = 0;
+        inicioClique = 0;
+        if (painelLatencia != null && painelLatencia.isVisible()) {
+            painelLatencia.setText(medidor.relatorio());
         }
     }
 
     /**
-     * Manipula quando um par é encontrado.
+     * Mostra ou esconde o painel de depuração com as latências dos cliques.
      */
-    private void manipularParEncontrado() {
-        primeiraCartaSelecionada.getStyleClass().removeAll("erro-match");
-        segundaCartaSelecionada.getStyleClass().removeAll("erro-match");
-        primeiraCartaSelecionada.getStyleClass().add("matched");
-        segundaCartaSelecionada.getStyleClass().add("matched");
-
-        removerCartaDaIA(primeiraCartaSelecionada);
-        removerCartaDaIA(segundaCartaSelecionada);
-
-        paresEncontrados++;
+    private void alternarPainelLatencia() {
+        if (painelLatencia == null) {
+            return;
+        }
+        boolean visivel = !painelLatencia.isVisible();
+        painelLatencia.setText(medidor.relatorio());
+        painelLatencia.setVisible(visivel);
+        painelLatencia.setManaged(visivel);
+    }
 
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        Player jogador = gerenciadorJogo.getCurrentPlayer();
-        jogador.adicionarPontos(PONTOS_ACERTO);
+    /**
+     * Manipula quando um par é encontrado.
+     * @param carta1 Carta de operação
+     * @param carta2 Carta de resultado
+     */
+    private void manipularParEncontrado(int carta1, int carta2) {
+        Log.debug("Par encontrado: %s == %s", tabuleiro.getTexto(carta1), tabuleiro.getTexto(carta2));
+        atualizarCarta(carta1, Tabuleiro.ENCONTRADA, false);
+        atualizarCarta(carta2, Tabuleiro.ENCONTRADA, false);
 
         atualizarPontuacoesJogadores();
 
         AudioManager.getInstance().tocarSomMatch();
 
-        if (paresEncontrados >= TOTAL_PARES) {
-            manipularFimJogo();
-        } else {
-            resetarSelecaoCartas();
-
-            if (gerenciadorJogo.getCurrentPlayer() instanceof AIPlayer) {
-                PauseTransition atrasoIA = new PauseTransition(Duration.seconds(0.5));
-                atrasoIA.setOnFinished(event -> iniciarTurnoIA());
-                atrasoIA.play();
-            }
+        if (!motor.isFimDeJogo() && motor.getJogadorAtual() instanceof AIPlayer) {
+            agendador.agendar(ATRASO_APOS_ACERTO, this::iniciarTurnoIA);
         }
     }
 
     /**
-     * Manipula quando um par não é encontrado.
+     * Manipula quando um par não é encontrado. As cartas ficam à mostra por
+     * um instante antes de o motor escondê-las e passar o turno.
+     * @param carta1 Carta de operação
+     * @param carta2 Carta de resultado
      */
-    private void manipularParNaoEncontrado() {
+    private void manipularParNaoEncontrado(int carta1, int carta2) {
+        Log.debug("Par errado: %s != %s", tabuleiro.getTexto(carta1), tabuleiro.getTexto(carta2));
         AudioManager.getInstance().tocarSomNaoMatch();
-        
-        registrarParParaIA(primeiraCartaSelecionada, segundaCartaSelecionada);
-        
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        Player jogador = gerenciadorJogo.getCurrentPlayer();
-        jogador.adicionarPontos(PONTOS_ERRO);
         atualizarPontuacoesJogadores();
-        
-        primeiraCartaSelecionada.getStyleClass().removeAll("matched");
-        segundaCartaSelecionada.getStyleClass().removeAll("matched");
-        primeiraCartaSelecionada.getStyleClass().add("erro-match");
-        segundaCartaSelecionada.getStyleClass().add("erro-match");
-        PauseTransition atraso = new PauseTransition(Duration.seconds(1.5));
-        atraso.setOnFinished(event -> {
-            esconderCarta(primeiraCartaSelecionada);
-            esconderCarta(segundaCartaSelecionada);
-            resetarSelecaoCartas();
-            gerenciadorJogo.trocarTurno();
-            atualizarIndicadorTurno();
-        });
-        atraso.play();
-    }
 
-    /**
-     * Reseta a seleção de cartas.
-     */
-    private void resetarSelecaoCartas() {
-        primeiraCartaSelecionada = null;
-        segundaCartaSelecionada = null;
-        aguardandoSegundaCarta = false;
+        atualizarCarta(carta1, Tabuleiro.REVELADA, true);
+        atualizarCarta(carta2, Tabuleiro.REVELADA, true);
+        if (reprodutor == null) {
+            agendador.agendar(ATRASO_PAR_ERRADO, motor::concluirJogada);
+        }
     }
 
     /**
      * Manipula o fim do jogo.
+     * @param vencedor Jogador vencedor, ou null em caso de empate
      */
-    private void manipularFimJogo() {
-        GameManager gerenciadorJogo = GameManager.getInstance();
-        Player vencedor = null;
-        boolean empate = false;
-        
-        if (gerenciadorJogo.getPlayer1().getScore() == gerenciadorJogo.getPlayer2().getScore()) {
-            empate = true;
-        } else {
-            vencedor = gerenciadorJogo.getPlayer1().getScore() > gerenciadorJogo.getPlayer2().getScore() ? gerenciadorJogo.getPlayer1() : gerenciadorJogo.getPlayer2();
+    private void manipularFimJogo(Player vencedor) {
+        cancelarPendentes();
+        if (reprodutor != null) {
+            AudioManager.getInstance().tocarSomVitoria();
+            atualizarIndicadorTurno();
+            return;
         }
-        gerenciadorJogo.setVencedor(empate ? null : vencedor);
+        decisoesIA.encerrar();
+        salvarRegistroJogadas();
+        GameManager gerenciadorJogo = GameManager.getInstance();
+        gerenciadorJogo.setVencedor(vencedor);
         
-        if (empate) {
+        if (vencedor == null) {
             AudioManager.getInstance().tocarSomVitoria();
         } else if (gerenciadorJogo.getGameMode() == GameManager.GameMode.PVE) {
             if (vencedor instanceof AIPlayer) {
@@ -1097,182 +1191,193 @@ public class GameController {
     }
 
     /**
-     * Verifica se uma carta é de operação.
-     * @param carta Carta a ser verificada
-     * @return true se é carta de operação
+     * Agenda a próxima carta do replay respeitando o intervalo gravado,
+     * limitado a {@link #ATRASO_MAXIMO_REPLAY} e ajustado pelo ritmo da partida.
      */
-    private boolean isCartaOperacao(StackPane carta) {
-        return carta.getId().contains("op");
+    private void agendarProximaJogadaReplay() {
+        if (reprodutor == null || !reprodutor.temProxima()) {
+            return;
+        }
+        double atraso = Math.min(reprodutor.getIntervaloProxima() / 1000.0, ATRASO_MAXIMO_REPLAY);
+        agendador.agendar(atraso, this::avancarReplay);
     }
 
     /**
-     * Verifica se uma carta é de resultado.
-     * @param carta Carta a ser verificada
-     * @return true se é carta de resultado
+     * Aplica a próxima carta do replay e agenda a seguinte.
      */
-    private boolean isCartaResultado(StackPane carta) {
-        return carta.getId().contains("re");
+    private void avancarReplay() {
+        if (reprodutor == null || !reprodutor.temProxima()) {
+            return;
+        }
+        try {
+            reprodutor.proxima();
+        } catch (IllegalStateException e) {
+            Log.erro("Replay interrompido: " + e.getMessage());
+            AlertUtils.mostrarErro("Replay inválido", e.getMessage());
+            cancelarPendentes();
+            return;
+        }
+        atualizarIndicadorTurno();
+        agendarProximaJogadaReplay();
     }
 
     /**
-     * Obtém as informações de uma carta baseada em sua posição.
-     * @param carta Carta para obter informações
-     * @return InformacoesCarta com as informações da carta
+     * Trata as teclas da partida: F3 alterna o painel de latência e as setas
+     * navegam no replay.
+     * @param evento Tecla pressionada
      */
-    private InformacoesCarta obterInformacoesCarta(StackPane carta) {
-        if (carta == null) {
-            System.err.println("ERRO: Carta é null em obterInformacoesCarta");
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
+    private void manipularTecla(KeyEvent evento) {
+        if (evento.getCode() == KeyCode.F3) {
+            alternarPainelLatencia();
+            evento.consume();
+            return;
         }
-        
-        String idCarta = carta.getId();
-        if (idCarta == null || idCarta.isEmpty()) {
-            System.err.println("ERRO: ID da carta é null ou vazio");
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
+        manipularTeclaReplay(evento);
+    }
+
+    /**
+     * Salta {@link #SALTO_REPLAY} cartas para trás ou para frente com as setas.
+     * @param evento Tecla pressionada
+     */
+    private void manipularTeclaReplay(KeyEvent evento) {
+        if (reprodutor == null) {
+            return;
         }
-        
-        String[] partes = idCarta.split("-");
-        if (partes.length < 4) {
-            System.err.println("ERRO: ID da carta inválido: " + idCarta);
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
+        if (evento.getCode() == KeyCode.LEFT) {
+            saltarReplay(reprodutor.getPosicao() - SALTO_REPLAY);
+            evento.consume();
+        } else if (evento.getCode() == KeyCode.RIGHT) {
+            saltarReplay(reprodutor.getPosicao() + SALTO_REPLAY);
+            evento.consume();
         }
-        
+    }
+
+    /**
+     * Posiciona o replay e redesenha o tabuleiro inteiro, já que o motor não
+     * avisa a tela durante o salto.
+     * @param destino Número de cartas já escolhidas
+     */
+    private void saltarReplay(int destino) {
+        cancelarPendentes();
         try {
-            int linha = Integer.parseInt(partes[2]);
-            int coluna = Integer.parseInt(partes[3]);
-            
-            if (isCartaOperacao(carta)) {
-                if (gerador == null) {
-                    System.err.println("ERRO: Gerador é null");
-                    return new InformacoesCarta("?", 0, Card.OperationType.SOMA, true);
-                }
-                
-                int operando1 = gerador.getMatrizOperandos1()[linha][coluna];
-                int operando2 = gerador.getMatrizOperandos2()[linha][coluna];
-                int resultado = gerador.getMatrizResultados()[linha][coluna];
-                Card.OperationType tipoOperacao = obterTipoOperacao(linha, coluna);
-                
-                String textoExibicao = operando1 + obterSimboloOperacao(tipoOperacao) + operando2;
-                return new InformacoesCarta(textoExibicao, resultado, tipoOperacao, true);
-            } else {
-                if (resultadosEmbaralhados == null) {
-                    System.err.println("ERRO: resultadosEmbaralhados é null");
-                    return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
-                }
-                
-                int resultado = resultadosEmbaralhados[linha][coluna];
-                Card.OperationType tipoOperacao = obterTipoOperacaoParaResultado(linha, coluna);
-                return new InformacoesCarta(String.valueOf(resultado), resultado, tipoOperacao, false);
-            }
-        } catch (NumberFormatException e) {
-            System.err.println("ERRO ao parsear linha/coluna: " + e.getMessage());
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
-        } catch (ArrayIndexOutOfBoundsException e) {
-            System.err.println("ERRO: Índice fora dos limites: " + e.getMessage());
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
-        } catch (Exception e) {
-            System.err.println("ERRO inesperado em obterInformacoesCarta: " + e.getMessage());
-            return new InformacoesCarta("?", 0, Card.OperationType.SOMA, false);
+            reprodutor.irPara(destino);
+        } catch (IllegalStateException e) {
+            Log.erro("Replay interrompido: " + e.getMessage());
+            AlertUtils.mostrarErro("Replay inválido", e.getMessage());
+            return;
         }
+        sincronizarCartas();
+        atualizarPontuacoesJogadores();
+        atualizarIndicadorTurno();
+        agendarProximaJogadaReplay();
     }
 
     /**
-     * Obtém o tipo de operação baseado na posição da matriz.
-     * @param linha Linha da matriz
-     * @param coluna Coluna da matriz
-     * @return Tipo de operação
+     * Redesenha todas as cartas a partir do estado do tabuleiro, depois de o
+     * motor mudar de posição sem avisar a tela.
      */
-    private Card.OperationType obterTipoOperacao(int linha, int coluna) {
-        int operando1 = gerador.getMatrizOperandos1()[linha][coluna];
-        int operando2 = gerador.getMatrizOperandos2()[linha][coluna];
-        int resultado = gerador.getMatrizResultados()[linha][coluna];
-        
-        if (operando1 + operando2 == resultado) return Card.OperationType.SOMA;
-        if (operando1 - operando2 == resultado) return Card.OperationType.SUBTRACAO;
-        if (operando1 * operando2 == resultado) return Card.OperationType.MULTIPLICACAO;
-        if (operando2 != 0 && operando1 / operando2 == resultado) return Card.OperationType.DIVISAO;
-        
-        return Card.OperationType.SOMA;
+    private void sincronizarCartas() {
+        boolean parErrado = motor.getFase() == MotorJogo.Fase.AGUARDANDO_CONCLUSAO;
+        for (int carta = 0; carta < tabuleiro.getTotalCartas(); carta++) {
+            atualizarCarta(carta, tabuleiro.getEstado(carta), parErrado && tabuleiro.isRevelada(carta));
+        }
     }
 
     /**
-     * Obtém o tipo de operação para cartas de resultado baseado na posição.
-     * Para cartas de resultado, precisamos determinar qual operação gerou aquele resultado.
-     * @param linha Linha da matriz
-     * @param coluna Coluna da matriz
-     * @return Tipo de operação
+     * Salva a partida em andamento para ser retomada pelo menu. Partidas
+     * terminadas e replays não são salvos.
+     * @return true se a partida foi salva
      */
-    private Card.OperationType obterTipoOperacaoParaResultado(int linha, int coluna) {
-        int resultado = resultadosEmbaralhados[linha][coluna];
-
-        for (int i = 0; i < NUMERO_LINHAS; i++) {
-            for (int j = 0; j < NUMERO_COLUNAS; j++) {
-                int operando1 = gerador.getMatrizOperandos1()[i][j];
-                int operando2 = gerador.getMatrizOperandos2()[i][j];
-                int resultadoOperacao = gerador.getMatrizResultados()[i][j];
-                
-                if (resultadoOperacao == resultado) {
-                    if (operando1 + operando2 == resultadoOperacao) return Card.OperationType.SOMA;
-                    if (operando1 - operando2 == resultadoOperacao) return Card.OperationType.SUBTRACAO;
-                    if (operando1 * operando2 == resultadoOperacao) return Card.OperationType.MULTIPLICACAO;
-                    if (operando2 != 0 && operando1 / operando2 == resultadoOperacao) return Card.OperationType.DIVISAO;
-                }
-            }
+    public boolean salvarPartidaEmAndamento() {
+        if (motor == null || reprodutor != null || motor.isFimDeJogo()) {
+            return false;
+        }
+        try {
+            long inicio = System.nanoTime();
+            Path arquivo = PartidaSalva.arquivoPadrao();
+            PartidaSalva.capturar(motor, GameManager.getInstance().getCodigoPartida()).salvar(arquivo);
+            Log.info("Partida salva em %s (%d µs)", arquivo, (System.nanoTime() - inicio) / 1000);
+            return true;
+        } catch (IOException e) {
+            Log.erro("Não foi possível salvar a partida: " + e.getMessage(), e);
+            return false;
         }
+    }
 
-        int indice = linha * NUMERO_COLUNAS + coluna;
-        switch (indice % 4) {
-            case 0: return Card.OperationType.SOMA;
-            case 1: return Card.OperationType.SUBTRACAO;
-            case 2: return Card.OperationType.MULTIPLICACAO;
-            case 3: return Card.OperationType.DIVISAO;
-            default: return Card.OperationType.SOMA;
+    /**
+     * Salva a partida e volta ao menu, de onde ela pode ser continuada.
+     * O registro de jogadas segue dentro da partida salva.
+     */
+    @FXML
+    private void salvarESair() {
+        if (!salvarPartidaEmAndamento()) {
+            AlertUtils.mostrarErro("Salvar partida", "Não foi possível salvar esta partida.");
+            return;
+        }
+        cancelarPendentes();
+        decisoesIA.encerrar();
+        if (tabuleiroCanvas != null) {
+            tabuleiroCanvas.parar();
         }
+        registroJogadas = null;
+        motor = null;
+        SceneManager.getInstance().carregarCena("/fxml/menu-view.fxml");
     }
 
     /**
-     * Obtém o símbolo da operação.
-     * @param tipoOperacao Tipo de operação
-     * @return Símbolo da operação
+     * Grava o registro de jogadas da partida na pasta de replays, uma única vez.
      */
-    private String obterSimboloOperacao(Card.OperationType tipoOperacao) {
-        switch (tipoOperacao) {
-            case SOMA: return "+";
-            case SUBTRACAO: return "-";
-            case MULTIPLICACAO: return "×";
-            case DIVISAO: return "÷";
-            default: return "+";
+    private void salvarRegistroJogadas() {
+        if (registroJogadas == null) {
+            return;
+        }
+        RegistroJogadas registroSalvo = registroJogadas;
+        registroJogadas = null;
+        if (registroSalvo.getJogadas() == 0) {
+            return;
+        }
+        try {
+            Path arquivo = registroSalvo.salvar();
+            Log.info("Replay gravado em %s (%d cartas, %d bytes)", arquivo, registroSalvo.getJogadas(), registroSalvo.getTamanho());
+        } catch (IOException e) {
+            Log.erro("Não foi possível gravar o replay: " + e.getMessage(), e);
         }
     }
 
     /**
      * Esconde o conteúdo de uma carta.
-     * @param carta Carta a ser escondida
+     * @param carta Índice da carta a ser escondida
      */
-    private void esconderCarta(StackPane carta) {
-        if (carta.getChildren().size() >= 3) {
-            carta.getChildren().get(0).setVisible(true);
-
-            carta.getChildren().get(1).setVisible(false);
-
-            carta.getChildren().get(2).setVisible(false);
-        }
+    private void esconderCarta(int carta) {
+        atualizarCarta(carta, Tabuleiro.OCULTA, false);
     }
 
     /**
-     * Classe interna para armazenar informações de uma carta.
+     * Traduz os eventos do {@link MotorJogo} em mudanças na tela.
      */
-    private static class InformacoesCarta {
-        final String textoExibicao;
-        final int resultado;
-        final Card.OperationType tipoOperacao;
-        final boolean isOperacao;
-
-        InformacoesCarta(String textoExibicao, int resultado, Card.OperationType tipoOperacao, boolean isOperacao) {
-            this.textoExibicao = textoExibicao;
-            this.resultado = resultado;
-            this.tipoOperacao = tipoOperacao;
-            this.isOperacao = isOperacao;
+    private final class OuvinteTela implements MotorJogo.Ouvinte {
+        @Override
+        public void cartaRevelada(int carta) { revelarCarta(carta); }
+
+        @Override
+        public void parEncontrado(int carta1, int carta2, Player jogador) { manipularParEncontrado(carta1, carta2); }
+
+        @Override
+        public void parErrado(int carta1, int carta2, Player jogador) { manipularParNaoEncontrado(carta1, carta2); }
+
+        @Override
+        public void cartasEscondidas(int carta1, int carta2) {
+            esconderCarta(carta1);
+            esconderCarta(carta2);
         }
+
+        @Override
+        public void turnoTrocado(Player jogadorAtual) {
+            GameManager.getInstance().trocarTurno();
+            atualizarIndicadorTurno();
+        }
+
+        @Override
+        public void fimDeJogo(Player vencedor) { manipularFimJogo(vencedor); }
     }
-}
\ No newline at end of file
+}
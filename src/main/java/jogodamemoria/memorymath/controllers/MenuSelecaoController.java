@@ -2,17 +2,51 @@ package jogodamemoria.memorymath.controllers;
 
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
+import javafx.stage.FileChooser;
 import jogodamemoria.memorymath.GameManager;
+import jogodamemoria.memorymath.model.PartidaSalva;
+import jogodamemoria.memorymath.model.RegistroJogadas;
+import jogodamemoria.memorymath.model.ReplayJogadas;
 import jogodamemoria.memorymath.transitions.SceneManager;
+import jogodamemoria.memorymath.util.AlertUtils;
 import jogodamemoria.memorymath.util.AudioManager;
+import jogodamemoria.memorymath.util.Log;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ResourceBundle;
 
 public class MenuSelecaoController implements Initializable {
+    @FXML private Button botaoContinuar;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         AudioManager.getInstance().iniciarMusicaFundo();
+        if (botaoContinuar != null) {
+            boolean existe = Files.exists(PartidaSalva.arquivoPadrao());
+            botaoContinuar.setVisible(existe);
+            botaoContinuar.setManaged(existe);
+        }
+    }
+
+    @FXML
+    private void aoClicarContinuar() {
+        Path arquivo = PartidaSalva.arquivoPadrao();
+        try {
+            long inicio = System.nanoTime();
+            PartidaSalva partida = PartidaSalva.ler(arquivo);
+            Files.deleteIfExists(arquivo);
+            GameManager.getInstance().configurarRetomada(partida);
+            Log.info("Partida salva lida em %d µs", (System.nanoTime() - inicio) / 1000);
+            SceneManager.getInstance().carregarCena("/fxml/game-view.fxml");
+        } catch (IOException | IllegalArgumentException e) {
+            Log.erro("Erro ao continuar partida: " + e.getMessage());
+            AlertUtils.mostrarErro("Continuar partida", "Não foi possível abrir a partida salva: " + e.getMessage());
+        }
     }
 
     @FXML
@@ -41,4 +75,27 @@ public class MenuSelecaoController implements Initializable {
     private void aoClicarInstrucoes() {
         SceneManager.getInstance().carregarCena("/fxml/instrucoes-view.fxml");
     }
+
+    @FXML
+    private void aoClicarReplay() {
+        FileChooser seletor = new FileChooser();
+        seletor.setTitle("Assistir replay");
+        seletor.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Replays do MemoryMath", "*" + RegistroJogadas.EXTENSAO));
+        File pasta = RegistroJogadas.diretorioPadrao().toFile();
+        if (Files.isDirectory(pasta.toPath())) {
+            seletor.setInitialDirectory(pasta);
+        }
+        File arquivo = seletor.showOpenDialog(SceneManager.getInstance().getPrimaryStage());
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            GameManager.getInstance().configurarReplay(ReplayJogadas.ler(arquivo.toPath()));
+            SceneManager.getInstance().carregarCena("/fxml/game-view.fxml");
+        } catch (IOException | IllegalArgumentException e) {
+            Log.erro("Erro ao abrir replay: " + e.getMessage());
+            AlertUtils.mostrarErro("Replay inválido", "Não foi possível abrir o arquivo: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
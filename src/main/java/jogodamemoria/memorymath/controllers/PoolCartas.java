@@ -0,0 +1,63 @@
+package jogodamemoria.memorymath.controllers;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Reserva de painéis de carta para reaproveitamento entre rodadas.
+ * Antes de uma grade ser repopulada, os painéis que estavam nela voltam para
+ * a reserva; a nova rodada retira painéis daqui e só cria nós novos quando o
+ * tabuleiro for maior que todos os anteriores.
+ *
+ * <p>Só guarda painéis no formato montado pelo {@link GameController}
+ * (verso, frente e rótulo). Quem retira um painel é responsável por
+ * reiniciar o seu estado visual.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class PoolCartas {
+
+    private static final int FILHOS_PAINEL = 3;
+
+    private final ArrayDeque<StackPane> livres = new ArrayDeque<>();
+    private int criados;
+
+    /**
+     * Retira um painel da reserva.
+     *
+     * @return Painel livre, ou null se a reserva estiver vazia
+     */
+    StackPane retirar() {
+        return livres.pollLast();
+    }
+
+    /**
+     * Informa que um painel novo foi criado fora da reserva e passará a ser
+     * devolvido a ela. Usado apenas para as estatísticas.
+     */
+    void registrarCriacao() {
+        criados++;
+    }
+
+    /**
+     * Devolve à reserva todos os painéis de carta da lista de nós.
+     * A lista em si não é alterada.
+     *
+     * @param nos Filhos de uma grade prestes a ser repopulada
+     */
+    void devolverTodos(List<Node> nos) {
+        for (int i = 0, n = nos.size(); i < n; i++) {
+            Node no = nos.get(i);
+            if (no instanceof StackPane && ((StackPane) no).getChildren().size() == FILHOS_PAINEL) {
+                livres.addLast((StackPane) no);
+            }
+        }
+    }
+
+    int getLivres() { return livres.size(); }
+
+    int getCriados() { return criados; }
+}
@@ -0,0 +1,75 @@
+package jogodamemoria.memorymath.controllers;
+
+import javafx.scene.layout.StackPane;
+import jogodamemoria.memorymath.model.Tabuleiro;
+
+/**
+ * Registro das cartas exibidas na tela do jogo.
+ * Liga o índice de cada carta no {@link Tabuleiro} ao seu painel, em um vetor
+ * preenchido uma única vez quando as grades são montadas. Tanto a busca do
+ * painel a partir do índice quanto o caminho inverso são de tempo constante.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class RegistroCartas {
+
+    private final Tabuleiro tabuleiro;
+    private final StackPane[] paineis;
+
+    /**
+     * Construtor da classe RegistroCartas.
+     *
+     * @param tabuleiro Tabuleiro da partida
+     */
+    RegistroCartas(Tabuleiro tabuleiro) {
+        this.tabuleiro = tabuleiro;
+        this.paineis = new StackPane[tabuleiro.getTotalCartas()];
+    }
+
+    /**
+     * Associa o painel à carta. O índice também fica guardado no próprio painel
+     * para que os tratadores de clique cheguem ao modelo sem busca.
+     *
+     * @param carta Índice da carta no tabuleiro
+     * @param painel Painel que representa a carta
+     */
+    void registrar(int carta, StackPane painel) {
+        paineis[carta] = painel;
+        painel.setUserData(carta);
+    }
+
+    /**
+     * Obtém o painel da carta.
+     *
+     * @param carta Índice da carta no tabuleiro
+     * @return Painel da carta, ou null se o índice não tiver painel registrado
+     */
+    StackPane getPainel(int carta) {
+        return carta >= 0 && carta < paineis.length ? paineis[carta] : null;
+    }
+
+    /**
+     * Obtém o índice da carta representada pelo painel.
+     *
+     * @param painel Painel registrado
+     * @return Índice da carta no tabuleiro
+     */
+    int getIndice(StackPane painel) {
+        return (Integer) painel.getUserData();
+    }
+
+    /**
+     * Obtém o estado atual da carta no modelo.
+     *
+     * @param carta Índice da carta no tabuleiro
+     * @return {@link Tabuleiro#OCULTA}, {@link Tabuleiro#REVELADA} ou {@link Tabuleiro#ENCONTRADA}
+     */
+    byte getEstado(int carta) {
+        return tabuleiro.getEstado(carta);
+    }
+
+    Tabuleiro getTabuleiro() { return tabuleiro; }
+
+    int getTamanho() { return paineis.length; }
+}
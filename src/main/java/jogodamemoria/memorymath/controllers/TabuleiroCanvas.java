@@ -0,0 +1,263 @@
+package jogodamemoria.memorymath.controllers;
+
+import java.util.Arrays;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import jogodamemoria.memorymath.model.Tabuleiro;
+
+/**
+ * Desenha as duas grades do tabuleiro em um único {@link Canvas}, como
+ * alternativa a um nó por carta para tabuleiros grandes.
+ *
+ * <p>A grade de operações fica à esquerda e a de resultados à direita, cada
+ * uma com o seu título. Só as células marcadas como sujas são redesenhadas,
+ * no máximo uma vez por quadro, e o clique é convertido em carta por conta
+ * aritmética sobre a posição, sem percorrer nós.</p>
+ *
+ * <p>As cores seguem as regras {@code .carta} do styles.css.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class TabuleiroCanvas {
+
+    private static final double ALTURA_TITULO = 32;
+    private static final double SEPARACAO_GRADES = 50;
+    private static final double RAIO_BORDA = 5;
+    private static final int TAMANHO_COMPACTO = 60;
+
+    private static final Color COR_BORDA = Color.BLACK;
+    private static final Color COR_ENCONTRADA = Color.web("#2ecc40");
+    private static final Color COR_ERRO = Color.web("#e74c3c");
+    private static final Color COR_DICA = Color.web("#f1c40f");
+    private static final Color COR_TEXTO = Color.WHITE;
+    private static final double OPACIDADE_ENCONTRADA = 0.7;
+
+    private final Canvas canvas;
+    private final GraphicsContext contexto;
+    private final AnimationTimer temporizador;
+
+    private Tabuleiro tabuleiro;
+    private Image imagemVerso;
+    private Image[] imagensFrente;
+    private Font fonteCarta;
+    private Font fonteTitulo;
+
+    private int linhas;
+    private int colunas;
+    private double tamanho;
+    private double espaco;
+    private double passo;
+    private double larguraGrade;
+
+    private boolean[] erros = new boolean[0];
+    private boolean[] sujas = new boolean[0];
+    private int[] filaSujas = new int[0];
+    private int quantidadeSujas;
+    private int dica = -1;
+    private boolean temporizadorAtivo;
+
+    /**
+     * Construtor da classe TabuleiroCanvas.
+     *
+     * @param canvas Canvas onde o tabuleiro será desenhado
+     */
+    TabuleiroCanvas(Canvas canvas) {
+        this.canvas = canvas;
+        this.contexto = canvas.getGraphicsContext2D();
+        this.temporizador = new AnimationTimer() {
+            @Override
+            public void handle(long agora) {
+                desenharSujas();
+            }
+        };
+    }
+
+    /**
+     * Prepara o canvas para um novo tabuleiro e o desenha por inteiro.
+     *
+     * @param tabuleiro Tabuleiro da partida
+     * @param tamanhoCarta Lado de cada carta, em pixels
+     * @param espacoCartas Espaço entre cartas vizinhas, em pixels
+     * @param verso Imagem do verso das cartas
+     * @param frentes Imagem da face de cada código de operação
+     */
+    void configurar(Tabuleiro tabuleiro, int tamanhoCarta, int espacoCartas, Image verso, Image[] frentes) {
+        this.tabuleiro = tabuleiro;
+        this.imagemVerso = verso;
+        this.imagensFrente = frentes;
+        this.linhas = tabuleiro.getLinhas();
+        this.colunas = tabuleiro.getColunas();
+        this.tamanho = tamanhoCarta;
+        this.espaco = espacoCartas;
+        this.passo = tamanho + espaco;
+        this.larguraGrade = colunas * passo - espaco;
+
+        String familia = Font.getDefault().getFamily();
+        this.fonteCarta = Font.font(familia, FontWeight.BOLD, Math.max(10, tamanhoCarta / 5));
+        this.fonteTitulo = Font.font(familia, FontWeight.BOLD, 18);
+
+        int total = tabuleiro.getTotalCartas();
+        if (sujas.length < total) {
+            erros = new boolean[total];
+            sujas = new boolean[total];
+            filaSujas = new int[total];
+        } else {
+            Arrays.fill(erros, false);
+            Arrays.fill(sujas, false);
+        }
+        quantidadeSujas = 0;
+        dica = -1;
+
+        canvas.setWidth(2 * larguraGrade + SEPARACAO_GRADES);
+        canvas.setHeight(ALTURA_TITULO + linhas * passo - espaco);
+        redesenharTudo();
+    }
+
+    /**
+     * Limpa o canvas e desenha títulos e todas as cartas.
+     */
+    void redesenharTudo() {
+        contexto.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        contexto.setFill(COR_TEXTO);
+        contexto.setFont(fonteTitulo);
+        contexto.setTextAlign(TextAlignment.CENTER);
+        contexto.setTextBaseline(VPos.CENTER);
+        contexto.fillText("OPERAÇÕES", larguraGrade / 2, ALTURA_TITULO / 2);
+        contexto.fillText("RESULTADOS", larguraGrade + SEPARACAO_GRADES + larguraGrade / 2, ALTURA_TITULO / 2);
+
+        for (int carta = 0; carta < tabuleiro.getTotalCartas(); carta++) {
+            desenharCarta(carta);
+        }
+        for (int i = 0; i < quantidadeSujas; i++) {
+            sujas[filaSujas[i]] = false;
+        }
+        quantidadeSujas = 0;
+    }
+
+    /**
+     * Agenda o redesenho de uma carta para o próximo quadro.
+     *
+     * @param carta Índice da carta no tabuleiro
+     * @param erroPar true para destacar a carta como parte de um par errado
+     */
+    void atualizar(int carta, boolean erroPar) {
+        erros[carta] = erroPar;
+        if (!sujas[carta]) {
+            sujas[carta] = true;
+            filaSujas[quantidadeSujas++] = carta;
+        }
+        if (!temporizadorAtivo) {
+            temporizadorAtivo = true;
+            temporizador.start();
+        }
+    }
+
+    /**
+     * Destaca uma carta oculta como dica, tirando o destaque da anterior.
+     *
+     * @param carta Índice da carta, ou -1 para não destacar nenhuma
+     */
+    void destacar(int carta) {
+        int anterior = dica;
+        dica = carta;
+        if (anterior >= 0) {
+            atualizar(anterior, erros[anterior]);
+        }
+        if (carta >= 0) {
+            atualizar(carta, erros[carta]);
+        }
+    }
+
+    /**
+     * Interrompe os redesenhos pendentes, por exemplo ao sair da tela.
+     */
+    void parar() {
+        temporizador.stop();
+        temporizadorAtivo = false;
+    }
+
+    /**
+     * Converte uma posição do canvas na carta desenhada ali.
+     *
+     * @param x Coordenada horizontal no canvas
+     * @param y Coordenada vertical no canvas
+     * @return Índice da carta, ou -1 se a posição cair fora das cartas
+     */
+    int cartaEm(double x, double y) {
+        if (tabuleiro == null) {
+            return -1;
+        }
+        double yGrade = y - ALTURA_TITULO;
+        boolean resultados = x >= larguraGrade + SEPARACAO_GRADES;
+        double xGrade = resultados ? x - larguraGrade - SEPARACAO_GRADES : x;
+        if (xGrade < 0 || yGrade < 0) {
+            return -1;
+        }
+        int coluna = (int) (xGrade / passo);
+        int linha = (int) (yGrade / passo);
+        if (coluna >= colunas || linha >= linhas
+                || xGrade - coluna * passo >= tamanho || yGrade - linha * passo >= tamanho) {
+            return -1;
+        }
+        return resultados ? tabuleiro.indiceResultado(linha, coluna) : tabuleiro.indiceOperacao(linha, coluna);
+    }
+
+    private void desenharSujas() {
+        for (int i = 0; i < quantidadeSujas; i++) {
+            int carta = filaSujas[i];
+            sujas[carta] = false;
+            desenharCarta(carta);
+        }
+        quantidadeSujas = 0;
+        parar();
+    }
+
+    private void desenharCarta(int carta) {
+        int posicao = tabuleiro.posicaoNaGrade(carta);
+        double x = (posicao % colunas) * passo + (tabuleiro.isResultado(carta) ? larguraGrade + SEPARACAO_GRADES : 0);
+        double y = ALTURA_TITULO + (posicao / colunas) * passo;
+        byte estado = tabuleiro.getEstado(carta);
+        boolean compacta = tamanho < TAMANHO_COMPACTO;
+
+        contexto.clearRect(x, y, tamanho, tamanho);
+        contexto.setGlobalAlpha(estado == Tabuleiro.ENCONTRADA ? OPACIDADE_ENCONTRADA : 1.0);
+        if (estado == Tabuleiro.OCULTA) {
+            contexto.drawImage(imagemVerso, x, y, tamanho, tamanho);
+        } else {
+            Image frente = imagensFrente[tabuleiro.getOperacao(carta)];
+            contexto.drawImage(frente != null ? frente : imagemVerso, x, y, tamanho, tamanho);
+            contexto.setFill(COR_TEXTO);
+            contexto.setFont(fonteCarta);
+            contexto.setTextAlign(TextAlignment.CENTER);
+            contexto.setTextBaseline(VPos.CENTER);
+            contexto.fillText(tabuleiro.getTexto(carta), x + tamanho / 2, y + tamanho / 2, tamanho - (compacta ? 4 : 20));
+        }
+
+        double largura;
+        if (estado == Tabuleiro.ENCONTRADA) {
+            contexto.setStroke(COR_ENCONTRADA);
+            largura = compacta ? 2 : 4;
+        } else if (erros[carta]) {
+            contexto.setStroke(COR_ERRO);
+            largura = compacta ? 2 : 4;
+        } else if (carta == dica && estado == Tabuleiro.OCULTA) {
+            contexto.setStroke(COR_DICA);
+            largura = compacta ? 2 : 4;
+        } else {
+            contexto.setStroke(COR_BORDA);
+            largura = compacta ? 1 : 2;
+        }
+        contexto.setLineWidth(largura);
+        double meio = largura / 2;
+        contexto.strokeRoundRect(x + meio, y + meio, tamanho - largura, tamanho - largura, RAIO_BORDA * 2, RAIO_BORDA * 2);
+        contexto.setGlobalAlpha(1.0);
+    }
+}
@@ -0,0 +1,99 @@
+package jogodamemoria.memorymath.model;
+
+/**
+ * Armazenamento primitivo de um baralho gerado pelo {@link Gerador}.
+ * Cada carta de operação ocupa uma posição nos vetores planos de operandos,
+ * resultados e código de operação, indexados por {@code linha * colunas + coluna}.
+ * Os acessores não alocam objetos.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class Baralho {
+
+    private final int linhas;
+    private final int colunas;
+    private final int[] operandos1;
+    private final int[] operandos2;
+    private final int[] resultados;
+    private final byte[] operacoes;
+
+    /**
+     * Construtor da classe Baralho.
+     *
+     * @param linhas Número de linhas do tabuleiro
+     * @param colunas Número de colunas do tabuleiro
+     */
+    public Baralho(int linhas, int colunas) {
+        if (linhas <= 0 || colunas <= 0) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + linhas + "x" + colunas);
+        }
+        int tamanho = linhas * colunas;
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.operandos1 = new int[tamanho];
+        this.operandos2 = new int[tamanho];
+        this.resultados = new int[tamanho];
+        this.operacoes = new byte[tamanho];
+    }
+
+    /**
+     * Grava uma carta de operação na posição indicada.
+     *
+     * @param indice Índice plano da carta
+     * @param operando1 Primeiro operando
+     * @param operando2 Segundo operando
+     * @param resultado Resultado da operação
+     * @param operacao Código da operação ({@link Gerador#SOMA}, etc.)
+     */
+    void definir(int indice, int operando1, int operando2, int resultado, int operacao) {
+        operandos1[indice] = operando1;
+        operandos2[indice] = operando2;
+        resultados[indice] = resultado;
+        operacoes[indice] = (byte) operacao;
+    }
+
+    /**
+     * Converte uma posição (linha, coluna) no índice plano correspondente.
+     *
+     * @param linha Linha da carta
+     * @param coluna Coluna da carta
+     * @return Índice plano
+     */
+    public int indice(int linha, int coluna) {
+        return linha * colunas + coluna;
+    }
+
+    public int getLinhas() { return linhas; }
+
+    public int getColunas() { return colunas; }
+
+    /**
+     * Obtém o número de cartas de operação do baralho.
+     *
+     * @return Número de cartas
+     */
+    public int getTamanho() { return resultados.length; }
+
+    public int getOperando1(int indice) { return operandos1[indice]; }
+
+    public int getOperando2(int indice) { return operandos2[indice]; }
+
+    public int getResultado(int indice) { return resultados[indice]; }
+
+    /**
+     * Obtém o código da operação da carta.
+     *
+     * @param indice Índice plano da carta
+     * @return Código da operação ({@link Gerador#SOMA}, etc.)
+     */
+    public int getOperacao(int indice) { return operacoes[indice]; }
+
+    public int getOperando1(int linha, int coluna) { return operandos1[indice(linha, coluna)]; }
+
+    public int getOperando2(int linha, int coluna) { return operandos2[indice(linha, coluna)]; }
+
+    public int getResultado(int linha, int coluna) { return resultados[indice(linha, coluna)]; }
+
+    public int getOperacao(int linha, int coluna) { return operacoes[indice(linha, coluna)]; }
+}
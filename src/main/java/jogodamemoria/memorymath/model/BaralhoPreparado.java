@@ -0,0 +1,68 @@
+package jogodamemoria.memorymath.model;
+
+/**
+ * Tabuleiro completo pronto para uso: o baralho de operações gerado a partir
+ * de um {@link CodigoPartida} e a ordem já embaralhada das cartas de resultado.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class BaralhoPreparado {
+
+    private final CodigoPartida codigo;
+    private final Gerador gerador;
+    private final int[] paresResultados;
+
+    private BaralhoPreparado(CodigoPartida codigo, Gerador gerador, int[] paresResultados) {
+        this.codigo = codigo;
+        this.gerador = gerador;
+        this.paresResultados = paresResultados;
+    }
+
+    /**
+     * Gera o tabuleiro descrito pelo código. O mesmo código produz sempre o mesmo tabuleiro.
+     *
+     * <p>Toda partida usa o modo de resultados únicos do {@link Gerador}
+     * quando o tamanho do tabuleiro e as operações permitem
+     * ({@link Gerador#suportaResultadosUnicos}); não há opção para desligá-lo.
+     * Com resultados repetidos um resultado forma par com mais de uma
+     * operação, o que confunde o jogador e a memória da IA. Isso muda a
+     * distribuição dos operandos em relação ao gerador sem a restrição: cada
+     * carta é sorteada de modo uniforme só entre os fatos cujo resultado
+     * ainda não saiu no baralho. Tabuleiros grandes demais para o modo, como
+     * 20 × 20 só de soma, seguem com o sorteio uniforme de todos os fatos.</p>
+     *
+     * @param codigo Código da partida
+     * @return Tabuleiro preparado
+     */
+    public static BaralhoPreparado gerar(CodigoPartida codigo) {
+        FontesAleatorias fontes = codigo.criarFontes();
+        int[] operacoes = codigo.getOperacoesEscolhidas();
+        boolean resultadosUnicos = Gerador.suportaResultadosUnicos(operacoes, codigo.getLinhas() * codigo.getColunas());
+        Gerador gerador = new Gerador(codigo.getLinhas(), codigo.getColunas(), operacoes,
+                resultadosUnicos, fontes.paraGerador());
+        int[] pares = gerador.embaralharPares(fontes.paraEmbaralhamento());
+        return new BaralhoPreparado(codigo, gerador, pares);
+    }
+
+    public CodigoPartida getCodigo() { return codigo; }
+
+    public Gerador getGerador() { return gerador; }
+
+    /**
+     * Obtém, para cada posição do grid de resultados, o índice da carta de
+     * operação que forma par com ela.
+     *
+     * @return Pares das cartas de resultado
+     */
+    public int[] getParesResultados() { return paresResultados; }
+
+    /**
+     * Cria o estado de jogo deste tabuleiro.
+     *
+     * @return Novo tabuleiro com todas as cartas ocultas
+     */
+    public Tabuleiro criarTabuleiro() {
+        return new Tabuleiro(gerador.getBaralho(), paresResultados);
+    }
+}
@@ -0,0 +1,354 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jogodamemoria.memorymath.util.Log;
+
+/**
+ * Escolhe a jogada da IA especialista simulando o resto da partida muitas
+ * vezes a partir de cada carta possível e ficando com a de maior saldo médio
+ * de pontos.
+ *
+ * <p>A busca trabalha sobre a {@link Posicao} que a IA conhece: quantos
+ * pares faltam e, de cada um, se a operação e o resultado já foram vistos.
+ * Cartas nunca vistas do mesmo lado são indistinguíveis para ela, então cada
+ * simulação sorteia o par que uma carta desconhecida revela no momento em que
+ * é virada. Os dois jogadores seguem, nas simulações, a política da IA
+ * difícil: par pronto primeiro, depois uma carta nunca vista.</p>
+ *
+ * <p>As simulações rodam em um {@link ForkJoinPool} próprio, com uma tarefa
+ * por núcleo. Cada tarefa tem os próprios contadores e a própria fonte
+ * aleatória, dividida da fonte da IA com {@link SplittableRandom#split()},
+ * e só junta os contadores aos das outras no fim, então a vazão cresce quase
+ * linearmente com o número de núcleos. A busca é de tempo livre: roda lotes
+ * até o prazo e responde com o que tiver medido até ali. Se o thread que
+ * pediu a busca for interrompido, as tarefas param no fim do lote em
+ * andamento e a busca é cancelada. O aviso chega às tarefas por uma marca
+ * compartilhada, já que elas rodam nos threads do pool e não no que
+ * chamou.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class BuscaMonteCarlo {
+
+    /** Jogada que vira uma carta ainda não vista do lado da vez. */
+    public static final int CARTA_DESCONHECIDA = -1;
+
+    private static final int SIMULACOES_POR_LOTE = 16;
+
+    private static BuscaMonteCarlo instance;
+
+    private final ForkJoinPool pool;
+    private final int tarefas;
+
+    /**
+     * Posição da partida como a IA a enxerga, com os pares numerados de 0 a
+     * {@code pares - 1}. Um par sem nenhuma carta vista é só um número.
+     */
+    public static final class Posicao {
+        private final int pares;
+        private final int parAberto;
+        private final boolean[] operacaoConhecida;
+        private final boolean[] resultadoConhecido;
+
+        /**
+         * @param pares Pares ainda não encontrados
+         * @param parAberto Par da operação já virada nesta jogada, ou -1 na primeira carta
+         */
+        public Posicao(int pares, int parAberto) {
+            this.pares = pares;
+            this.parAberto = parAberto;
+            this.operacaoConhecida = new boolean[pares];
+            this.resultadoConhecido = new boolean[pares];
+            if (parAberto >= 0) {
+                operacaoConhecida[parAberto] = true;
+            }
+        }
+
+        public void conhecerOperacao(int par) { operacaoConhecida[par] = true; }
+
+        public void conhecerResultado(int par) { resultadoConhecido[par] = true; }
+
+        public int getPares() { return pares; }
+
+        public int getParAberto() { return parAberto; }
+
+        public boolean isOperacaoConhecida(int par) { return operacaoConhecida[par]; }
+
+        public boolean isResultadoConhecido(int par) { return resultadoConhecido[par]; }
+    }
+
+    private BuscaMonteCarlo() {
+        this.tarefas = Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(tarefas);
+    }
+
+    /**
+     * Obtém a instância única da BuscaMonteCarlo (Singleton). Pode ser chamado
+     * de qualquer thread.
+     *
+     * @return Instância da BuscaMonteCarlo
+     */
+    public static synchronized BuscaMonteCarlo getInstance() {
+        if (instance == null) {
+            instance = new BuscaMonteCarlo();
+        }
+        return instance;
+    }
+
+    /**
+     * Avalia as jogadas até o prazo e devolve a melhor. Cada jogada recebe
+     * pelo menos um lote de simulações, mesmo com o prazo vencido.
+     *
+     * @param posicao Posição conhecida pela IA
+     * @param jogadas {@link #CARTA_DESCONHECIDA} ou o par de uma carta já
+     *        vista do lado da vez (na segunda carta, de um resultado que não
+     *        forma par com a operação aberta)
+     * @param prazoNanos Instante limite, na escala de {@link System#nanoTime()}
+     * @param random Fonte aleatória das simulações, dividida entre as tarefas
+     * @return Índice da melhor jogada em {@code jogadas}
+     * @throws CancellationException Se o thread que chamou for interrompido durante a busca
+     */
+    public int escolher(Posicao posicao, int[] jogadas, long prazoNanos, SplittableRandom random) {
+        if (jogadas.length == 1) {
+            return 0;
+        }
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Busca interrompida antes de começar");
+        }
+        long inicio = System.nanoTime();
+        AtomicBoolean cancelada = new AtomicBoolean();
+        ForkJoinTask<long[]> busca = pool.submit(new Lote(posicao, jogadas, prazoNanos, tarefas, cancelada, random));
+        long[] totais;
+        try {
+            totais = busca.get();
+        } catch (InterruptedException e) {
+            cancelada.set(true);
+            busca.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Busca interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IllegalStateException("Falha na busca", e.getCause());
+        }
+
+        int melhor = 0;
+        double melhorMedia = Double.NEGATIVE_INFINITY;
+        long simulacoes = 0;
+        for (int i = 0; i < jogadas.length; i++) {
+            long contagem = totais[2 * i + 1];
+            simulacoes += contagem;
+            double media = (double) totais[2 * i] / contagem;
+            if (media > melhorMedia) {
+                melhorMedia = media;
+                melhor = i;
+            }
+        }
+        long total = simulacoes;
+        double saldo = melhorMedia;
+        int escolhida = melhor;
+        Log.debug(() -> String.format("Busca: %d simulações em %.1f ms, jogada %d com saldo médio %.2f",
+                total, (System.nanoTime() - inicio) / 1e6, escolhida, saldo));
+        return melhor;
+    }
+
+    /**
+     * Indica se nenhuma tarefa de busca está rodando, inclusive as de uma
+     * busca já cancelada que ainda terminam o lote em andamento.
+     *
+     * @return true se o pool da busca estiver parado
+     */
+    public boolean isOciosa() {
+        return pool.isQuiescent();
+    }
+
+    /**
+     * Divide as tarefas ao meio até sobrar uma, que simula até o prazo ou
+     * até a busca ser cancelada.
+     * Devolve, para cada jogada, a soma dos saldos e o número de simulações.
+     */
+    private static final class Lote extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Posicao posicao;
+        private final int[] jogadas;
+        private final long prazoNanos;
+        private final int tarefas;
+        private final AtomicBoolean cancelada;
+        private final transient SplittableRandom random;
+
+        Lote(Posicao posicao, int[] jogadas, long prazoNanos, int tarefas, AtomicBoolean cancelada,
+             SplittableRandom random) {
+            this.posicao = posicao;
+            this.jogadas = jogadas;
+            this.prazoNanos = prazoNanos;
+            this.tarefas = tarefas;
+            this.cancelada = cancelada;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (tarefas > 1) {
+                Lote esquerda = new Lote(posicao, jogadas, prazoNanos, tarefas / 2, cancelada, random.split());
+                Lote direita = new Lote(posicao, jogadas, prazoNanos, tarefas - tarefas / 2, cancelada, random);
+                esquerda.fork();
+                long[] totais = direita.compute();
+                long[] outros = esquerda.join();
+                for (int i = 0; i < totais.length; i++) {
+                    totais[i] += outros[i];
+                }
+                return totais;
+            }
+
+            Simulacao simulacao = new Simulacao(posicao, random);
+            long[] totais = new long[2 * jogadas.length];
+            do {
+                for (int rodada = 0; rodada < SIMULACOES_POR_LOTE; rodada++) {
+                    for (int i = 0; i < jogadas.length; i++) {
+                        totais[2 * i] += simulacao.jogar(jogadas[i]);
+                        totais[2 * i + 1]++;
+                    }
+                }
+            } while (System.nanoTime() < prazoNanos && !cancelada.get());
+            return totais;
+        }
+    }
+
+    /**
+     * Estado de uma partida simulada. Os vetores são reaproveitados entre as
+     * simulações da mesma tarefa, sem alocação.
+     */
+    private static final class Simulacao {
+        private final Posicao inicial;
+        private final boolean[] operacaoConhecida;
+        private final boolean[] resultadoConhecido;
+        private final boolean[] encontrado;
+        private final int[] operacoesOcultas;
+        private final int[] resultadosOcultos;
+        private int quantidadeOperacoes;
+        private int quantidadeResultados;
+        private int restantes;
+        private int saldo;
+        private boolean vezDaIA;
+        private final SplittableRandom random;
+
+        Simulacao(Posicao inicial, SplittableRandom random) {
+            this.inicial = inicial;
+            this.random = random;
+            int pares = inicial.pares;
+            this.operacaoConhecida = new boolean[pares];
+            this.resultadoConhecido = new boolean[pares];
+            this.encontrado = new boolean[pares];
+            this.operacoesOcultas = new int[pares];
+            this.resultadosOcultos = new int[pares];
+        }
+
+        /**
+         * Faz a jogada da IA e simula a partida até o fim.
+         *
+         * @return Pontos da IA menos pontos do adversário a partir daqui
+         */
+        int jogar(int jogada) {
+            reiniciar();
+            int parAberto = inicial.parAberto;
+            if (parAberto < 0) {
+                int operacao = jogada == CARTA_DESCONHECIDA ? virarOperacaoOculta() : jogada;
+                segundaCarta(operacao);
+            } else if (jogada == CARTA_DESCONHECIDA) {
+                concluir(parAberto, virarResultadoOculto());
+            } else {
+                concluir(parAberto, jogada);
+            }
+            while (restantes > 0) {
+                jogarTurno();
+            }
+            return saldo;
+        }
+
+        private void reiniciar() {
+            System.arraycopy(inicial.operacaoConhecida, 0, operacaoConhecida, 0, inicial.pares);
+            System.arraycopy(inicial.resultadoConhecido, 0, resultadoConhecido, 0, inicial.pares);
+            quantidadeOperacoes = 0;
+            quantidadeResultados = 0;
+            for (int par = 0; par < inicial.pares; par++) {
+                encontrado[par] = false;
+                if (!operacaoConhecida[par]) {
+                    operacoesOcultas[quantidadeOperacoes++] = par;
+                }
+                if (!resultadoConhecido[par]) {
+                    resultadosOcultos[quantidadeResultados++] = par;
+                }
+            }
+            restantes = inicial.pares;
+            saldo = 0;
+            vezDaIA = true;
+        }
+
+        /**
+         * Uma jogada completa pela política da IA difícil, com o
+         * conhecimento comum aos dois jogadores.
+         */
+        private void jogarTurno() {
+            int operacao = -1;
+            int semResultado = -1;
+            for (int par = 0; par < inicial.pares; par++) {
+                if (!encontrado[par] && operacaoConhecida[par]) {
+                    if (resultadoConhecido[par]) {
+                        operacao = par;
+                        break;
+                    }
+                    semResultado = par;
+                }
+            }
+            if (operacao < 0) {
+                operacao = quantidadeOperacoes > 0 ? virarOperacaoOculta() : semResultado;
+            }
+            segundaCarta(operacao);
+        }
+
+        private void segundaCarta(int operacao) {
+            concluir(operacao, resultadoConhecido[operacao] ? operacao : virarResultadoOculto());
+        }
+
+        private void concluir(int operacao, int resultado) {
+            if (operacao == resultado) {
+                encontrado[operacao] = true;
+                restantes--;
+                pontuar(MotorJogo.PONTOS_ACERTO);
+            } else {
+                pontuar(MotorJogo.PONTOS_ERRO);
+                vezDaIA = !vezDaIA;
+            }
+        }
+
+        private void pontuar(int pontos) {
+            saldo += vezDaIA ? pontos : -pontos;
+        }
+
+        private int virarOperacaoOculta() {
+            int posicao = random.nextInt(quantidadeOperacoes);
+            int par = operacoesOcultas[posicao];
+            operacoesOcultas[posicao] = operacoesOcultas[--quantidadeOperacoes];
+            operacaoConhecida[par] = true;
+            return par;
+        }
+
+        private int virarResultadoOculto() {
+            int posicao = random.nextInt(quantidadeResultados);
+            int par = resultadosOcultos[posicao];
+            resultadosOcultos[posicao] = resultadosOcultos[--quantidadeResultados];
+            resultadoConhecido[par] = true;
+            return par;
+        }
+    }
+}
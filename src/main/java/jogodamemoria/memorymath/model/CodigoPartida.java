@@ -0,0 +1,195 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Código curto que reconstrói exatamente o tabuleiro de uma partida.
+ * Reúne a semente (40 bits), as operações ativas (4 bits), as dimensões do
+ * tabuleiro (6 bits cada) e uma soma de verificação (4 bits), escritos em
+ * 12 caracteres base 32 no formato {@code XXXX-XXXX-XXXX}.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class CodigoPartida {
+
+    private static final String ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int CARACTERES = 12;
+    private static final int BITS_SEMENTE = 40;
+    private static final long MASCARA_SEMENTE = (1L << BITS_SEMENTE) - 1;
+    private static final int DIMENSAO_MAXIMA = 63;
+
+    private static final SplittableRandom SEMENTES = new SplittableRandom();
+
+    private final long semente;
+    private final int mascaraOperacoes;
+    private final int linhas;
+    private final int colunas;
+
+    /**
+     * Construtor da classe CodigoPartida.
+     *
+     * @param semente Semente da partida (apenas os 40 bits inferiores são usados)
+     * @param mascaraOperacoes Bit {@code 1 << operacao} ligado para cada operação ativa
+     * @param linhas Número de linhas do tabuleiro
+     * @param colunas Número de colunas do tabuleiro
+     */
+    public CodigoPartida(long semente, int mascaraOperacoes, int linhas, int colunas) {
+        if (mascaraOperacoes <= 0 || mascaraOperacoes > 0xF) {
+            throw new IllegalArgumentException("Operações inválidas: " + mascaraOperacoes);
+        }
+        if (linhas < 1 || linhas > DIMENSAO_MAXIMA || colunas < 1 || colunas > DIMENSAO_MAXIMA) {
+            throw new IllegalArgumentException("Dimensões inválidas: " + linhas + "x" + colunas);
+        }
+        this.semente = semente & MASCARA_SEMENTE;
+        this.mascaraOperacoes = mascaraOperacoes;
+        this.linhas = linhas;
+        this.colunas = colunas;
+    }
+
+    /**
+     * Cria um código com uma semente nova.
+     *
+     * @param operacoes Operações selecionadas
+     * @param linhas Número de linhas do tabuleiro
+     * @param colunas Número de colunas do tabuleiro
+     * @return Novo código de partida
+     */
+    public static CodigoPartida novo(List<Card.OperationType> operacoes, int linhas, int colunas) {
+        long semente;
+        synchronized (SEMENTES) {
+            semente = SEMENTES.nextLong();
+        }
+        return new CodigoPartida(semente, mascaraDe(operacoes), linhas, colunas);
+    }
+
+    /**
+     * Converte uma lista de operações na máscara de bits usada pelo código.
+     *
+     * @param operacoes Operações selecionadas
+     * @return Máscara de operações
+     */
+    public static int mascaraDe(List<Card.OperationType> operacoes) {
+        int mascara = 0;
+        for (Card.OperationType operacao : operacoes) {
+            mascara |= 1 << operacao.ordinal();
+        }
+        return mascara;
+    }
+
+    /**
+     * Lê um código no formato {@code XXXX-XXXX-XXXX}. Hífens, espaços e letras
+     * minúsculas são aceitos; as letras O, I e L são lidas como 0, 1 e 1.
+     *
+     * @param texto Código digitado
+     * @return Código decodificado
+     * @throws IllegalArgumentException se o código for inválido
+     */
+    public static CodigoPartida decodificar(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("Código vazio");
+        }
+        String normalizado = texto.toUpperCase()
+                .replace("-", "").replace(" ", "")
+                .replace('O', '0').replace('I', '1').replace('L', '1');
+        if (normalizado.length() != CARACTERES) {
+            throw new IllegalArgumentException("O código deve ter " + CARACTERES + " caracteres");
+        }
+        long valor = 0;
+        for (int i = 0; i < CARACTERES; i++) {
+            int digito = ALFABETO.indexOf(normalizado.charAt(i));
+            if (digito < 0) {
+                throw new IllegalArgumentException("Caractere inválido no código: " + normalizado.charAt(i));
+            }
+            valor = (valor << 5) | digito;
+        }
+        int verificacao = (int) (valor & 0xF);
+        long dados = valor >>> 4;
+        if (verificacao != somaVerificacao(dados)) {
+            throw new IllegalArgumentException("Código inválido");
+        }
+        long semente = dados & MASCARA_SEMENTE;
+        int mascara = (int) ((dados >>> 40) & 0xF);
+        int linhas = (int) ((dados >>> 44) & 0x3F);
+        int colunas = (int) ((dados >>> 50) & 0x3F);
+        return new CodigoPartida(semente, mascara, linhas, colunas);
+    }
+
+    /**
+     * Escreve o código no formato {@code XXXX-XXXX-XXXX}.
+     *
+     * @return Código textual
+     */
+    public String codificar() {
+        long dados = semente
+                | ((long) mascaraOperacoes << 40)
+                | ((long) linhas << 44)
+                | ((long) colunas << 50);
+        long valor = (dados << 4) | somaVerificacao(dados);
+        StringBuilder texto = new StringBuilder(CARACTERES + 2);
+        for (int i = CARACTERES - 1; i >= 0; i--) {
+            texto.append(ALFABETO.charAt((int) ((valor >>> (5 * i)) & 0x1F)));
+            if (i > 0 && i % 4 == 0) {
+                texto.append('-');
+            }
+        }
+        return texto.toString();
+    }
+
+    private static int somaVerificacao(long dados) {
+        long h = dados * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 60);
+    }
+
+    /**
+     * Cria as fontes aleatórias da partida a partir da semente do código.
+     *
+     * @return Fontes aleatórias
+     */
+    public FontesAleatorias criarFontes() {
+        return new FontesAleatorias(semente);
+    }
+
+    /**
+     * Obtém as operações ativas no formato esperado pelo {@link Gerador}.
+     *
+     * @return Vetor com 1 nas operações ativas
+     */
+    public int[] getOperacoesEscolhidas() {
+        int[] operacoes = new int[4];
+        for (int i = 0; i < operacoes.length; i++) {
+            operacoes[i] = (mascaraOperacoes >>> i) & 1;
+        }
+        return operacoes;
+    }
+
+    /**
+     * Obtém as operações ativas como tipos de carta.
+     *
+     * @return Lista de operações
+     */
+    public List<Card.OperationType> getOperacoes() {
+        List<Card.OperationType> operacoes = new ArrayList<>();
+        for (Card.OperationType tipo : Card.OperationType.values()) {
+            if ((mascaraOperacoes & (1 << tipo.ordinal())) != 0) {
+                operacoes.add(tipo);
+            }
+        }
+        return operacoes;
+    }
+
+    public long getSemente() { return semente; }
+
+    public int getMascaraOperacoes() { return mascaraOperacoes; }
+
+    public int getLinhas() { return linhas; }
+
+    public int getColunas() { return colunas; }
+
+    @Override
+    public String toString() {
+        return codificar();
+    }
+}
@@ -0,0 +1,264 @@
+package jogodamemoria.memorymath.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exportação em massa de problemas matemáticos para arquivo, usando as mesmas
+ * tabelas de fatos do {@link Gerador}. A geração é dividida em fork/join, com um
+ * {@link SplittableRandom} dividido para cada tarefa, e cada trabalhador escreve
+ * lotes de tamanho fixo no {@link FileChannel} através de um buffer reutilizado,
+ * de modo que a memória usada não depende da quantidade de problemas.
+ *
+ * <p>Formato binário: cabeçalho {@code "MMP1"}, quantidade ({@code long}) e um
+ * registro de 7 bytes por problema (operação, operando 1, operando 2 e resultado,
+ * os três últimos como {@code short}, little-endian). Os registros ficam na ordem
+ * dos índices e o arquivo é idêntico para a mesma semente.</p>
+ *
+ * <p>Formato CSV: {@code indice,operando1,operacao,operando2,resultado}. Os lotes
+ * são anexados na ordem em que terminam, por isso cada linha leva o seu índice.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class ExportadorProblemas {
+
+    /**
+     * Formatos de saída suportados.
+     */
+    public enum Formato { CSV, BINARIO }
+
+    private static final int PROBLEMAS_POR_LOTE = 8192;
+    private static final int BYTES_REGISTRO = 7;
+    private static final int BYTES_CABECALHO = 12;
+    private static final int BYTES_MAXIMOS_LINHA_CSV = 48;
+    private static final byte[] CABECALHO_CSV = "indice,operando1,operacao,operando2,resultado\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] SIMBOLOS = {
+            "+".getBytes(StandardCharsets.UTF_8),
+            "-".getBytes(StandardCharsets.UTF_8),
+            "×".getBytes(StandardCharsets.UTF_8),
+            "÷".getBytes(StandardCharsets.UTF_8)
+    };
+
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() ->
+            ByteBuffer.allocateDirect(PROBLEMAS_POR_LOTE * BYTES_MAXIMOS_LINHA_CSV).order(ByteOrder.LITTLE_ENDIAN));
+
+    private ExportadorProblemas() {}
+
+    /**
+     * Gera e grava problemas usando todos os processadores disponíveis.
+     *
+     * @param destino Arquivo de saída (sobrescrito se existir)
+     * @param quantidade Número de problemas
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param semente Semente da geração
+     * @param formato Formato do arquivo
+     * @throws IOException se houver erro de escrita
+     */
+    public static void exportar(Path destino, long quantidade, int[] operacoesEscolhidas,
+                                long semente, Formato formato) throws IOException {
+        exportar(destino, quantidade, operacoesEscolhidas, semente, formato,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gera e grava problemas com o paralelismo informado.
+     *
+     * @param destino Arquivo de saída (sobrescrito se existir)
+     * @param quantidade Número de problemas
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param semente Semente da geração
+     * @param formato Formato do arquivo
+     * @param paralelismo Número de trabalhadores do fork/join
+     * @throws IOException se houver erro de escrita
+     */
+    public static void exportar(Path destino, long quantidade, int[] operacoesEscolhidas,
+                                long semente, Formato formato, int paralelismo) throws IOException {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade inválida: " + quantidade);
+        }
+        TabelaFatos[] tabelas = tabelasAtivas(operacoesEscolhidas);
+
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(Math.max(BYTES_CABECALHO, CABECALHO_CSV.length))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (formato == Formato.BINARIO) {
+                cabecalho.put((byte) 'M').put((byte) 'M').put((byte) 'P').put((byte) '1').putLong(quantidade);
+            } else {
+                cabecalho.put(CABECALHO_CSV);
+            }
+            cabecalho.flip();
+            escreverTudo(canal, cabecalho, 0);
+
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, paralelismo));
+            try {
+                pool.invoke(new Tarefa(canal, formato, tabelas, 0, quantidade, new SplittableRandom(semente)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static TabelaFatos[] tabelasAtivas(int[] operacoesEscolhidas) {
+        int total = 0;
+        for (int ativa : operacoesEscolhidas) {
+            if (ativa == 1) total++;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Nenhuma operação selecionada");
+        }
+        TabelaFatos[] tabelas = new TabelaFatos[total];
+        int i = 0;
+        for (int operacao = 0; operacao < operacoesEscolhidas.length; operacao++) {
+            if (operacoesEscolhidas[operacao] == 1) {
+                tabelas[i++] = TabelaFatos.de(operacao);
+            }
+        }
+        return tabelas;
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicao += canal.write(buffer, posicao);
+        }
+    }
+
+    /**
+     * Tarefa fork/join que gera os problemas do intervalo [inicio, fim).
+     * A divisão do gerador aleatório acontece sempre no mesmo ponto da árvore,
+     * por isso o resultado não depende do escalonamento.
+     */
+    private static final class Tarefa extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel canal;
+        private final Formato formato;
+        private final transient TabelaFatos[] tabelas;
+        private final long inicio;
+        private final long fim;
+        private final transient SplittableRandom random;
+
+        Tarefa(FileChannel canal, Formato formato, TabelaFatos[] tabelas, long inicio, long fim, SplittableRandom random) {
+            this.canal = canal;
+            this.formato = formato;
+            this.tabelas = tabelas;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio > PROBLEMAS_POR_LOTE) {
+                long lotes = (fim - inicio + PROBLEMAS_POR_LOTE - 1) / PROBLEMAS_POR_LOTE;
+                long meio = inicio + (lotes / 2) * PROBLEMAS_POR_LOTE;
+                SplittableRandom esquerda = random.split();
+                invokeAll(new Tarefa(canal, formato, tabelas, inicio, meio, esquerda),
+                        new Tarefa(canal, formato, tabelas, meio, fim, random));
+                return;
+            }
+            ByteBuffer buffer = BUFFERS.get();
+            buffer.clear();
+            for (long indice = inicio; indice < fim; indice++) {
+                TabelaFatos tabela = tabelas[tabelas.length == 1 ? 0 : random.nextInt(tabelas.length)];
+                int fato = tabela.sortear(random);
+                if (formato == Formato.BINARIO) {
+                    buffer.put((byte) tabela.getOperacao())
+                            .putShort((short) TabelaFatos.operando1(fato))
+                            .putShort((short) TabelaFatos.operando2(fato))
+                            .putShort((short) TabelaFatos.resultado(fato));
+                } else {
+                    escreverLinhaCsv(buffer, indice, tabela.getOperacao(), fato);
+                }
+            }
+            buffer.flip();
+            try {
+                if (formato == Formato.BINARIO) {
+                    escreverTudo(canal, buffer, BYTES_CABECALHO + inicio * BYTES_REGISTRO);
+                } else {
+                    synchronized (canal) {
+                        escreverTudo(canal, buffer, canal.size());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void escreverLinhaCsv(ByteBuffer buffer, long indice, int operacao, int fato) {
+        escreverNumero(buffer, indice);
+        buffer.put((byte) ',');
+        escreverNumero(buffer, TabelaFatos.operando1(fato));
+        buffer.put((byte) ',');
+        buffer.put(SIMBOLOS[operacao]);
+        buffer.put((byte) ',');
+        escreverNumero(buffer, TabelaFatos.operando2(fato));
+        buffer.put((byte) ',');
+        escreverNumero(buffer, TabelaFatos.resultado(fato));
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Escreve um número decimal em ASCII sem criar objetos.
+     */
+    private static void escreverNumero(ByteBuffer buffer, long valor) {
+        if (valor == 0) {
+            buffer.put((byte) '0');
+            return;
+        }
+        long divisor = 1;
+        while (valor / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            buffer.put((byte) ('0' + (valor / divisor) % 10));
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Uso: {@code ExportadorProblemas <arquivo> <quantidade> [csv|bin] [semente] [operacoes]},
+     * onde operacoes é uma lista como {@code +-x/}.
+     *
+     * @param args Argumentos da linha de comando
+     * @throws IOException se houver erro de escrita
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ExportadorProblemas <arquivo> <quantidade> [csv|bin] [semente] [+-x/]");
+            return;
+        }
+        Path destino = Paths.get(args[0]);
+        long quantidade = Long.parseLong(args[1]);
+        Formato formato = args.length > 2 && args[2].equalsIgnoreCase("bin") ? Formato.BINARIO : Formato.CSV;
+        long semente = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        int[] operacoes = {1, 1, 1, 1};
+        if (args.length > 4) {
+            String simbolos = args[4];
+            operacoes = new int[] {
+                    simbolos.indexOf('+') >= 0 ? 1 : 0,
+                    simbolos.indexOf('-') >= 0 ? 1 : 0,
+                    simbolos.indexOf('x') >= 0 || simbolos.indexOf('*') >= 0 ? 1 : 0,
+                    simbolos.indexOf('/') >= 0 ? 1 : 0
+            };
+        }
+        long inicio = System.nanoTime();
+        exportar(destino, quantidade, operacoes, semente, formato);
+        System.out.printf("%d problemas gravados em %s (%.1f ms, semente %d)%n",
+                quantidade, destino, (System.nanoTime() - inicio) / 1e6, semente);
+    }
+}
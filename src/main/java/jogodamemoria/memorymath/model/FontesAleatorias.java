@@ -0,0 +1,56 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fontes de números aleatórios de uma partida, derivadas de uma única semente.
+ * A semente alimenta um {@link SplittableRandom} raiz que é dividido, sempre na
+ * mesma ordem, em um fluxo independente para cada consumidor. Assim a mesma
+ * semente reproduz o mesmo baralho, o mesmo embaralhamento e as mesmas jogadas da IA.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class FontesAleatorias {
+
+    private final long semente;
+    private final SplittableRandom gerador;
+    private final SplittableRandom embaralhamento;
+    private final SplittableRandom ia;
+
+    /**
+     * Construtor da classe FontesAleatorias.
+     *
+     * @param semente Semente da partida
+     */
+    public FontesAleatorias(long semente) {
+        this.semente = semente;
+        SplittableRandom raiz = new SplittableRandom(semente);
+        this.gerador = raiz.split();
+        this.embaralhamento = raiz.split();
+        this.ia = raiz.split();
+    }
+
+    public long getSemente() { return semente; }
+
+    /**
+     * Fluxo usado pelo {@link Gerador} para sortear as cartas.
+     *
+     * @return Gerador aleatório do baralho
+     */
+    public SplittableRandom paraGerador() { return gerador; }
+
+    /**
+     * Fluxo usado para embaralhar as cartas de resultado.
+     *
+     * @return Gerador aleatório do embaralhamento
+     */
+    public SplittableRandom paraEmbaralhamento() { return embaralhamento; }
+
+    /**
+     * Fluxo usado pelas escolhas aleatórias da IA.
+     *
+     * @return Gerador aleatório da IA
+     */
+    public SplittableRandom paraIA() { return ia; }
+}
@@ -1,34 +1,88 @@
 package jogodamemoria.memorymath.model;
 
-import java.util.Random;
-import java.util.Collections;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import jogodamemoria.memorymath.util.Log;
 
 public class Gerador {
+    private final Baralho baralho;
     private Integer[][] matrizGeradaOps1;
     private Integer[][] matrizGeradaOps2;
     private Integer[][] matrizGeradaRes;
-    private Random random = new Random();
+    private final RandomGenerator random;
     private int[] operacoesEscolhidas;
+    private final TabelaFatos[] tabelas;
+    private final boolean resultadosUnicos;
 
     public static final int SOMA = 0;
     public static final int SUBTRACAO = 1;
     public static final int MULTIPLICACAO = 2;
     public static final int DIVISAO = 3;
 
+    private static final int OPERANDO1 = 0;
+    private static final int OPERANDO2 = 1;
+    private static final int RESULTADO = 2;
+
+    private static final int TENTATIVAS_SORTEIO_UNICO = 16;
+    private static final int TENTATIVAS_BARALHO_UNICO = 8;
+
     public Gerador(int tamanhoMatrizL, int tamanhoMatrizC, int[] operacoesEscolhidas) {
+        this(tamanhoMatrizL, tamanhoMatrizC, operacoesEscolhidas, false);
+    }
+
+    /**
+     * Cria um gerador com as tabelas completas de cada operação.
+     *
+     * @param tamanhoMatrizL Número de linhas
+     * @param tamanhoMatrizC Número de colunas
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param resultadosUnicos true para evitar que um resultado se repita no baralho
+     */
+    public Gerador(int tamanhoMatrizL, int tamanhoMatrizC, int[] operacoesEscolhidas, boolean resultadosUnicos) {
+        this(tamanhoMatrizL, tamanhoMatrizC, operacoesEscolhidas, tabelasPadrao(), resultadosUnicos, new SplittableRandom());
+    }
+
+    /**
+     * Cria um gerador reprodutível: a mesma fonte aleatória gera sempre o mesmo baralho.
+     *
+     * @param tamanhoMatrizL Número de linhas
+     * @param tamanhoMatrizC Número de colunas
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param resultadosUnicos true para evitar que um resultado se repita no baralho
+     * @param random Fonte aleatória do baralho, normalmente {@link FontesAleatorias#paraGerador()}
+     */
+    public Gerador(int tamanhoMatrizL, int tamanhoMatrizC, int[] operacoesEscolhidas,
+                   boolean resultadosUnicos, RandomGenerator random) {
+        this(tamanhoMatrizL, tamanhoMatrizC, operacoesEscolhidas, tabelasPadrao(), resultadosUnicos, random);
+    }
+
+    /**
+     * Cria um gerador que sorteia as cartas das tabelas informadas, permitindo
+     * restringir intervalos ou dificuldade com {@link TabelaFatos#filtrarPorResultado}.
+     *
+     * @param tamanhoMatrizL Número de linhas
+     * @param tamanhoMatrizC Número de colunas
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param tabelas Tabela de fatos de cada operação, indexada pelo código da operação
+     * @param resultadosUnicos true para evitar que um resultado se repita no baralho
+     * @param random Fonte aleatória do baralho
+     * @throws IllegalArgumentException se não houver resultados distintos suficientes
+     */
+    public Gerador(int tamanhoMatrizL, int tamanhoMatrizC, int[] operacoesEscolhidas,
+                   TabelaFatos[] tabelas, boolean resultadosUnicos, RandomGenerator random) {
+        this.random = random;
         this.operacoesEscolhidas = operacoesEscolhidas;
-        this.matrizGeradaOps1 = new Integer[tamanhoMatrizL][tamanhoMatrizC];
-        this.matrizGeradaOps2 = new Integer[tamanhoMatrizL][tamanhoMatrizC];
-        this.matrizGeradaRes = new Integer[tamanhoMatrizL][tamanhoMatrizC];
+        this.tabelas = tabelas;
+        this.resultadosUnicos = resultadosUnicos;
+        this.baralho = new Baralho(tamanhoMatrizL, tamanhoMatrizC);
         gerarMatrizOperacoes();
     }
 
     private void gerarMatrizOperacoes() {
-        int linhas = matrizGeradaRes.length;
-        int colunas = matrizGeradaRes[0].length;
-        int totalCartas = linhas * colunas;
+        int totalCartas = baralho.getTamanho();
 
         List<Integer> operacoesAtivas = new ArrayList<>();
         for (int i = 0; i < operacoesEscolhidas.length; i++) {
@@ -41,37 +95,36 @@ public class Gerador {
         int cartasPorOperacao = totalCartas / numOperacoes;
         int cartasRestantes = totalCartas % numOperacoes;
         
-        System.out.println("=== DISTRIBUIÇÃO DE OPERAÇÕES ===");
-        System.out.println("Total de cartas: " + totalCartas);
-        System.out.println("Número de operações: " + numOperacoes);
-        System.out.println("Cartas por operação: " + cartasPorOperacao);
-        System.out.println("Cartas restantes: " + cartasRestantes);
+        Log.debug("=== DISTRIBUIÇÃO DE OPERAÇÕES ===");
+        Log.debug(() -> "Total de cartas: " + totalCartas);
+        Log.debug(() -> "Número de operações: " + numOperacoes);
+        Log.debug(() -> "Cartas por operação: " + cartasPorOperacao);
+        Log.debug(() -> "Cartas restantes: " + cartasRestantes);
 
-        List<Integer> operacoesDistribuidas = new ArrayList<>();
+        int[] operacoesDistribuidas = new int[totalCartas];
+        int posicao = 0;
         for (int i = 0; i < numOperacoes; i++) {
             int operacao = operacoesAtivas.get(i);
             int quantidade = cartasPorOperacao + (i < cartasRestantes ? 1 : 0);
             
             for (int j = 0; j < quantidade; j++) {
-                operacoesDistribuidas.add(operacao);
+                operacoesDistribuidas[posicao++] = operacao;
             }
             
-            System.out.println("Operação " + getNomeOperacao(operacao) + ": " + quantidade + " cartas");
+            Log.debug("Operação %s: %d cartas", getNomeOperacao(operacao), quantidade);
         }
 
-        Collections.shuffle(operacoesDistribuidas);
+        embaralhar(operacoesDistribuidas, random);
 
-        int index = 0;
-        for (int i = 0; i < linhas; i++) {
-            for (int j = 0; j < colunas; j++) {
-                if (index < operacoesDistribuidas.size()) {
-                    int tipoOperacao = operacoesDistribuidas.get(index++);
-                    gerarOperacao(i, j, tipoOperacao);
-                }
+        if (resultadosUnicos) {
+            gerarComResultadosUnicos(operacoesAtivas, operacoesDistribuidas);
+        } else {
+            for (int indice = 0; indice < totalCartas; indice++) {
+                gerarOperacao(indice, operacoesDistribuidas[indice]);
             }
         }
         
-        System.out.println("=== FIM DA DISTRIBUIÇÃO ===\n");
+        Log.debug("=== FIM DA DISTRIBUIÇÃO ===");
     }
 
     private String getNomeOperacao(int operacao) {
@@ -84,108 +137,306 @@ public class Gerador {
         }
     }
 
-    private void gerarOperacao(int i, int j, int tipoOperacao) {
-        switch (tipoOperacao) {
-            case SOMA:
-                gerarSoma(i, j);
-                break;
-            case SUBTRACAO:
-                gerarSubtracao(i, j);
-                break;
-            case MULTIPLICACAO:
-                gerarMultiplicacao(i, j);
-                break;
-            case DIVISAO:
-                gerarDivisao(i, j);
-                break;
+    private void gerarOperacao(int indice, int tipoOperacao) {
+        int fato = tabelas[tipoOperacao].sortear(random);
+        baralho.definir(indice,
+                TabelaFatos.operando1(fato),
+                TabelaFatos.operando2(fato),
+                TabelaFatos.resultado(fato),
+                tipoOperacao);
+    }
+
+    /**
+     * Gera o baralho garantindo resultados distintos entre todas as cartas.
+     * Os resultados já usados ficam em um conjunto de bits, consultado em tempo
+     * constante. As operações com menos resultados possíveis são preenchidas
+     * primeiro para reduzir becos sem saída.
+     *
+     * <p>{@link #suportaResultadosUnicos} só descarta os tamanhos impossíveis
+     * pelas contagens; o preenchimento ainda pode ficar sem saída quando as
+     * operações disputam os mesmos resultados. Se isso acontecer em todas as
+     * tentativas, o baralho é gerado sem a restrição em vez de falhar, já
+     * que o mesmo código de partida repetiria sempre a mesma falha.</p>
+     */
+    private void gerarComResultadosUnicos(List<Integer> operacoesAtivas, int[] operacoesDistribuidas) {
+        if (!suportaResultadosUnicos(operacoesEscolhidas, baralho.getTamanho(), tabelas)) {
+            throw new IllegalArgumentException("Não há resultados distintos suficientes para " + baralho.getTamanho() + " cartas");
+        }
+
+        List<Integer> ordem = new ArrayList<>(operacoesAtivas);
+        ordem.sort((a, b) -> Integer.compare(
+                tabelas[a].getQuantidadeResultadosDistintos(), tabelas[b].getQuantidadeResultadosDistintos()));
+
+        long[] usados = new long[(resultadoMaximo(tabelas) >>> 6) + 1];
+        for (int tentativa = 0; tentativa < TENTATIVAS_BARALHO_UNICO; tentativa++) {
+            Arrays.fill(usados, 0L);
+            if (preencherResultadosUnicos(ordem, operacoesDistribuidas, usados)) {
+                return;
+            }
+        }
+        Log.aviso("Sem baralho com resultados distintos após %d tentativas; gerando com repetições",
+                TENTATIVAS_BARALHO_UNICO);
+        for (int indice = 0; indice < operacoesDistribuidas.length; indice++) {
+            gerarOperacao(indice, operacoesDistribuidas[indice]);
         }
     }
 
-    private void gerarSoma(int i, int j) {
-        int a = random.nextInt(101);
-        int b = random.nextInt(101);
-        matrizGeradaOps1[i][j] = a;
-        matrizGeradaOps2[i][j] = b;
-        matrizGeradaRes[i][j] = a + b;
+    private boolean preencherResultadosUnicos(List<Integer> ordem, int[] operacoesDistribuidas, long[] usados) {
+        for (int operacao : ordem) {
+            TabelaFatos tabela = tabelas[operacao];
+            for (int indice = 0; indice < operacoesDistribuidas.length; indice++) {
+                if (operacoesDistribuidas[indice] != operacao) {
+                    continue;
+                }
+                int fato = sortearFatoLivre(tabela, usados);
+                if (fato < 0) {
+                    return false;
+                }
+                int resultado = TabelaFatos.resultado(fato);
+                usados[resultado >>> 6] |= 1L << resultado;
+                baralho.definir(indice,
+                        TabelaFatos.operando1(fato),
+                        TabelaFatos.operando2(fato),
+                        resultado,
+                        operacao);
+            }
+        }
+        return true;
     }
 
-    private void gerarSubtracao(int i, int j) {
-        int a, b;
-        do {
-            a = random.nextInt(201);
-            b = random.nextInt(201);
-        } while (a <= b);
+    /**
+     * Sorteia um fato cujo resultado ainda não foi usado, uniforme entre os fatos livres.
+     * Tenta primeiro alguns sorteios diretos; se o espaço de resultados estiver quase
+     * esgotado, escolhe entre os resultados livres ponderando pelo número de fatos de cada um.
+     *
+     * @return Fato empacotado, ou -1 se todos os resultados da tabela já foram usados
+     */
+    private int sortearFatoLivre(TabelaFatos tabela, long[] usados) {
+        for (int i = 0; i < TENTATIVAS_SORTEIO_UNICO; i++) {
+            int fato = tabela.sortear(random);
+            int resultado = TabelaFatos.resultado(fato);
+            if ((usados[resultado >>> 6] & (1L << resultado)) == 0) {
+                return fato;
+            }
+        }
 
-        matrizGeradaOps1[i][j] = a;
-        matrizGeradaOps2[i][j] = b;
-        matrizGeradaRes[i][j] = a - b;
+        int[] resultados = tabela.getResultadosDistintos();
+        int fatosLivres = 0;
+        for (int resultado : resultados) {
+            if ((usados[resultado >>> 6] & (1L << resultado)) == 0) {
+                fatosLivres += tabela.contarFatosComResultado(resultado);
+            }
+        }
+        if (fatosLivres == 0) {
+            return -1;
+        }
+        int k = random.nextInt(fatosLivres);
+        for (int resultado : resultados) {
+            if ((usados[resultado >>> 6] & (1L << resultado)) == 0) {
+                int quantidade = tabela.contarFatosComResultado(resultado);
+                if (k < quantidade) {
+                    return tabela.getFatoComResultado(resultado, k);
+                }
+                k -= quantidade;
+            }
+        }
+        return -1;
     }
 
-    private void gerarMultiplicacao(int i, int j) {
-        int a = random.nextInt(10) + 1;
-        int b = random.nextInt(10) + 1;
-        matrizGeradaOps1[i][j] = a;
-        matrizGeradaOps2[i][j] = b;
-        matrizGeradaRes[i][j] = a * b;
+    /**
+     * Verifica se um baralho com o número de cartas informado pode ter todos os
+     * resultados distintos: cada operação precisa de resultados suficientes para
+     * a sua cota de cartas e o conjunto das operações precisa cobrir o total.
+     *
+     * @param operacoesEscolhidas Vetor com 1 nas operações ativas
+     * @param totalCartas Número de cartas de operação do baralho
+     * @return true se o modo de resultados únicos é viável
+     */
+    public static boolean suportaResultadosUnicos(int[] operacoesEscolhidas, int totalCartas) {
+        return suportaResultadosUnicos(operacoesEscolhidas, totalCartas, tabelasPadrao());
     }
 
-    private void gerarDivisao(int i, int j) {
-        int divisor, dividendo;
-        do {
-            divisor = random.nextInt(30) + 1;
-            dividendo = divisor * (random.nextInt(10) + 1);
-        } while (dividendo < divisor);
+    private static boolean suportaResultadosUnicos(int[] operacoesEscolhidas, int totalCartas, TabelaFatos[] tabelas) {
+        int numOperacoes = 0;
+        for (int ativa : operacoesEscolhidas) {
+            if (ativa == 1) numOperacoes++;
+        }
+        if (numOperacoes == 0) {
+            return false;
+        }
+        int i = 0;
+        for (int operacao = 0; operacao < operacoesEscolhidas.length; operacao++) {
+            if (operacoesEscolhidas[operacao] == 1) {
+                int quantidade = totalCartas / numOperacoes + (i++ < totalCartas % numOperacoes ? 1 : 0);
+                if (quantidade > tabelas[operacao].getQuantidadeResultadosDistintos()) {
+                    return false;
+                }
+            }
+        }
+        return totalCartas <= contarResultadosPossiveis(operacoesEscolhidas, tabelas);
+    }
+
+    private static int contarResultadosPossiveis(int[] operacoesEscolhidas, TabelaFatos[] tabelas) {
+        long[] possiveis = new long[(resultadoMaximo(tabelas) >>> 6) + 1];
+        for (int operacao = 0; operacao < operacoesEscolhidas.length; operacao++) {
+            if (operacoesEscolhidas[operacao] == 1) {
+                for (int resultado : tabelas[operacao].getResultadosDistintos()) {
+                    possiveis[resultado >>> 6] |= 1L << resultado;
+                }
+            }
+        }
+        int total = 0;
+        for (long palavra : possiveis) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+
+    private static int resultadoMaximo(TabelaFatos[] tabelas) {
+        int maximo = 0;
+        for (TabelaFatos tabela : tabelas) {
+            maximo = Math.max(maximo, tabela.getResultadoMaximo());
+        }
+        return maximo;
+    }
+
+    private static TabelaFatos[] tabelasPadrao() {
+        return new TabelaFatos[] {
+                TabelaFatos.de(SOMA),
+                TabelaFatos.de(SUBTRACAO),
+                TabelaFatos.de(MULTIPLICACAO),
+                TabelaFatos.de(DIVISAO)
+        };
+    }
+
+    /**
+     * Embaralha as cartas de resultado para o grid de resultados. Cada posição
+     * recebe o identificador do seu par, que é o índice da carta de operação de
+     * onde o resultado veio; assim o resultado e a operação de qualquer carta
+     * são lidos diretamente do baralho.
+     *
+     * @param random Fonte aleatória do embaralhamento, normalmente {@link FontesAleatorias#paraEmbaralhamento()}
+     * @return Índice da carta de operação de cada posição do grid de resultados
+     */
+    public int[] embaralharPares(RandomGenerator random) {
+        int[] pares = new int[baralho.getTamanho()];
+        for (int indice = 0; indice < pares.length; indice++) {
+            pares[indice] = indice;
+        }
+        embaralhar(pares, random);
+        return pares;
+    }
+
+    /**
+     * Embaralhamento de Fisher-Yates sobre um vetor primitivo.
+     *
+     * @param valores Vetor a embaralhar no próprio lugar
+     * @param random Fonte aleatória
+     */
+    public static void embaralhar(int[] valores, RandomGenerator random) {
+        for (int i = valores.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temporario = valores[i];
+            valores[i] = valores[j];
+            valores[j] = temporario;
+        }
+    }
 
-        matrizGeradaOps1[i][j] = dividendo;
-        matrizGeradaOps2[i][j] = divisor;
-        matrizGeradaRes[i][j] = dividendo / divisor;
+    /**
+     * Obtém o baralho primitivo gerado.
+     *
+     * @return Baralho com operandos, resultados e operações
+     */
+    public Baralho getBaralho() {
+        return baralho;
     }
 
+    /**
+     * Visão em matriz de objetos do primeiro operando, criada sob demanda.
+     *
+     * @return Matriz de operandos 1
+     */
     public Integer[][] getMatrizOperandos1() {
+        if (matrizGeradaOps1 == null) {
+            matrizGeradaOps1 = criarMatriz(OPERANDO1);
+        }
         return matrizGeradaOps1;
     }
 
+    /**
+     * Visão em matriz de objetos do segundo operando, criada sob demanda.
+     *
+     * @return Matriz de operandos 2
+     */
     public Integer[][] getMatrizOperandos2() {
+        if (matrizGeradaOps2 == null) {
+            matrizGeradaOps2 = criarMatriz(OPERANDO2);
+        }
         return matrizGeradaOps2;
     }
 
+    /**
+     * Visão em matriz de objetos dos resultados, criada sob demanda.
+     *
+     * @return Matriz de resultados
+     */
     public Integer[][] getMatrizResultados() {
+        if (matrizGeradaRes == null) {
+            matrizGeradaRes = criarMatriz(RESULTADO);
+        }
         return matrizGeradaRes;
     }
 
+    private Integer[][] criarMatriz(int campo) {
+        Integer[][] matriz = new Integer[baralho.getLinhas()][baralho.getColunas()];
+        for (int i = 0; i < matriz.length; i++) {
+            for (int j = 0; j < matriz[i].length; j++) {
+                int indice = baralho.indice(i, j);
+                switch (campo) {
+                    case OPERANDO1:
+                        matriz[i][j] = baralho.getOperando1(indice);
+                        break;
+                    case OPERANDO2:
+                        matriz[i][j] = baralho.getOperando2(indice);
+                        break;
+                    default:
+                        matriz[i][j] = baralho.getResultado(indice);
+                        break;
+                }
+            }
+        }
+        return matriz;
+    }
+
     public void imprimirMatrizOperacoes() {
-        int linhas = matrizGeradaOps1.length;
-        int colunas = matrizGeradaOps1[0].length;
+        int linhas = baralho.getLinhas();
+        int colunas = baralho.getColunas();
         for (int i = 0; i < linhas; i++) {
             for (int j = 0; j < colunas; j++) {
-                char operacao = determinarOperacao(i, j);
-                if (matrizGeradaOps1[i][j] != null && matrizGeradaOps2[i][j] != null && matrizGeradaRes[i][j] != null) {
-                    System.out.printf("%3d %c %3d = %3d\t",
-                            matrizGeradaOps1[i][j],
-                            operacao,
-                            matrizGeradaOps2[i][j],
-                            matrizGeradaRes[i][j]);
-                } else {
-                    System.out.printf("null %c null = null\t", operacao);
-                }
+                int indice = baralho.indice(i, j);
+                System.out.printf("%3d %c %3d = %3d\t",
+                        baralho.getOperando1(indice),
+                        simbolo(baralho.getOperacao(indice)),
+                        baralho.getOperando2(indice),
+                        baralho.getResultado(indice));
             }
             System.out.println();
         }
     }
 
-    private char determinarOperacao(int i, int j) {
-        Integer op1 = matrizGeradaOps1[i][j];
-        Integer op2 = matrizGeradaOps2[i][j];
-        Integer res = matrizGeradaRes[i][j];
-
-        if (op1 == null || op2 == null || res == null) {
-            return '?';
+    /**
+     * Obtém o símbolo exibido para o código de operação.
+     *
+     * @param operacao Código da operação ({@link #SOMA}, etc.)
+     * @return Símbolo da operação
+     */
+    public static char simbolo(int operacao) {
+        switch (operacao) {
+            case SOMA: return '+';
+            case SUBTRACAO: return '-';
+            case MULTIPLICACAO: return '×';
+            case DIVISAO: return '÷';
+            default: return '?';
         }
-
-        if (op1 + op2 == res) return '+';
-        if (op1 - op2 == res) return '-';
-        if (op1 * op2 == res) return '×';
-        if (op2 != 0 && op1 / op2 == res) return '÷';
-        return '?';
     }
 }
\ No newline at end of file
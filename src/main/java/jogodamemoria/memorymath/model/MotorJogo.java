@@ -0,0 +1,436 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.Player;
+
+/**
+ * Regras de uma partida, sem dependência de interface gráfica.
+ * Controla os turnos, a pontuação, a verificação dos pares e o fim do jogo
+ * sobre um {@link Tabuleiro}, e avisa um {@link Ouvinte} a cada evento para
+ * que a tela (ou um simulador) reaja.
+ *
+ * <p>Uma jogada tem duas cartas: primeiro uma operação, depois um resultado.
+ * Quando o par está errado a partida fica em {@link Fase#AGUARDANDO_CONCLUSAO}
+ * até {@link #concluirJogada()} esconder as cartas e passar o turno; isso deixa
+ * a tela mostrar o erro pelo tempo que quiser.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class MotorJogo {
+
+    /** Pontos ganhos ao encontrar um par. */
+    public static final int PONTOS_ACERTO = 5;
+    /** Pontos perdidos ao errar um par. */
+    public static final int PONTOS_ERRO = -1;
+
+    /**
+     * Momento da jogada atual.
+     */
+    public enum Fase { PRIMEIRA_CARTA, SEGUNDA_CARTA, AGUARDANDO_CONCLUSAO, FIM }
+
+    /**
+     * Resultado da escolha de uma carta.
+     */
+    public enum Resultado {
+        /** A carta não está oculta ou a partida não aceita jogadas agora. */
+        INVALIDA,
+        /** A carta é do grid errado para este momento da jogada. */
+        GRID_ERRADO,
+        /** A primeira carta da jogada foi revelada. */
+        REVELADA,
+        /** A segunda carta formou par com a primeira. */
+        PAR_ENCONTRADO,
+        /** A segunda carta não formou par; falta {@link #concluirJogada()}. */
+        PAR_ERRADO
+    }
+
+    /**
+     * Recebe os eventos da partida. Todos os métodos têm implementação vazia.
+     */
+    public interface Ouvinte {
+        default void cartaRevelada(int carta) {}
+
+        default void parEncontrado(int carta1, int carta2, Player jogador) {}
+
+        default void parErrado(int carta1, int carta2, Player jogador) {}
+
+        default void cartasEscondidas(int carta1, int carta2) {}
+
+        default void turnoTrocado(Player jogadorAtual) {}
+
+        /**
+         * @param vencedor Jogador vencedor, ou null em caso de empate
+         */
+        default void fimDeJogo(Player vencedor) {}
+    }
+
+    private static final Ouvinte SEM_OUVINTE = new Ouvinte() {};
+
+    private final Tabuleiro tabuleiro;
+    private final Player jogador1;
+    private final Player jogador2;
+    private final int[] cartasDisponiveis;
+    private final boolean[] vistas;
+
+    private Ouvinte ouvinte = SEM_OUVINTE;
+    private RegistroJogadas registro;
+    private Player jogadorAtual;
+    private Fase fase = Fase.PRIMEIRA_CARTA;
+    private int primeiraCarta = -1;
+    private int segundaCarta = -1;
+    private boolean primeiraCartaInedita;
+    private int paresEncontrados;
+    private Player vencedor;
+    private long nanosRegistroIA;
+
+    /**
+     * Construtor da classe MotorJogo. O primeiro jogador começa.
+     *
+     * @param tabuleiro Tabuleiro da partida, com todas as cartas ocultas
+     * @param jogador1 Primeiro jogador
+     * @param jogador2 Segundo jogador
+     */
+    public MotorJogo(Tabuleiro tabuleiro, Player jogador1, Player jogador2) {
+        this.tabuleiro = tabuleiro;
+        this.jogador1 = jogador1;
+        this.jogador2 = jogador2;
+        this.jogadorAtual = jogador1;
+        this.cartasDisponiveis = new int[tabuleiro.getTotalPares()];
+        this.vistas = new boolean[tabuleiro.getTotalCartas()];
+    }
+
+    public void setOuvinte(Ouvinte ouvinte) {
+        this.ouvinte = ouvinte == null ? SEM_OUVINTE : ouvinte;
+    }
+
+    public Ouvinte getOuvinte() { return ouvinte == SEM_OUVINTE ? null : ouvinte; }
+
+    /**
+     * Define o registro que grava cada jogada aceita, antes de o ouvinte ser avisado.
+     *
+     * @param registro Registro de jogadas, ou null para não gravar
+     */
+    public void setRegistro(RegistroJogadas registro) { this.registro = registro; }
+
+    public RegistroJogadas getRegistro() { return registro; }
+
+    /**
+     * Escolhe uma carta para o jogador atual.
+     *
+     * @param carta Índice da carta no tabuleiro
+     * @return Resultado da escolha
+     */
+    public Resultado escolherCarta(int carta) {
+        if (carta < 0 || carta >= tabuleiro.getTotalCartas() || !tabuleiro.isOculta(carta)) {
+            return Resultado.INVALIDA;
+        }
+        switch (fase) {
+            case PRIMEIRA_CARTA:
+                if (!tabuleiro.isOperacao(carta)) {
+                    return Resultado.GRID_ERRADO;
+                }
+                primeiraCarta = carta;
+                primeiraCartaInedita = !vistas[carta];
+                fase = Fase.SEGUNDA_CARTA;
+                gravar(carta, Resultado.REVELADA);
+                revelar(carta);
+                return Resultado.REVELADA;
+            case SEGUNDA_CARTA:
+                if (!tabuleiro.isResultado(carta)) {
+                    return Resultado.GRID_ERRADO;
+                }
+                segundaCarta = carta;
+                return verificarPar();
+            default:
+                return Resultado.INVALIDA;
+        }
+    }
+
+    private void gravar(int carta, Resultado resultado) {
+        if (registro != null) {
+            registro.registrar(carta, resultado, this);
+        }
+    }
+
+    private void revelar(int carta) {
+        tabuleiro.revelar(carta);
+        vistas[carta] = true;
+        registrarNasIAs(carta);
+        ouvinte.cartaRevelada(carta);
+    }
+
+    /**
+     * Revela a segunda carta e aplica o resultado da jogada. O estado é todo
+     * atualizado e gravado antes de o ouvinte saber de qualquer coisa, para que
+     * o registro esteja completo mesmo quando o ouvinte encerra a partida.
+     */
+    private Resultado verificarPar() {
+        int carta1 = primeiraCarta;
+        int carta2 = segundaCarta;
+        tabuleiro.revelar(carta2);
+        vistas[carta2] = true;
+        registrarNasIAs(carta2);
+        if (tabuleiro.formamPar(carta1, carta2)) {
+            tabuleiro.marcarEncontrada(carta1);
+            tabuleiro.marcarEncontrada(carta2);
+            esquecerNasIAs(carta1);
+            esquecerNasIAs(carta2);
+            paresEncontrados++;
+            jogadorAtual.adicionarPontos(PONTOS_ACERTO);
+            limparSelecao();
+            fase = paresEncontrados >= tabuleiro.getTotalPares() ? Fase.FIM : Fase.PRIMEIRA_CARTA;
+            gravar(carta2, Resultado.PAR_ENCONTRADO);
+            ouvinte.cartaRevelada(carta2);
+            ouvinte.parEncontrado(carta1, carta2, jogadorAtual);
+            if (fase == Fase.FIM) {
+                encerrar();
+            }
+            return Resultado.PAR_ENCONTRADO;
+        }
+
+        registrarParNasIAs(carta1, carta2);
+        jogadorAtual.adicionarPontos(PONTOS_ERRO);
+        fase = Fase.AGUARDANDO_CONCLUSAO;
+        gravar(carta2, Resultado.PAR_ERRADO);
+        ouvinte.cartaRevelada(carta2);
+        ouvinte.parErrado(carta1, carta2, jogadorAtual);
+        return Resultado.PAR_ERRADO;
+    }
+
+    /**
+     * Esconde as cartas de um par errado e passa o turno ao outro jogador.
+     * Não faz nada fora da fase {@link Fase#AGUARDANDO_CONCLUSAO}.
+     */
+    public void concluirJogada() {
+        if (fase != Fase.AGUARDANDO_CONCLUSAO) {
+            return;
+        }
+        int carta1 = primeiraCarta;
+        int carta2 = segundaCarta;
+        tabuleiro.esconder(carta1);
+        tabuleiro.esconder(carta2);
+        limparSelecao();
+        fase = Fase.PRIMEIRA_CARTA;
+        ouvinte.cartasEscondidas(carta1, carta2);
+        jogadorAtual = jogadorAtual == jogador1 ? jogador2 : jogador1;
+        ouvinte.turnoTrocado(jogadorAtual);
+    }
+
+    private void limparSelecao() {
+        primeiraCarta = -1;
+        segundaCarta = -1;
+    }
+
+    /**
+     * Coloca a partida em uma posição salva, no início de uma jogada.
+     * O ouvinte não é avisado; quem restaura deve redesenhar a tela.
+     *
+     * @param estados Estado de cada carta ({@link Tabuleiro#OCULTA} ou {@link Tabuleiro#ENCONTRADA})
+     * @param pontos1 Pontuação do primeiro jogador
+     * @param pontos2 Pontuação do segundo jogador
+     * @param vezDoJogador1 true se a próxima jogada for do primeiro jogador
+     */
+    public void restaurar(byte[] estados, int pontos1, int pontos2, boolean vezDoJogador1) {
+        int encontradas = 0;
+        for (int carta = 0; carta < tabuleiro.getTotalCartas(); carta++) {
+            byte estado = estados[carta] == Tabuleiro.ENCONTRADA ? Tabuleiro.ENCONTRADA : Tabuleiro.OCULTA;
+            tabuleiro.setEstado(carta, estado);
+            if (estado == Tabuleiro.ENCONTRADA) {
+                encontradas++;
+            }
+        }
+        paresEncontrados = encontradas / 2;
+        Arrays.fill(vistas, false);
+        jogador1.setScore(pontos1);
+        jogador2.setScore(pontos2);
+        jogadorAtual = vezDoJogador1 ? jogador1 : jogador2;
+        limparSelecao();
+        vencedor = null;
+        if (paresEncontrados >= tabuleiro.getTotalPares()) {
+            fase = Fase.FIM;
+            vencedor = calcularVencedor();
+        } else {
+            fase = Fase.PRIMEIRA_CARTA;
+        }
+    }
+
+    private void encerrar() {
+        vencedor = calcularVencedor();
+        ouvinte.fimDeJogo(vencedor);
+    }
+
+    private Player calcularVencedor() {
+        if (jogador1.getScore() == jogador2.getScore()) {
+            return null;
+        }
+        return jogador1.getScore() > jogador2.getScore() ? jogador1 : jogador2;
+    }
+
+    /**
+     * Pede ao jogador atual, se for IA, a próxima carta da jogada: uma operação
+     * oculta na primeira carta e um resultado oculto na segunda.
+     *
+     * @return Índice da carta escolhida, ou -1 se o jogador atual não for IA
+     *         ou não houver jogada possível
+     */
+    public int escolherJogadaIA() {
+        int quantidade = separarCandidatasIA();
+        return quantidade <= 0 ? -1
+                : ((AIPlayer) jogadorAtual).calcularMelhorJogada(cartasDisponiveis, quantidade, getCartaAbertaIA());
+    }
+
+    /**
+     * Copia as cartas entre as quais a IA da vez deve escolher, para que a
+     * decisão possa ser tomada em outro thread enquanto o motor fica parado.
+     *
+     * @return Cartas candidatas, ou null se o jogador atual não for IA ou não
+     *         houver jogada possível
+     */
+    public int[] candidatasJogadaIA() {
+        int quantidade = separarCandidatasIA();
+        return quantidade <= 0 ? null : Arrays.copyOf(cartasDisponiveis, quantidade);
+    }
+
+    /**
+     * @return Operação já revelada na jogada em andamento, ou -1 fora da segunda carta
+     */
+    public int getCartaAbertaIA() {
+        return fase == Fase.SEGUNDA_CARTA ? primeiraCarta : -1;
+    }
+
+    /**
+     * Sugere a próxima carta para o jogador da vez, pelo
+     * {@link SolucionadorExato}, supondo que ele lembra de todas as cartas já
+     * reveladas nesta partida. Depois de {@link #restaurar} as cartas vistas
+     * antes não contam.
+     *
+     * @return Carta sugerida, ou -1 fora de uma jogada ou em tabuleiros acima
+     *         de {@link SolucionadorExato#PARES_MAXIMOS} pares
+     */
+    public int sugerirJogada() {
+        IntSupplier sugestao = prepararSugestao();
+        return sugestao == null ? -1 : sugestao.getAsInt();
+    }
+
+    /**
+     * Copia a posição atual para calcular a {@link #sugerirJogada() sugestão}
+     * em outro thread. O cálculo não lê o motor nem os estados do tabuleiro,
+     * que podem mudar enquanto ele roda.
+     *
+     * @return Cálculo da carta sugerida, ou null fora de uma jogada
+     */
+    public IntSupplier prepararSugestao() {
+        if (fase != Fase.PRIMEIRA_CARTA && fase != Fase.SEGUNDA_CARTA) {
+            return null;
+        }
+        byte[] estados = tabuleiro.copiarEstados();
+        boolean[] vistasAgora = vistas.clone();
+        int cartaAberta = getCartaAbertaIA();
+        boolean aberturaInedita = primeiraCartaInedita;
+        return () -> SolucionadorExato.getInstance().sugerir(tabuleiro, estados, vistasAgora, cartaAberta, aberturaInedita);
+    }
+
+    private int separarCandidatasIA() {
+        if (!(jogadorAtual instanceof AIPlayer)) {
+            return -1;
+        }
+        int inicio;
+        int fim;
+        if (fase == Fase.PRIMEIRA_CARTA) {
+            inicio = 0;
+            fim = tabuleiro.getTotalPares();
+        } else if (fase == Fase.SEGUNDA_CARTA) {
+            inicio = tabuleiro.getTotalPares();
+            fim = tabuleiro.getTotalCartas();
+        } else {
+            return -1;
+        }
+        int quantidade = 0;
+        for (int carta = inicio; carta < fim; carta++) {
+            if (tabuleiro.isOculta(carta)) {
+                cartasDisponiveis[quantidade++] = carta;
+            }
+        }
+        return quantidade;
+    }
+
+    private void registrarNasIAs(int carta) {
+        if (!(jogador1 instanceof AIPlayer) && !(jogador2 instanceof AIPlayer)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        int resultado = tabuleiro.getResultado(carta);
+        boolean operacao = tabuleiro.isOperacao(carta);
+        if (jogador1 instanceof AIPlayer) {
+            ((AIPlayer) jogador1).registrarCartaRevelada(carta, resultado, operacao);
+        }
+        if (jogador2 instanceof AIPlayer) {
+            ((AIPlayer) jogador2).registrarCartaRevelada(carta, resultado, operacao);
+        }
+        nanosRegistroIA += System.nanoTime() - inicio;
+    }
+
+    private void esquecerNasIAs(int carta) {
+        if (jogador1 instanceof AIPlayer) {
+            ((AIPlayer) jogador1).removerCartaDaMemoria(carta);
+        }
+        if (jogador2 instanceof AIPlayer) {
+            ((AIPlayer) jogador2).removerCartaDaMemoria(carta);
+        }
+    }
+
+    private void registrarParNasIAs(int carta1, int carta2) {
+        if (jogador1 instanceof AIPlayer) {
+            ((AIPlayer) jogador1).registrarParAberto(carta1, carta2);
+        }
+        if (jogador2 instanceof AIPlayer) {
+            ((AIPlayer) jogador2).registrarParAberto(carta1, carta2);
+        }
+    }
+
+    /**
+     * Obtém o tempo acumulado registrando cartas reveladas na memória das IAs.
+     * Quem mede uma jogada compara o valor antes e depois dela.
+     *
+     * @return Nanossegundos acumulados desde a criação do motor
+     */
+    public long getNanosRegistroIA() { return nanosRegistroIA; }
+
+    public Tabuleiro getTabuleiro() { return tabuleiro; }
+
+    public Player getJogador1() { return jogador1; }
+
+    public Player getJogador2() { return jogador2; }
+
+    public Player getJogadorAtual() { return jogadorAtual; }
+
+    public Fase getFase() { return fase; }
+
+    public boolean isFimDeJogo() { return fase == Fase.FIM; }
+
+    public int getParesEncontrados() { return paresEncontrados; }
+
+    /**
+     * Obtém a carta revelada na primeira metade da jogada em andamento.
+     *
+     * @return Índice da carta, ou -1 se não houver
+     */
+    public int getPrimeiraCarta() { return primeiraCarta; }
+
+    /**
+     * Obtém a segunda carta da jogada em andamento.
+     *
+     * @return Índice da carta, ou -1 se não houver
+     */
+    public int getSegundaCarta() { return segundaCarta; }
+
+    /**
+     * Obtém o vencedor depois do fim de jogo.
+     *
+     * @return Jogador vencedor, ou null em caso de empate ou partida em andamento
+     */
+    public Player getVencedor() { return vencedor; }
+}
@@ -0,0 +1,240 @@
+package jogodamemoria.memorymath.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.HumanPlayer;
+import jogodamemoria.memorymath.Player;
+
+/**
+ * Fotografia de uma partida em andamento, para interromper o jogo e
+ * retomá-lo depois sem refazer as jogadas.
+ *
+ * <p>O arquivo guarda o {@link CodigoPartida} (o tabuleiro é regerado a
+ * partir dele), os jogadores com nome e pontuação, a memória das IAs, de quem
+ * é a vez, quais cartas já foram encontradas e o {@link RegistroJogadas} até
+ * ali, para que o replay da partida retomada continue completo. As IAs
+ * retomadas sorteiam a partir das {@link FontesAleatorias} do mesmo código,
+ * como em uma partida nova.</p>
+ *
+ * <p>A partida é sempre salva no início de uma jogada: uma primeira carta
+ * revelada volta a ficar oculta, e um par errado à mostra conta como já
+ * escondido, com a vez passada ao outro jogador.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class PartidaSalva {
+
+    private static final int ASSINATURA = 0x4D4D5331; // "MMS1"
+    private static final int TIPO_HUMANO = 0;
+    private static final int TIPO_IA = 1;
+
+    private final CodigoPartida codigo;
+    private final Player jogador1;
+    private final Player jogador2;
+    private final boolean vezDoJogador1;
+    private final byte[] estados;
+    private final byte[] registro;
+
+    private PartidaSalva(CodigoPartida codigo, Player jogador1, Player jogador2, boolean vezDoJogador1,
+                         byte[] estados, byte[] registro) {
+        this.codigo = codigo;
+        this.jogador1 = jogador1;
+        this.jogador2 = jogador2;
+        this.vezDoJogador1 = vezDoJogador1;
+        this.estados = estados;
+        this.registro = registro;
+    }
+
+    /**
+     * Fotografa a partida do motor.
+     *
+     * @param motor Motor de uma partida ainda não terminada
+     * @param codigo Código do tabuleiro do motor
+     * @return Partida pronta para ser gravada
+     * @throws IllegalStateException Se a partida já tiver terminado
+     */
+    public static PartidaSalva capturar(MotorJogo motor, CodigoPartida codigo) {
+        if (motor.isFimDeJogo()) {
+            throw new IllegalStateException("A partida já terminou.");
+        }
+        Tabuleiro tabuleiro = motor.getTabuleiro();
+        byte[] estados = new byte[tabuleiro.getTotalCartas()];
+        for (int carta = 0; carta < estados.length; carta++) {
+            estados[carta] = tabuleiro.isEncontrada(carta) ? Tabuleiro.ENCONTRADA : Tabuleiro.OCULTA;
+        }
+        boolean vezDoJogador1 = motor.getJogadorAtual() == motor.getJogador1();
+        if (motor.getFase() == MotorJogo.Fase.AGUARDANDO_CONCLUSAO) {
+            vezDoJogador1 = !vezDoJogador1;
+        }
+        RegistroJogadas registroMotor = motor.getRegistro();
+        byte[] registro = registroMotor == null ? new byte[0] : registroMotor.jogadasCompletas();
+        return new PartidaSalva(codigo, motor.getJogador1(), motor.getJogador2(), vezDoJogador1, estados, registro);
+    }
+
+    /**
+     * Coloca um motor novo, sobre o tabuleiro regerado do código, na posição
+     * salva. Se houver registro de jogadas, ele continua de onde parou.
+     *
+     * @param motor Motor criado com {@link #getJogador1()} e {@link #getJogador2()}
+     */
+    public void aplicar(MotorJogo motor) {
+        motor.restaurar(estados, jogador1.getScore(), jogador2.getScore(), vezDoJogador1);
+        motor.setRegistro(registro.length == 0 ? null : RegistroJogadas.continuar(registro));
+    }
+
+    /**
+     * Converte a partida em bytes.
+     *
+     * @return Conteúdo do arquivo
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + estados.length / 8 + registro.length);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeInt(ASSINATURA);
+            saida.writeLong(codigo.getSemente());
+            saida.writeByte(codigo.getMascaraOperacoes());
+            saida.writeByte(codigo.getLinhas());
+            saida.writeByte(codigo.getColunas());
+            gravarJogador(saida, jogador1);
+            gravarJogador(saida, jogador2);
+            saida.writeBoolean(vezDoJogador1);
+
+            byte[] encontradas = new byte[(estados.length + 7) / 8];
+            for (int carta = 0; carta < estados.length; carta++) {
+                if (estados[carta] == Tabuleiro.ENCONTRADA) {
+                    encontradas[carta >>> 3] |= (byte) (1 << (carta & 7));
+                }
+            }
+            saida.write(encontradas);
+            saida.writeInt(registro.length);
+            saida.write(registro);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao gravar em memória", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void gravarJogador(DataOutputStream saida, Player jogador) throws IOException {
+        saida.writeUTF(jogador.getName());
+        saida.writeInt(jogador.getScore());
+        if (jogador instanceof AIPlayer) {
+            AIPlayer ia = (AIPlayer) jogador;
+            saida.writeByte(TIPO_IA);
+            saida.writeByte(ia.getDifficulty().ordinal());
+            ia.gravarMemoria(saida);
+        } else {
+            saida.writeByte(TIPO_HUMANO);
+        }
+    }
+
+    /**
+     * Decodifica uma partida gravada por {@link #toByteArray()}.
+     *
+     * @param dados Conteúdo do arquivo
+     * @return Partida salva
+     * @throws IllegalArgumentException Se os dados não forem uma partida salva válida
+     */
+    public static PartidaSalva ler(byte[] dados) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            if (entrada.readInt() != ASSINATURA) {
+                throw new IllegalArgumentException("O arquivo não é uma partida salva do MemoryMath.");
+            }
+            long semente = entrada.readLong();
+            int mascara = entrada.readUnsignedByte();
+            int linhas = entrada.readUnsignedByte();
+            int colunas = entrada.readUnsignedByte();
+            CodigoPartida codigo = new CodigoPartida(semente, mascara, linhas, colunas);
+            SplittableRandom randomIA = codigo.criarFontes().paraIA();
+            Player jogador1 = lerJogador(entrada, randomIA);
+            Player jogador2 = lerJogador(entrada, randomIA);
+            boolean vezDoJogador1 = entrada.readBoolean();
+
+            byte[] estados = new byte[2 * linhas * colunas];
+            byte[] encontradas = new byte[(estados.length + 7) / 8];
+            entrada.readFully(encontradas);
+            for (int carta = 0; carta < estados.length; carta++) {
+                boolean encontrada = (encontradas[carta >>> 3] & (1 << (carta & 7))) != 0;
+                estados[carta] = encontrada ? Tabuleiro.ENCONTRADA : Tabuleiro.OCULTA;
+            }
+            byte[] registro = new byte[entrada.readInt()];
+            entrada.readFully(registro);
+            return new PartidaSalva(codigo, jogador1, jogador2, vezDoJogador1, estados, registro);
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e;
+            }
+            throw new IllegalArgumentException("Partida salva incompleta ou corrompida.", e);
+        }
+    }
+
+    /**
+     * Lê um jogador. Uma IA recebe o nome gravado e um fluxo aleatório
+     * dividido do fluxo de IA do código da partida, de modo que a mesma
+     * partida salva, retomada de novo, repete as mesmas escolhas.
+     */
+    private static Player lerJogador(DataInputStream entrada, SplittableRandom randomIA) throws IOException {
+        String nome = entrada.readUTF();
+        int pontos = entrada.readInt();
+        Player jogador;
+        if (entrada.readUnsignedByte() == TIPO_IA) {
+            AIPlayer ia = new AIPlayer(nome, AIPlayer.Difficulty.values()[entrada.readUnsignedByte()], randomIA.split());
+            ia.lerMemoria(entrada);
+            jogador = ia;
+        } else {
+            jogador = new HumanPlayer(nome);
+        }
+        jogador.setScore(pontos);
+        return jogador;
+    }
+
+    /**
+     * Grava a partida em um arquivo, criando as pastas se preciso.
+     *
+     * @param destino Arquivo de destino
+     * @throws IOException Se o arquivo não puder ser escrito
+     */
+    public void salvar(Path destino) throws IOException {
+        if (destino.getParent() != null) {
+            Files.createDirectories(destino.getParent());
+        }
+        Files.write(destino, toByteArray());
+    }
+
+    /**
+     * Lê uma partida salva em arquivo.
+     *
+     * @param arquivo Arquivo gravado por {@link #salvar(Path)}
+     * @return Partida salva
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws IllegalArgumentException Se o arquivo não for uma partida salva válida
+     */
+    public static PartidaSalva ler(Path arquivo) throws IOException {
+        return ler(Files.readAllBytes(arquivo));
+    }
+
+    /**
+     * Arquivo onde a partida interrompida é guardada: {@code ~/.memorymath/partida-salva.mms}.
+     *
+     * @return Caminho do arquivo
+     */
+    public static Path arquivoPadrao() {
+        return Paths.get(System.getProperty("user.home"), ".memorymath", "partida-salva.mms");
+    }
+
+    public CodigoPartida getCodigo() { return codigo; }
+
+    public Player getJogador1() { return jogador1; }
+
+    public Player getJogador2() { return jogador2; }
+
+    public boolean isVezDoJogador1() { return vezDoJogador1; }
+}
@@ -0,0 +1,135 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jogodamemoria.memorymath.util.Log;
+
+/**
+ * Reserva limitada de tabuleiros gerados em segundo plano.
+ * Implementa o padrão Singleton. Para cada configuração usada recentemente
+ * (operações e dimensões) mantém alguns {@link BaralhoPreparado} prontos,
+ * gerados em uma thread daemon, para que a revanche comece sem gerar nada
+ * na thread da interface.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class PoolBaralhos {
+
+    private static final int BARALHOS_POR_CONFIGURACAO = 2;
+    private static final int MAXIMO_CONFIGURACOES = 4;
+
+    private static PoolBaralhos instance;
+
+    private final Map<Integer, ArrayDeque<BaralhoPreparado>> reservas =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ArrayDeque<BaralhoPreparado>> maisAntiga) {
+                    return size() > MAXIMO_CONFIGURACOES;
+                }
+            };
+    private final Map<Integer, Integer> pendentes = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "pool-baralhos");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private PoolBaralhos() {}
+
+    /**
+     * Obtém a instância única do PoolBaralhos (Singleton).
+     *
+     * @return Instância do PoolBaralhos
+     */
+    public static synchronized PoolBaralhos getInstance() {
+        if (instance == null) {
+            instance = new PoolBaralhos();
+        }
+        return instance;
+    }
+
+    /**
+     * Escolhe o código de uma nova partida. Se houver um tabuleiro pronto para a
+     * configuração, devolve o código dele; caso contrário cria um código novo.
+     * Em ambos os casos a configuração passa a ser reabastecida em segundo plano.
+     *
+     * @param operacoes Operações selecionadas
+     * @param linhas Número de linhas do tabuleiro
+     * @param colunas Número de colunas do tabuleiro
+     * @return Código da partida
+     */
+    public synchronized CodigoPartida novoCodigo(List<Card.OperationType> operacoes, int linhas, int colunas) {
+        int chave = chave(CodigoPartida.mascaraDe(operacoes), linhas, colunas);
+        ArrayDeque<BaralhoPreparado> fila = reservas.computeIfAbsent(chave, k -> new ArrayDeque<>());
+        BaralhoPreparado pronto = fila.peekFirst();
+        reabastecer(chave, operacoes, linhas, colunas);
+        return pronto != null ? pronto.getCodigo() : CodigoPartida.novo(operacoes, linhas, colunas);
+    }
+
+    /**
+     * Retira da reserva o tabuleiro do código informado.
+     *
+     * @param codigo Código da partida
+     * @return Tabuleiro pronto, ou null se ele não estiver na reserva
+     */
+    public synchronized BaralhoPreparado retirar(CodigoPartida codigo) {
+        int chave = chave(codigo.getMascaraOperacoes(), codigo.getLinhas(), codigo.getColunas());
+        ArrayDeque<BaralhoPreparado> fila = reservas.get(chave);
+        if (fila == null) {
+            return null;
+        }
+        for (Iterator<BaralhoPreparado> it = fila.iterator(); it.hasNext(); ) {
+            BaralhoPreparado baralho = it.next();
+            if (baralho.getCodigo().getSemente() == codigo.getSemente()) {
+                it.remove();
+                reabastecer(chave, codigo.getOperacoes(), codigo.getLinhas(), codigo.getColunas());
+                return baralho;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Agenda a geração dos tabuleiros que faltam para completar a reserva da configuração.
+     */
+    private void reabastecer(int chave, List<Card.OperationType> operacoes, int linhas, int colunas) {
+        ArrayDeque<BaralhoPreparado> fila = reservas.get(chave);
+        int emAndamento = pendentes.getOrDefault(chave, 0);
+        int faltando = BARALHOS_POR_CONFIGURACAO - (fila == null ? 0 : fila.size()) - emAndamento;
+        if (faltando <= 0) {
+            return;
+        }
+        pendentes.put(chave, emAndamento + faltando);
+        List<Card.OperationType> copiaOperacoes = List.copyOf(operacoes);
+        for (int i = 0; i < faltando; i++) {
+            executor.execute(() -> {
+                BaralhoPreparado baralho = null;
+                try {
+                    baralho = BaralhoPreparado.gerar(CodigoPartida.novo(copiaOperacoes, linhas, colunas));
+                } catch (RuntimeException e) {
+                    Log.aviso("Erro ao pré-gerar baralho: %s", e.getMessage());
+                }
+                concluir(chave, baralho);
+            });
+        }
+    }
+
+    private synchronized void concluir(int chave, BaralhoPreparado baralho) {
+        pendentes.merge(chave, -1, (a, b) -> a + b == 0 ? null : a + b);
+        ArrayDeque<BaralhoPreparado> fila = reservas.get(chave);
+        if (fila != null && baralho != null && fila.size() < BARALHOS_POR_CONFIGURACAO) {
+            fila.addLast(baralho);
+        }
+    }
+
+    private static int chave(int mascaraOperacoes, int linhas, int colunas) {
+        return mascaraOperacoes | (linhas << 4) | (colunas << 10);
+    }
+}
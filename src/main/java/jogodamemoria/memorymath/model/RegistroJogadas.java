@@ -0,0 +1,269 @@
+package jogodamemoria.memorymath.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Grava as jogadas de uma partida em um fluxo binário compacto, lido depois
+ * por {@link ReplayJogadas}.
+ *
+ * <p>O cabeçalho traz a assinatura {@code MMJ1}, o {@link CodigoPartida}
+ * (suficiente para refazer o tabuleiro), o instante de início e o nome dos
+ * jogadores. Cada carta escolhida vira dois varints: {@code carta << 2 | tipo}
+ * e os milissegundos desde a jogada anterior. A cada
+ * {@link #INTERVALO_PONTOS_CONTROLE} cartas, ao fim de uma jogada, entra
+ * também um ponto de controle com o placar, a vez e o estado de cada carta
+ * (2 bits por carta), para que o replay possa saltar para qualquer posição
+ * sem refazer a partida desde o início.</p>
+ *
+ * <p>Durante o jogo tudo vai para um vetor em memória; o arquivo só é escrito
+ * em {@link #salvar(Path)}.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class RegistroJogadas {
+
+    static final byte[] ASSINATURA = {'M', 'M', 'J', '1'};
+
+    static final int TIPO_REVELADA = 0;
+    static final int TIPO_PAR_ENCONTRADO = 1;
+    static final int TIPO_PAR_ERRADO = 2;
+    static final int TIPO_PONTO_CONTROLE = 3;
+
+    /** Número mínimo de cartas escolhidas entre dois pontos de controle. */
+    public static final int INTERVALO_PONTOS_CONTROLE = 32;
+
+    /** Extensão dos arquivos de replay. */
+    public static final String EXTENSAO = ".mmr";
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final CodigoPartida codigo;
+    private byte[] dados = new byte[256];
+    private int tamanho;
+    private long ultimoInstante;
+    private int jogadas;
+    private int jogadasDesdePontoControle;
+    private int fimUltimaJogada;
+
+    /**
+     * Construtor da classe RegistroJogadas. Escreve o cabeçalho.
+     *
+     * @param codigo Código da partida
+     * @param nomeJogador1 Nome do primeiro jogador
+     * @param nomeJogador2 Nome do segundo jogador
+     */
+    public RegistroJogadas(CodigoPartida codigo, String nomeJogador1, String nomeJogador2) {
+        this.codigo = codigo;
+        for (byte b : ASSINATURA) {
+            escreverByte(b);
+        }
+        escreverLong(codigo.getSemente());
+        escreverByte(codigo.getMascaraOperacoes());
+        escreverByte(codigo.getLinhas());
+        escreverByte(codigo.getColunas());
+        escreverLong(System.currentTimeMillis());
+        escreverTexto(nomeJogador1);
+        escreverTexto(nomeJogador2);
+        fimUltimaJogada = tamanho;
+        ultimoInstante = System.nanoTime();
+    }
+
+    private RegistroJogadas(CodigoPartida codigo, byte[] dados, int jogadas, int jogadasDesdePontoControle) {
+        this.codigo = codigo;
+        this.dados = Arrays.copyOf(dados, Math.max(256, dados.length * 2));
+        this.tamanho = dados.length;
+        this.fimUltimaJogada = dados.length;
+        this.jogadas = jogadas;
+        this.jogadasDesdePontoControle = jogadasDesdePontoControle;
+        this.ultimoInstante = System.nanoTime();
+    }
+
+    /**
+     * Retoma a gravação de um registro interrompido ao fim de uma jogada,
+     * como o de {@link #jogadasCompletas()}. O intervalo da próxima carta é
+     * contado a partir deste momento.
+     *
+     * @param dados Bytes gravados até agora
+     * @return Registro pronto para continuar
+     * @throws IllegalArgumentException Se os dados não forem um registro válido
+     */
+    public static RegistroJogadas continuar(byte[] dados) {
+        ReplayJogadas lido = ReplayJogadas.ler(dados);
+        int jogadas = lido.getTotalJogadas();
+        ReplayJogadas.PontoControle ultimo = lido.pontoControleAte(jogadas);
+        return new RegistroJogadas(lido.getCodigo(), dados, jogadas, jogadas - (ultimo == null ? 0 : ultimo.getJogada()));
+    }
+
+    /**
+     * Grava uma carta aceita pelo motor. Chamado pelo {@link MotorJogo} depois
+     * de aplicar a jogada e antes de avisar o ouvinte.
+     *
+     * @param carta Índice da carta escolhida
+     * @param resultado Resultado da escolha
+     * @param motor Motor da partida, já com a jogada aplicada
+     */
+    void registrar(int carta, MotorJogo.Resultado resultado, MotorJogo motor) {
+        long agora = System.nanoTime();
+        long delta = (agora - ultimoInstante) / 1_000_000L;
+        ultimoInstante = agora;
+
+        int tipo;
+        switch (resultado) {
+            case REVELADA: tipo = TIPO_REVELADA; break;
+            case PAR_ENCONTRADO: tipo = TIPO_PAR_ENCONTRADO; break;
+            case PAR_ERRADO: tipo = TIPO_PAR_ERRADO; break;
+            default: return;
+        }
+        escreverVarint(((long) carta << 2) | tipo);
+        escreverVarint(delta);
+        jogadas++;
+        jogadasDesdePontoControle++;
+
+        if (tipo != TIPO_REVELADA && jogadasDesdePontoControle >= INTERVALO_PONTOS_CONTROLE
+                && motor.getFase() != MotorJogo.Fase.FIM) {
+            escreverPontoControle(motor, tipo == TIPO_PAR_ERRADO);
+            jogadasDesdePontoControle = 0;
+        }
+        if (tipo != TIPO_REVELADA) {
+            fimUltimaJogada = tamanho;
+        }
+    }
+
+    /**
+     * Escreve a posição do início da próxima jogada. Depois de um par errado
+     * as duas cartas já contam como escondidas e a vez já é do outro jogador.
+     */
+    private void escreverPontoControle(MotorJogo motor, boolean trocaTurno) {
+        Tabuleiro tabuleiro = motor.getTabuleiro();
+        boolean vezDoJogador1 = (motor.getJogadorAtual() == motor.getJogador1()) != trocaTurno;
+        escreverVarint(TIPO_PONTO_CONTROLE);
+        escreverVarint(jogadas);
+        escreverVarint(motor.getJogador1().getScore());
+        escreverVarint(motor.getJogador2().getScore());
+        escreverByte(vezDoJogador1 ? 1 : 0);
+
+        int total = tabuleiro.getTotalCartas();
+        for (int inicio = 0; inicio < total; inicio += 4) {
+            int pacote = 0;
+            for (int i = 0; i < 4 && inicio + i < total; i++) {
+                int estado = tabuleiro.isEncontrada(inicio + i) ? Tabuleiro.ENCONTRADA : Tabuleiro.OCULTA;
+                pacote |= estado << (2 * i);
+            }
+            escreverByte(pacote);
+        }
+    }
+
+    public CodigoPartida getCodigo() { return codigo; }
+
+    /**
+     * Obtém o número de cartas escolhidas gravadas até agora.
+     *
+     * @return Número de jogadas gravadas
+     */
+    public int getJogadas() { return jogadas; }
+
+    /**
+     * Obtém o tamanho atual do registro.
+     *
+     * @return Tamanho em bytes
+     */
+    public int getTamanho() { return tamanho; }
+
+    /**
+     * Copia o registro gravado até agora.
+     *
+     * @return Bytes do registro
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(dados, tamanho);
+    }
+
+    /**
+     * Copia o registro até a última jogada terminada, sem a primeira carta de
+     * uma jogada em andamento.
+     *
+     * @return Bytes do registro
+     */
+    public byte[] jogadasCompletas() {
+        return Arrays.copyOf(dados, fimUltimaJogada);
+    }
+
+    /**
+     * Grava o registro em um arquivo, criando as pastas se preciso.
+     *
+     * @param destino Arquivo de destino
+     * @throws IOException Se o arquivo não puder ser escrito
+     */
+    public void salvar(Path destino) throws IOException {
+        if (destino.getParent() != null) {
+            Files.createDirectories(destino.getParent());
+        }
+        Files.write(destino, toByteArray());
+    }
+
+    /**
+     * Grava o registro na pasta padrão de replays, com um nome que identifica
+     * o tabuleiro e o horário.
+     *
+     * @return Arquivo gravado
+     * @throws IOException Se o arquivo não puder ser escrito
+     */
+    public Path salvar() throws IOException {
+        Path destino = diretorioPadrao().resolve("partida-" + codigo.codificar() + "-"
+                + FORMATO_ARQUIVO.format(LocalDateTime.now()) + EXTENSAO);
+        salvar(destino);
+        return destino;
+    }
+
+    /**
+     * Pasta onde os replays são gravados: {@code ~/.memorymath/replays}.
+     *
+     * @return Pasta padrão de replays
+     */
+    public static Path diretorioPadrao() {
+        return Paths.get(System.getProperty("user.home"), ".memorymath", "replays");
+    }
+
+    private void garantirEspaco(int bytes) {
+        if (tamanho + bytes > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + bytes));
+        }
+    }
+
+    private void escreverByte(int valor) {
+        garantirEspaco(1);
+        dados[tamanho++] = (byte) valor;
+    }
+
+    private void escreverLong(long valor) {
+        garantirEspaco(8);
+        for (int i = 7; i >= 0; i--) {
+            dados[tamanho++] = (byte) (valor >>> (8 * i));
+        }
+    }
+
+    private void escreverVarint(long valor) {
+        garantirEspaco(10);
+        while ((valor & ~0x7FL) != 0) {
+            dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        dados[tamanho++] = (byte) valor;
+    }
+
+    private void escreverTexto(String texto) {
+        byte[] bytes = (texto == null ? "" : texto).getBytes(StandardCharsets.UTF_8);
+        escreverVarint(bytes.length);
+        garantirEspaco(bytes.length);
+        System.arraycopy(bytes, 0, dados, tamanho, bytes.length);
+        tamanho += bytes.length;
+    }
+}
@@ -0,0 +1,244 @@
+package jogodamemoria.memorymath.model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Conteúdo de um registro gravado por {@link RegistroJogadas}, já
+ * decodificado em vetores: para cada carta escolhida, o índice, o resultado
+ * e o tempo desde a escolha anterior, mais os pontos de controle para salto.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class ReplayJogadas {
+
+    private static final MotorJogo.Resultado[] RESULTADOS = {
+        MotorJogo.Resultado.REVELADA, MotorJogo.Resultado.PAR_ENCONTRADO, MotorJogo.Resultado.PAR_ERRADO
+    };
+
+    /**
+     * Posição gravada no início de uma jogada.
+     */
+    public static final class PontoControle {
+        private final int jogada;
+        private final int pontos1;
+        private final int pontos2;
+        private final boolean vezDoJogador1;
+        private final byte[] estados;
+
+        PontoControle(int jogada, int pontos1, int pontos2, boolean vezDoJogador1, byte[] estados) {
+            this.jogada = jogada;
+            this.pontos1 = pontos1;
+            this.pontos2 = pontos2;
+            this.vezDoJogador1 = vezDoJogador1;
+            this.estados = estados;
+        }
+
+        /**
+         * @return Número de cartas já escolhidas nesta posição
+         */
+        public int getJogada() { return jogada; }
+
+        public int getPontos1() { return pontos1; }
+
+        public int getPontos2() { return pontos2; }
+
+        public boolean isVezDoJogador1() { return vezDoJogador1; }
+
+        public byte[] getEstados() { return estados; }
+    }
+
+    private final CodigoPartida codigo;
+    private final long inicio;
+    private final String nomeJogador1;
+    private final String nomeJogador2;
+    private final int[] cartas;
+    private final MotorJogo.Resultado[] resultados;
+    private final int[] intervalos;
+    private final PontoControle[] pontosControle;
+
+    private byte[] dados;
+    private int posicao;
+
+    private ReplayJogadas(byte[] dados) {
+        this.dados = dados;
+        for (byte b : RegistroJogadas.ASSINATURA) {
+            if (lerByte() != b) {
+                throw new IllegalArgumentException("O arquivo não é um replay do MemoryMath.");
+            }
+        }
+        long semente = lerLong();
+        int mascara = lerByte() & 0xFF;
+        int linhas = lerByte() & 0xFF;
+        int colunas = lerByte() & 0xFF;
+        this.codigo = new CodigoPartida(semente, mascara, linhas, colunas);
+        this.inicio = lerLong();
+        this.nomeJogador1 = lerTexto();
+        this.nomeJogador2 = lerTexto();
+
+        int totalCartas = 2 * linhas * colunas;
+        int[] cartasLidas = new int[64];
+        MotorJogo.Resultado[] resultadosLidos = new MotorJogo.Resultado[64];
+        int[] intervalosLidos = new int[64];
+        PontoControle[] pontosLidos = new PontoControle[4];
+        int jogadas = 0;
+        int pontos = 0;
+        while (posicao < dados.length) {
+            int valor = (int) lerVarint();
+            int tipo = valor & 3;
+            if (tipo == RegistroJogadas.TIPO_PONTO_CONTROLE) {
+                if (pontos == pontosLidos.length) {
+                    pontosLidos = Arrays.copyOf(pontosLidos, pontos * 2);
+                }
+                pontosLidos[pontos++] = lerPontoControle(totalCartas);
+                continue;
+            }
+            if (jogadas == cartasLidas.length) {
+                cartasLidas = Arrays.copyOf(cartasLidas, jogadas * 2);
+                resultadosLidos = Arrays.copyOf(resultadosLidos, jogadas * 2);
+                intervalosLidos = Arrays.copyOf(intervalosLidos, jogadas * 2);
+            }
+            int carta = valor >>> 2;
+            if (carta >= totalCartas) {
+                throw new IllegalArgumentException("Carta fora do tabuleiro na jogada " + jogadas + ".");
+            }
+            cartasLidas[jogadas] = carta;
+            resultadosLidos[jogadas] = RESULTADOS[tipo];
+            intervalosLidos[jogadas] = (int) Math.min(Integer.MAX_VALUE, lerVarint());
+            jogadas++;
+        }
+        this.cartas = Arrays.copyOf(cartasLidas, jogadas);
+        this.resultados = Arrays.copyOf(resultadosLidos, jogadas);
+        this.intervalos = Arrays.copyOf(intervalosLidos, jogadas);
+        this.pontosControle = Arrays.copyOf(pontosLidos, pontos);
+        this.dados = null;
+    }
+
+    /**
+     * Decodifica um registro em memória.
+     *
+     * @param dados Bytes gravados por {@link RegistroJogadas}
+     * @return Replay decodificado
+     * @throws IllegalArgumentException Se os dados não forem um registro válido
+     */
+    public static ReplayJogadas ler(byte[] dados) {
+        try {
+            return new ReplayJogadas(dados);
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e;
+            }
+            throw new IllegalArgumentException("Replay incompleto ou corrompido.", e);
+        }
+    }
+
+    /**
+     * Lê e decodifica um arquivo de replay.
+     *
+     * @param arquivo Arquivo gravado por {@link RegistroJogadas#salvar(Path)}
+     * @return Replay decodificado
+     * @throws IOException Se o arquivo não puder ser lido
+     * @throws IllegalArgumentException Se o arquivo não for um registro válido
+     */
+    public static ReplayJogadas ler(Path arquivo) throws IOException {
+        return ler(Files.readAllBytes(arquivo));
+    }
+
+    private PontoControle lerPontoControle(int totalCartas) {
+        int jogada = (int) lerVarint();
+        int pontos1 = (int) lerVarint();
+        int pontos2 = (int) lerVarint();
+        boolean vezDoJogador1 = lerByte() != 0;
+        byte[] estados = new byte[totalCartas];
+        for (int inicio = 0; inicio < totalCartas; inicio += 4) {
+            int pacote = lerByte();
+            for (int i = 0; i < 4 && inicio + i < totalCartas; i++) {
+                estados[inicio + i] = (byte) ((pacote >>> (2 * i)) & 3);
+            }
+        }
+        return new PontoControle(jogada, pontos1, pontos2, vezDoJogador1, estados);
+    }
+
+    private byte lerByte() {
+        return dados[posicao++];
+    }
+
+    private long lerLong() {
+        long valor = 0;
+        for (int i = 0; i < 8; i++) {
+            valor = (valor << 8) | (dados[posicao++] & 0xFF);
+        }
+        return valor;
+    }
+
+    private long lerVarint() {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = dados[posicao++];
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido na posição " + posicao + ".");
+    }
+
+    private String lerTexto() {
+        long tamanho = lerVarint();
+        if (tamanho < 0 || tamanho > dados.length - posicao) {
+            throw new IllegalArgumentException("Texto inválido na posição " + posicao + ".");
+        }
+        String texto = new String(dados, posicao, (int) tamanho, StandardCharsets.UTF_8);
+        posicao += (int) tamanho;
+        return texto;
+    }
+
+    public CodigoPartida getCodigo() { return codigo; }
+
+    /**
+     * @return Instante de início da partida, em milissegundos desde a época
+     */
+    public long getInicio() { return inicio; }
+
+    public String getNomeJogador1() { return nomeJogador1; }
+
+    public String getNomeJogador2() { return nomeJogador2; }
+
+    /**
+     * @return Número de cartas escolhidas na partida
+     */
+    public int getTotalJogadas() { return cartas.length; }
+
+    public int getCarta(int jogada) { return cartas[jogada]; }
+
+    public MotorJogo.Resultado getResultado(int jogada) { return resultados[jogada]; }
+
+    /**
+     * @param jogada Índice da jogada
+     * @return Milissegundos entre a jogada anterior e esta
+     */
+    public int getIntervalo(int jogada) { return intervalos[jogada]; }
+
+    /**
+     * Obtém o último ponto de controle até uma posição.
+     *
+     * @param jogada Número de cartas já escolhidas
+     * @return Ponto de controle mais próximo sem passar da posição, ou null se não houver
+     */
+    public PontoControle pontoControleAte(int jogada) {
+        PontoControle melhor = null;
+        for (PontoControle ponto : pontosControle) {
+            if (ponto.getJogada() > jogada) {
+                break;
+            }
+            melhor = ponto;
+        }
+        return melhor;
+    }
+
+    public int getTotalPontosControle() { return pontosControle.length; }
+}
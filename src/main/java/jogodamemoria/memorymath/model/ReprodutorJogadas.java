@@ -0,0 +1,159 @@
+package jogodamemoria.memorymath.model;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import jogodamemoria.memorymath.HumanPlayer;
+import jogodamemoria.memorymath.Player;
+
+/**
+ * Refaz uma partida gravada sobre um {@link MotorJogo} novo, carta a carta.
+ *
+ * <p>O tabuleiro vem do {@link CodigoPartida} gravado, então cada jogada do
+ * registro é aplicada pelas mesmas regras da partida original e o resultado é
+ * conferido com o que foi gravado. O ritmo fica com quem chama
+ * {@link #proxima()}: a tela usa os intervalos gravados, o modo sem tela
+ * aplica tudo de uma vez. {@link #irPara(int)} salta para qualquer posição
+ * partindo do ponto de controle mais próximo, com o ouvinte desligado.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class ReprodutorJogadas {
+
+    private final ReplayJogadas replay;
+    private final MotorJogo motor;
+    private final byte[] estadosIniciais;
+    private int posicao;
+
+    /**
+     * Construtor da classe ReprodutorJogadas. O motor começa no início da partida.
+     *
+     * @param replay Registro decodificado
+     * @param jogador1 Jogador que ocupa o lugar do primeiro jogador gravado
+     * @param jogador2 Jogador que ocupa o lugar do segundo jogador gravado
+     */
+    public ReprodutorJogadas(ReplayJogadas replay, Player jogador1, Player jogador2) {
+        this(replay, BaralhoPreparado.gerar(replay.getCodigo()).criarTabuleiro(), jogador1, jogador2);
+    }
+
+    /**
+     * Construtor da classe ReprodutorJogadas sobre um tabuleiro já montado.
+     *
+     * @param replay Registro decodificado
+     * @param tabuleiro Tabuleiro intacto gerado a partir de {@link ReplayJogadas#getCodigo()}
+     * @param jogador1 Jogador que ocupa o lugar do primeiro jogador gravado
+     * @param jogador2 Jogador que ocupa o lugar do segundo jogador gravado
+     */
+    public ReprodutorJogadas(ReplayJogadas replay, Tabuleiro tabuleiro, Player jogador1, Player jogador2) {
+        this.replay = replay;
+        this.motor = new MotorJogo(tabuleiro, jogador1, jogador2);
+        this.estadosIniciais = new byte[tabuleiro.getTotalCartas()];
+        jogador1.setScore(0);
+        jogador2.setScore(0);
+    }
+
+    /**
+     * Aplica a próxima carta gravada. Se a jogada anterior foi um par errado,
+     * as cartas são escondidas antes.
+     *
+     * @return Resultado da carta aplicada
+     * @throws IllegalStateException Se não houver próxima jogada ou se o motor
+     *         der um resultado diferente do gravado
+     */
+    public MotorJogo.Resultado proxima() {
+        if (!temProxima()) {
+            throw new IllegalStateException("O replay já terminou.");
+        }
+        motor.concluirJogada();
+        int carta = replay.getCarta(posicao);
+        MotorJogo.Resultado resultado = motor.escolherCarta(carta);
+        if (resultado != replay.getResultado(posicao)) {
+            throw new IllegalStateException("Replay divergente na jogada " + posicao + ": carta " + carta
+                    + " deu " + resultado + ", gravado " + replay.getResultado(posicao) + ".");
+        }
+        posicao++;
+        return resultado;
+    }
+
+    /**
+     * Posiciona o replay depois de um número de cartas escolhidas. O ouvinte
+     * do motor não é avisado; quem salta deve redesenhar a tela.
+     *
+     * @param destino Número de cartas já escolhidas, limitado ao tamanho do replay
+     */
+    public void irPara(int destino) {
+        destino = Math.max(0, Math.min(destino, replay.getTotalJogadas()));
+        MotorJogo.Ouvinte ouvinte = motor.getOuvinte();
+        motor.setOuvinte(null);
+        try {
+            if (destino < posicao) {
+                ReplayJogadas.PontoControle ponto = replay.pontoControleAte(destino);
+                if (ponto == null) {
+                    motor.restaurar(estadosIniciais, 0, 0, true);
+                    posicao = 0;
+                } else {
+                    motor.restaurar(ponto.getEstados(), ponto.getPontos1(), ponto.getPontos2(), ponto.isVezDoJogador1());
+                    posicao = ponto.getJogada();
+                }
+            } else {
+                ReplayJogadas.PontoControle ponto = replay.pontoControleAte(destino);
+                if (ponto != null && ponto.getJogada() > posicao) {
+                    motor.restaurar(ponto.getEstados(), ponto.getPontos1(), ponto.getPontos2(), ponto.isVezDoJogador1());
+                    posicao = ponto.getJogada();
+                }
+            }
+            while (posicao < destino) {
+                proxima();
+            }
+        } finally {
+            motor.setOuvinte(ouvinte);
+        }
+    }
+
+    public boolean temProxima() { return posicao < replay.getTotalJogadas(); }
+
+    /**
+     * @return Número de cartas já aplicadas
+     */
+    public int getPosicao() { return posicao; }
+
+    /**
+     * Obtém o intervalo gravado antes da próxima carta.
+     *
+     * @return Milissegundos, ou 0 se o replay tiver terminado
+     */
+    public int getIntervaloProxima() {
+        return temProxima() ? replay.getIntervalo(posicao) : 0;
+    }
+
+    public ReplayJogadas getReplay() { return replay; }
+
+    public MotorJogo getMotor() { return motor; }
+
+    /**
+     * Uso: {@code ReprodutorJogadas arquivo.mmr [posicao]}.
+     * Refaz a partida sem tela até a posição pedida (ou até o fim) e mostra o placar.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Uso: ReprodutorJogadas arquivo" + RegistroJogadas.EXTENSAO + " [posicao]");
+            return;
+        }
+        ReplayJogadas replay = ReplayJogadas.ler(Paths.get(args[0]));
+        Player jogador1 = new HumanPlayer(replay.getNomeJogador1());
+        Player jogador2 = new HumanPlayer(replay.getNomeJogador2());
+        ReprodutorJogadas reprodutor = new ReprodutorJogadas(replay, jogador1, jogador2);
+
+        long inicio = System.nanoTime();
+        reprodutor.irPara(args.length > 1 ? Integer.parseInt(args[1]) : replay.getTotalJogadas());
+        long fim = System.nanoTime();
+
+        MotorJogo motor = reprodutor.getMotor();
+        System.out.printf("%s: %d de %d cartas, %d pontos de controle%n", replay.getCodigo(),
+                reprodutor.getPosicao(), replay.getTotalJogadas(), replay.getTotalPontosControle());
+        System.out.printf("%s %d x %d %s, %d pares encontrados%s%n",
+                jogador1.getName(), jogador1.getScore(), jogador2.getScore(), jogador2.getName(),
+                motor.getParesEncontrados(), motor.isFimDeJogo() ? " (fim de jogo)" : "");
+        System.out.printf("reprodução em %.2f ms%n", (fim - inicio) / 1e6);
+    }
+}
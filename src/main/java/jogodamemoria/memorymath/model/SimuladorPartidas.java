@@ -0,0 +1,96 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.SplittableRandom;
+import jogodamemoria.memorymath.AIPlayer;
+
+/**
+ * Joga partidas completas entre duas IAs usando apenas o {@link MotorJogo},
+ * sem tela nem atrasos. Serve para comparar dificuldades e medir quantas
+ * partidas por segundo o motor consegue jogar em uma única thread.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class SimuladorPartidas {
+
+    private static final int TODAS_OPERACOES = 0b1111;
+
+    private SimuladorPartidas() {}
+
+    /**
+     * Joga uma partida até o fim.
+     *
+     * @param motor Motor com o tabuleiro ainda intacto e dois jogadores IA
+     * @return Número de jogadas (pares de cartas) feitas
+     */
+    public static int jogar(MotorJogo motor) {
+        int jogadas = 0;
+        while (!motor.isFimDeJogo()) {
+            int primeira = motor.escolherJogadaIA();
+            if (primeira < 0 || motor.escolherCarta(primeira) != MotorJogo.Resultado.REVELADA) {
+                throw new IllegalStateException("IA sem jogada válida para a primeira carta: " + primeira);
+            }
+            int segunda = motor.escolherJogadaIA();
+            if (segunda < 0) {
+                throw new IllegalStateException("IA sem jogada válida para a segunda carta");
+            }
+            if (motor.escolherCarta(segunda) == MotorJogo.Resultado.PAR_ERRADO) {
+                motor.concluirJogada();
+            }
+            jogadas++;
+        }
+        return jogadas;
+    }
+
+    /**
+     * Uso: {@code SimuladorPartidas [partidas] [linhas] [colunas] [dificuldade1] [dificuldade2] [semente] [tempoIA]}.
+     * Cada partida usa um tabuleiro diferente, derivado da semente, com as quatro operações.
+     * O tempo de decisão das IAs, em milissegundos, só pesa para a especialista.
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int linhas = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int colunas = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        AIPlayer.Difficulty dificuldade1 = args.length > 3 ? AIPlayer.Difficulty.valueOf(args[3].toUpperCase()) : AIPlayer.Difficulty.MEDIO;
+        AIPlayer.Difficulty dificuldade2 = args.length > 4 ? AIPlayer.Difficulty.valueOf(args[4].toUpperCase()) : AIPlayer.Difficulty.MEDIO;
+        long semente = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        long tempoIA = args.length > 6 ? Long.parseLong(args[6]) : -1;
+
+        SplittableRandom random = new SplittableRandom(semente);
+        long nanosGeracao = 0;
+        long nanosJogo = 0;
+        long jogadas = 0;
+        int vitorias1 = 0;
+        int vitorias2 = 0;
+        for (int i = 0; i < partidas; i++) {
+            long inicio = System.nanoTime();
+            CodigoPartida codigo = new CodigoPartida(random.nextLong(), TODAS_OPERACOES, linhas, colunas);
+            Tabuleiro tabuleiro = BaralhoPreparado.gerar(codigo).criarTabuleiro();
+            long meio = System.nanoTime();
+
+            AIPlayer ia1 = new AIPlayer(dificuldade1, random.split());
+            AIPlayer ia2 = new AIPlayer(dificuldade2, random.split());
+            if (tempoIA >= 0) {
+                ia1.setTempoDecisaoMs(tempoIA);
+                ia2.setTempoDecisaoMs(tempoIA);
+            }
+            MotorJogo motor = new MotorJogo(tabuleiro, ia1, ia2);
+            jogadas += jogar(motor);
+            if (motor.getVencedor() == ia1) {
+                vitorias1++;
+            } else if (motor.getVencedor() == ia2) {
+                vitorias2++;
+            }
+            long fim = System.nanoTime();
+            nanosGeracao += meio - inicio;
+            nanosJogo += fim - meio;
+        }
+
+        System.out.printf("%d partidas %dx%d (%s x %s, semente %d)%n",
+                partidas, linhas, colunas, dificuldade1, dificuldade2, semente);
+        System.out.printf("vitórias: %d x %d, empates: %d, média de %.1f jogadas por partida%n",
+                vitorias1, vitorias2, partidas - vitorias1 - vitorias2, (double) jogadas / partidas);
+        System.out.printf("jogo: %.0f partidas/s, geração dos tabuleiros: %.1f ms no total%n",
+                partidas / (nanosJogo / 1e9), nanosGeracao / 1e6);
+    }
+}
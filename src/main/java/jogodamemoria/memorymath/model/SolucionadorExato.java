@@ -0,0 +1,374 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Calcula a jogada de maior saldo esperado de pontos em qualquer posição,
+ * supondo que os dois jogadores lembram de todas as cartas já reveladas.
+ *
+ * <p>Com memória perfeita dos dois lados, o que importa em uma posição não é
+ * quais cartas foram vistas, e sim quantos pares restam em cada situação:
+ * prontos (operação e resultado vistos), só com a operação vista, só com o
+ * resultado visto e sem nada visto. Pares prontos são sempre recolhidos por
+ * quem está na vez, então o valor de uma jogada depende só das outras três
+ * contagens. Esse valor é calculado sob demanda e guardado em uma
+ * {@link TabelaTransposicao} de tamanho fixo, com a chave montada a partir
+ * das contagens. Como a chave não depende do tabuleiro, a tabela serve a
+ * todas as partidas, e as seguintes são respondidas quase só do cache.</p>
+ *
+ * <p>A única jogada excluída é virar uma operação já vista e depois um
+ * resultado já visto. Ela não revela nada e devolve ao adversário a mesma
+ * posição, então deixá-la de fora garante que a busca termina.</p>
+ *
+ * <p>Se o thread que consulta for interrompido, o cálculo para na próxima
+ * posição fora da tabela com {@link CancellationException}. Só valores
+ * completos são guardados, então a tabela continua válida.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class SolucionadorExato {
+
+    /** Maior número de pares restantes que o solucionador aceita. */
+    public static final int PARES_MAXIMOS = 100;
+
+    // Cerca de 8 MB; o pior caso, 100 pares, tem 176 851 posições.
+    private static final int CAPACIDADE_TABELA = 1 << 19;
+    private static final long MARCA_CHAVE = 1L << 62;
+    private static final double EMPATE = 1e-9;
+
+    private static SolucionadorExato instance;
+
+    private final TabelaTransposicao tabela = new TabelaTransposicao(CAPACIDADE_TABELA);
+
+    private SolucionadorExato() {}
+
+    /**
+     * Obtém a instância única do SolucionadorExato (Singleton). Pode ser
+     * chamado de qualquer thread.
+     *
+     * @return Instância do SolucionadorExato
+     */
+    public static synchronized SolucionadorExato getInstance() {
+        if (instance == null) {
+            instance = new SolucionadorExato();
+        }
+        return instance;
+    }
+
+    /**
+     * @param pares Pares ainda não encontrados
+     * @return true se a posição estiver dentro do limite do solucionador
+     */
+    public static boolean suporta(int pares) {
+        return pares <= PARES_MAXIMOS;
+    }
+
+    /**
+     * Saldo esperado de quem está na vez, no início de uma jogada.
+     *
+     * @param prontos Pares com operação e resultado vistos
+     * @param soOperacao Pares com só a operação vista
+     * @param soResultado Pares com só o resultado visto
+     * @param nenhum Pares sem nenhuma carta vista
+     * @return Pontos esperados de quem joga menos os do adversário até o fim
+     */
+    public synchronized double valor(int prontos, int soOperacao, int soResultado, int nenhum) {
+        return MotorJogo.PONTOS_ACERTO * prontos + valorSemProntos(soOperacao, soResultado, nenhum);
+    }
+
+    /**
+     * Decide a primeira carta quando não há par pronto.
+     *
+     * @param soOperacao Pares com só a operação vista
+     * @param soResultado Pares com só o resultado visto
+     * @param nenhum Pares sem nenhuma carta vista
+     * @return true para virar uma operação já vista, false para uma nunca vista
+     */
+    public synchronized boolean primeiraCartaVista(int soOperacao, int soResultado, int nenhum) {
+        if (soResultado + nenhum == 0) {
+            return true;
+        }
+        if (soOperacao == 0) {
+            return false;
+        }
+        return operacaoVista(soOperacao, soResultado, nenhum)
+                > operacaoNova(soOperacao, soResultado, nenhum) + EMPATE;
+    }
+
+    /**
+     * Decide a segunda carta quando o resultado da operação aberta não foi
+     * visto. As contagens não incluem o par da operação aberta.
+     *
+     * @param prontos Pares com operação e resultado vistos
+     * @param soOperacao Pares com só a operação vista
+     * @param soResultado Pares com só o resultado visto
+     * @param nenhum Pares sem nenhuma carta vista
+     * @param aberturaInedita true se a operação aberta foi vista pela primeira vez nesta jogada
+     * @return true para virar um resultado já visto (errando de propósito),
+     *         false para um nunca visto
+     */
+    public synchronized boolean segundaCartaVista(int prontos, int soOperacao, int soResultado, int nenhum,
+                                                  boolean aberturaInedita) {
+        if (!aberturaInedita || prontos + soResultado == 0) {
+            return false;
+        }
+        return resultadoVisto(prontos, soOperacao, soResultado, nenhum)
+                > resultadoNovo(prontos, soOperacao, soResultado, nenhum) + EMPATE;
+    }
+
+    /**
+     * Decide entre as duas jogadas de um plano da IA.
+     *
+     * @param posicao Posição conhecida pela IA, sem par pronto na primeira carta
+     * @param aberturaInedita Na segunda carta, se a operação aberta era desconhecida antes da jogada
+     * @return 0 para a carta nunca vista, 1 para a já vista
+     */
+    public synchronized int escolher(BuscaMonteCarlo.Posicao posicao, boolean aberturaInedita) {
+        int prontos = 0;
+        int soOperacao = 0;
+        int soResultado = 0;
+        int nenhum = 0;
+        for (int par = 0; par < posicao.getPares(); par++) {
+            if (par == posicao.getParAberto()) {
+                continue;
+            }
+            boolean operacao = posicao.isOperacaoConhecida(par);
+            boolean resultado = posicao.isResultadoConhecido(par);
+            if (operacao && resultado) {
+                prontos++;
+            } else if (operacao) {
+                soOperacao++;
+            } else if (resultado) {
+                soResultado++;
+            } else {
+                nenhum++;
+            }
+        }
+        boolean vista = posicao.getParAberto() < 0
+                ? primeiraCartaVista(soOperacao, soResultado, nenhum)
+                : segundaCartaVista(prontos, soOperacao, soResultado, nenhum, aberturaInedita);
+        return vista ? 1 : 0;
+    }
+
+    /**
+     * Sugere a próxima carta para quem está na vez, considerando conhecidas
+     * todas as cartas já reveladas na partida. Entre cartas equivalentes,
+     * fica com a primeira do tabuleiro, para não revelar nada que o jogador
+     * não saiba.
+     *
+     * <p>Como {@link Tabuleiro#formamPar} compara valores, as cartas são
+     * agrupadas pelo resultado: com valores repetidos, qualquer operação
+     * vista forma par com qualquer resultado visto de mesmo valor, e é assim
+     * que as contagens da posição são montadas.</p>
+     *
+     * @param tabuleiro Tabuleiro da partida, lido só para os valores das cartas
+     * @param estados Estado de cada carta, copiado do tabuleiro
+     * @param vistas Cartas já reveladas alguma vez, por índice
+     * @param cartaAberta Operação já virada nesta jogada, ou -1 na primeira carta
+     * @param aberturaInedita Se a operação aberta foi vista pela primeira vez nesta jogada
+     * @return Carta sugerida, ou -1 se a posição passar de {@link #PARES_MAXIMOS}
+     */
+    public synchronized int sugerir(Tabuleiro tabuleiro, byte[] estados, boolean[] vistas, int cartaAberta,
+                                   boolean aberturaInedita) {
+        int totalPares = tabuleiro.getTotalPares();
+        int menorValor = Integer.MAX_VALUE;
+        int maiorValor = Integer.MIN_VALUE;
+        for (int operacao = 0; operacao < totalPares; operacao++) {
+            menorValor = Math.min(menorValor, tabuleiro.getResultado(operacao));
+            maiorValor = Math.max(maiorValor, tabuleiro.getResultado(operacao));
+        }
+
+        // Por valor: operações na mesa (sem a aberta), operações vistas e resultados vistos
+        int valores = maiorValor - menorValor + 1;
+        int[] ocultas = new int[valores];
+        int[] operacoesVistas = new int[valores];
+        int[] resultadosVistos = new int[valores];
+        int[] primeiroResultadoVisto = new int[valores];
+        Arrays.fill(primeiroResultadoVisto, -1);
+        for (int carta = 0; carta < 2 * totalPares; carta++) {
+            if (estados[carta] == Tabuleiro.ENCONTRADA || carta == cartaAberta) {
+                continue;
+            }
+            int valor = tabuleiro.getResultado(carta) - menorValor;
+            if (tabuleiro.isOperacao(carta)) {
+                ocultas[valor]++;
+                if (vistas[carta]) {
+                    operacoesVistas[valor]++;
+                }
+            } else if (vistas[carta]) {
+                resultadosVistos[valor]++;
+                primeiroResultadoVisto[valor] = primeiroResultadoVisto[valor] < 0 ? carta : primeiroResultadoVisto[valor];
+            }
+        }
+        if (cartaAberta >= 0) {
+            int resultadoPronto = primeiroResultadoVisto[tabuleiro.getResultado(cartaAberta) - menorValor];
+            if (resultadoPronto >= 0) {
+                return resultadoPronto;
+            }
+        }
+
+        int prontos = 0;
+        int soOperacao = 0;
+        int soResultado = 0;
+        int nenhum = 0;
+        for (int valor = 0; valor < valores; valor++) {
+            int operacoes = operacoesVistas[valor];
+            int resultados = resultadosVistos[valor];
+            int juntos = Math.min(operacoes, resultados);
+            prontos += juntos;
+            soOperacao += operacoes - juntos;
+            soResultado += resultados - juntos;
+            nenhum += ocultas[valor] - Math.max(operacoes, resultados);
+        }
+
+        if (cartaAberta < 0) {
+            int operacaoVista = -1;
+            int operacaoNova = -1;
+            for (int operacao = 0; operacao < totalPares; operacao++) {
+                if (estados[operacao] == Tabuleiro.ENCONTRADA) {
+                    continue;
+                }
+                if (!vistas[operacao]) {
+                    operacaoNova = operacaoNova < 0 ? operacao : operacaoNova;
+                    continue;
+                }
+                if (primeiroResultadoVisto[tabuleiro.getResultado(operacao) - menorValor] >= 0) {
+                    return operacao;
+                }
+                operacaoVista = operacaoVista < 0 ? operacao : operacaoVista;
+            }
+            if (!suporta(soOperacao + soResultado + nenhum)) {
+                return -1;
+            }
+            if (operacaoNova < 0 || operacaoVista < 0) {
+                return operacaoNova < 0 ? operacaoVista : operacaoNova;
+            }
+            return primeiraCartaVista(soOperacao, soResultado, nenhum) ? operacaoVista : operacaoNova;
+        }
+
+        if (!suporta(1 + prontos + soOperacao + soResultado + nenhum)) {
+            return -1;
+        }
+        int resultadoVisto = -1;
+        int resultadoNovo = -1;
+        for (int resultado = totalPares; resultado < 2 * totalPares; resultado++) {
+            if (estados[resultado] != Tabuleiro.OCULTA) {
+                continue;
+            }
+            if (vistas[resultado]) {
+                resultadoVisto = resultadoVisto < 0 ? resultado : resultadoVisto;
+            } else {
+                resultadoNovo = resultadoNovo < 0 ? resultado : resultadoNovo;
+            }
+        }
+        if (resultadoVisto >= 0 && segundaCartaVista(prontos, soOperacao, soResultado, nenhum, aberturaInedita)) {
+            return resultadoVisto;
+        }
+        return resultadoNovo;
+    }
+
+    /**
+     * Saldo de quem está na vez sem pares prontos na mesa.
+     */
+    private double valorSemProntos(int soOperacao, int soResultado, int nenhum) {
+        if (soOperacao + soResultado + nenhum == 0) {
+            return 0;
+        }
+        long chave = MARCA_CHAVE | ((long) soOperacao << 32) | ((long) soResultado << 16) | nenhum;
+        double valor = tabela.buscar(chave);
+        if (!Double.isNaN(valor)) {
+            return valor;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Cálculo interrompido");
+        }
+        valor = Double.NEGATIVE_INFINITY;
+        if (soResultado + nenhum > 0) {
+            valor = operacaoNova(soOperacao, soResultado, nenhum);
+        }
+        if (soOperacao > 0) {
+            valor = Math.max(valor, operacaoVista(soOperacao, soResultado, nenhum));
+        }
+        tabela.guardar(chave, valor);
+        return valor;
+    }
+
+    /**
+     * Vira uma operação nunca vista: se o resultado dela já foi visto é par
+     * certo; senão segue para a segunda carta com a operação recém-descoberta.
+     */
+    private double operacaoNova(int soOperacao, int soResultado, int nenhum) {
+        double ocultas = soResultado + nenhum;
+        double valor = 0;
+        if (soResultado > 0) {
+            valor += soResultado / ocultas
+                    * (MotorJogo.PONTOS_ACERTO + valorSemProntos(soOperacao, soResultado - 1, nenhum));
+        }
+        if (nenhum > 0) {
+            valor += nenhum / ocultas * melhorSegundaCarta(0, soOperacao, soResultado, nenhum - 1, true);
+        }
+        return valor;
+    }
+
+    private double operacaoVista(int soOperacao, int soResultado, int nenhum) {
+        return melhorSegundaCarta(0, soOperacao - 1, soResultado, nenhum, false);
+    }
+
+    private double melhorSegundaCarta(int prontos, int soOperacao, int soResultado, int nenhum, boolean aberturaInedita) {
+        double valor = resultadoNovo(prontos, soOperacao, soResultado, nenhum);
+        if (aberturaInedita && prontos + soResultado > 0) {
+            valor = Math.max(valor, resultadoVisto(prontos, soOperacao, soResultado, nenhum));
+        }
+        return valor;
+    }
+
+    /**
+     * Vira um resultado nunca visto com a operação aberta. Pode ser o par
+     * dela, o de uma operação já vista (que fica pronta para o adversário) ou
+     * o de um par sem nada visto. Errando, a operação aberta passa a ser só
+     * operação vista.
+     */
+    private double resultadoNovo(int prontos, int soOperacao, int soResultado, int nenhum) {
+        double ocultos = 1 + soOperacao + nenhum;
+        double valor = (MotorJogo.PONTOS_ACERTO * (1 + prontos) + valorSemProntos(soOperacao, soResultado, nenhum)) / ocultos;
+        if (soOperacao > 0) {
+            valor += soOperacao / ocultos * (MotorJogo.PONTOS_ERRO
+                    - (MotorJogo.PONTOS_ACERTO * (prontos + 1) + valorSemProntos(soOperacao, soResultado, nenhum)));
+        }
+        if (nenhum > 0) {
+            valor += nenhum / ocultos * (MotorJogo.PONTOS_ERRO
+                    - (MotorJogo.PONTOS_ACERTO * prontos + valorSemProntos(soOperacao + 1, soResultado + 1, nenhum - 1)));
+        }
+        return valor;
+    }
+
+    /**
+     * Erra de propósito virando um resultado já visto: nada é revelado e a
+     * operação aberta passa a ser só operação vista.
+     */
+    private double resultadoVisto(int prontos, int soOperacao, int soResultado, int nenhum) {
+        return MotorJogo.PONTOS_ERRO
+                - (MotorJogo.PONTOS_ACERTO * prontos + valorSemProntos(soOperacao + 1, soResultado, nenhum));
+    }
+
+    /**
+     * Descarta as posições guardadas.
+     */
+    public synchronized void limpar() {
+        tabela.limpar();
+    }
+
+    /**
+     * Resume o uso da tabela de posições.
+     *
+     * @return Ocupação, consultas, taxa de acerto e substituições
+     */
+    public synchronized String resumo() {
+        long consultas = tabela.getConsultas();
+        return String.format("tabela %d/%d posições, %d consultas, %.1f%% do cache, %d substituições",
+                tabela.getOcupadas(), tabela.getCapacidade(), consultas,
+                consultas == 0 ? 0.0 : 100.0 * tabela.getAcertos() / consultas, tabela.getSubstituicoes());
+    }
+}
@@ -0,0 +1,211 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabela imutável com todos os fatos matemáticos válidos de uma operação
+ * dentro dos intervalos usados pelo {@link Gerador}.
+ * Cada fato é empacotado em um único {@code int} (operando 1, operando 2 e
+ * resultado com 10 bits cada), de modo que sortear uma carta é apenas
+ * escolher um índice aleatório da tabela.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class TabelaFatos {
+
+    private static final int BITS = 10;
+    private static final int MASCARA = (1 << BITS) - 1;
+
+    private static final TabelaFatos[] PADRAO = {
+            enumerarSoma(),
+            enumerarSubtracao(),
+            enumerarMultiplicacao(),
+            enumerarDivisao()
+    };
+
+    private final int operacao;
+    private final int[] fatos;
+    private final int resultadoMaximo;
+    private final int[] resultadosDistintos;
+    private final int[] inicioPorResultado;
+    private final int[] fatosPorResultado;
+
+    private TabelaFatos(int operacao, int[] fatos) {
+        this.operacao = operacao;
+        this.fatos = fatos;
+        int maximo = 0;
+        for (int fato : fatos) {
+            maximo = Math.max(maximo, resultado(fato));
+        }
+        this.resultadoMaximo = maximo;
+
+        int[] contagem = new int[maximo + 2];
+        for (int fato : fatos) {
+            contagem[resultado(fato) + 1]++;
+        }
+        int distintos = 0;
+        for (int r = 0; r <= maximo; r++) {
+            if (contagem[r + 1] > 0) distintos++;
+            contagem[r + 1] += contagem[r];
+        }
+        this.inicioPorResultado = contagem.clone();
+        this.fatosPorResultado = new int[fatos.length];
+        for (int fato : fatos) {
+            fatosPorResultado[contagem[resultado(fato)]++] = fato;
+        }
+        this.resultadosDistintos = new int[distintos];
+        int i = 0;
+        for (int r = 0; r <= maximo; r++) {
+            if (inicioPorResultado[r + 1] > inicioPorResultado[r]) {
+                resultadosDistintos[i++] = r;
+            }
+        }
+    }
+
+    /**
+     * Obtém a tabela completa de uma operação.
+     *
+     * @param operacao Código da operação ({@link Gerador#SOMA}, etc.)
+     * @return Tabela de fatos da operação
+     */
+    public static TabelaFatos de(int operacao) {
+        return PADRAO[operacao];
+    }
+
+    /**
+     * Cria uma nova tabela contendo apenas os fatos cujo resultado está no intervalo dado.
+     *
+     * @param resultadoMinimo Menor resultado aceito (inclusivo)
+     * @param resultadoMaximo Maior resultado aceito (inclusivo)
+     * @return Tabela filtrada
+     * @throws IllegalArgumentException se nenhum fato atender ao filtro
+     */
+    public TabelaFatos filtrarPorResultado(int resultadoMinimo, int resultadoMaximo) {
+        int total = 0;
+        int[] filtrados = new int[fatos.length];
+        for (int fato : fatos) {
+            int resultado = resultado(fato);
+            if (resultado >= resultadoMinimo && resultado <= resultadoMaximo) {
+                filtrados[total++] = fato;
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Nenhum fato com resultado entre " + resultadoMinimo + " e " + resultadoMaximo);
+        }
+        int[] compactos = new int[total];
+        System.arraycopy(filtrados, 0, compactos, 0, total);
+        return new TabelaFatos(operacao, compactos);
+    }
+
+    /**
+     * Sorteia um fato da tabela com probabilidade uniforme.
+     *
+     * @param random Gerador de números aleatórios
+     * @return Fato empacotado
+     */
+    public int sortear(RandomGenerator random) {
+        return fatos[random.nextInt(fatos.length)];
+    }
+
+    /**
+     * Conta quantos fatos da tabela produzem o resultado informado.
+     *
+     * @param resultado Resultado procurado
+     * @return Número de fatos com esse resultado
+     */
+    public int contarFatosComResultado(int resultado) {
+        if (resultado < 0 || resultado > resultadoMaximo) {
+            return 0;
+        }
+        return inicioPorResultado[resultado + 1] - inicioPorResultado[resultado];
+    }
+
+    /**
+     * Obtém o k-ésimo fato que produz o resultado informado.
+     *
+     * @param resultado Resultado procurado
+     * @param k Posição entre os fatos com esse resultado
+     * @return Fato empacotado
+     */
+    public int getFatoComResultado(int resultado, int k) {
+        return fatosPorResultado[inicioPorResultado[resultado] + k];
+    }
+
+    /**
+     * Obtém os resultados distintos da tabela, em ordem crescente.
+     * O vetor retornado é compartilhado e não deve ser alterado.
+     *
+     * @return Resultados distintos
+     */
+    int[] getResultadosDistintos() { return resultadosDistintos; }
+
+    public int getQuantidadeResultadosDistintos() { return resultadosDistintos.length; }
+
+    public int getOperacao() { return operacao; }
+
+    public int getTamanho() { return fatos.length; }
+
+    public int getFato(int indice) { return fatos[indice]; }
+
+    /**
+     * Obtém o maior resultado presente na tabela.
+     *
+     * @return Maior resultado
+     */
+    public int getResultadoMaximo() { return resultadoMaximo; }
+
+    public static int operando1(int fato) { return fato & MASCARA; }
+
+    public static int operando2(int fato) { return (fato >>> BITS) & MASCARA; }
+
+    public static int resultado(int fato) { return (fato >>> (2 * BITS)) & MASCARA; }
+
+    private static int empacotar(int operando1, int operando2, int resultado) {
+        return operando1 | (operando2 << BITS) | (resultado << (2 * BITS));
+    }
+
+    private static TabelaFatos enumerarSoma() {
+        int[] fatos = new int[101 * 101];
+        int i = 0;
+        for (int a = 0; a <= 100; a++) {
+            for (int b = 0; b <= 100; b++) {
+                fatos[i++] = empacotar(a, b, a + b);
+            }
+        }
+        return new TabelaFatos(Gerador.SOMA, fatos);
+    }
+
+    private static TabelaFatos enumerarSubtracao() {
+        int[] fatos = new int[200 * 201 / 2];
+        int i = 0;
+        for (int a = 1; a <= 200; a++) {
+            for (int b = 0; b < a; b++) {
+                fatos[i++] = empacotar(a, b, a - b);
+            }
+        }
+        return new TabelaFatos(Gerador.SUBTRACAO, fatos);
+    }
+
+    private static TabelaFatos enumerarMultiplicacao() {
+        int[] fatos = new int[10 * 10];
+        int i = 0;
+        for (int a = 1; a <= 10; a++) {
+            for (int b = 1; b <= 10; b++) {
+                fatos[i++] = empacotar(a, b, a * b);
+            }
+        }
+        return new TabelaFatos(Gerador.MULTIPLICACAO, fatos);
+    }
+
+    private static TabelaFatos enumerarDivisao() {
+        int[] fatos = new int[30 * 10];
+        int i = 0;
+        for (int divisor = 1; divisor <= 30; divisor++) {
+            for (int quociente = 1; quociente <= 10; quociente++) {
+                fatos[i++] = empacotar(divisor * quociente, divisor, quociente);
+            }
+        }
+        return new TabelaFatos(Gerador.DIVISAO, fatos);
+    }
+}
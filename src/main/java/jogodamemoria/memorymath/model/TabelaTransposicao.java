@@ -0,0 +1,117 @@
+package jogodamemoria.memorymath.model;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de espalhamento aberta de chaves {@code long} para valores
+ * {@code double}, de capacidade fixa, usada pelo {@link SolucionadorExato}
+ * para lembrar posições já avaliadas.
+ *
+ * <p>Cada chave é procurada em até {@value #SONDAGEM_MAXIMA} posições
+ * seguidas a partir do seu espalhamento. Se todas estiverem ocupadas por
+ * outras chaves, a da posição inicial é substituída: a memória nunca passa
+ * da capacidade e o que foi descartado é apenas recalculado quando pedido de
+ * novo. Não é sincronizada; quem a usa em vários threads sincroniza fora.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+final class TabelaTransposicao {
+
+    private static final int SONDAGEM_MAXIMA = 8;
+    private static final long VAZIA = 0;
+
+    private final long[] chaves;
+    private final double[] valores;
+    private final int mascara;
+    private final int deslocamento;
+    private int ocupadas;
+    private long consultas;
+    private long acertos;
+    private long substituicoes;
+
+    /**
+     * @param capacidade Número de posições, potência de dois
+     */
+    TabelaTransposicao(int capacidade) {
+        if (Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade deve ser potência de dois: " + capacidade);
+        }
+        this.chaves = new long[capacidade];
+        this.valores = new double[capacidade];
+        this.mascara = capacidade - 1;
+        this.deslocamento = 64 - Integer.numberOfTrailingZeros(capacidade);
+    }
+
+    private int inicio(long chave) {
+        return (int) ((chave * 0x9E3779B97F4A7C15L) >>> deslocamento);
+    }
+
+    /**
+     * @param chave Chave diferente de zero
+     * @return Valor guardado, ou {@link Double#NaN} se a chave não estiver na tabela
+     */
+    double buscar(long chave) {
+        consultas++;
+        int posicao = inicio(chave);
+        for (int i = 0; i < SONDAGEM_MAXIMA; i++) {
+            long atual = chaves[posicao];
+            if (atual == chave) {
+                acertos++;
+                return valores[posicao];
+            }
+            if (atual == VAZIA) {
+                return Double.NaN;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Guarda um valor, substituindo outra chave se a vizinhança estiver cheia.
+     *
+     * @param chave Chave diferente de zero
+     * @param valor Valor da posição
+     */
+    void guardar(long chave, double valor) {
+        int primeira = inicio(chave);
+        int posicao = primeira;
+        for (int i = 0; i < SONDAGEM_MAXIMA; i++) {
+            long atual = chaves[posicao];
+            if (atual == chave || atual == VAZIA) {
+                if (atual == VAZIA) {
+                    ocupadas++;
+                }
+                chaves[posicao] = chave;
+                valores[posicao] = valor;
+                return;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        substituicoes++;
+        chaves[primeira] = chave;
+        valores[primeira] = valor;
+    }
+
+    /**
+     * Descarta todas as posições e as estatísticas.
+     */
+    void limpar() {
+        Arrays.fill(chaves, VAZIA);
+        ocupadas = 0;
+        consultas = 0;
+        acertos = 0;
+        substituicoes = 0;
+    }
+
+    int getCapacidade() { return chaves.length; }
+
+    int getOcupadas() { return ocupadas; }
+
+    long getConsultas() { return consultas; }
+
+    long getAcertos() { return acertos; }
+
+    long getSubstituicoes() { return substituicoes; }
+}
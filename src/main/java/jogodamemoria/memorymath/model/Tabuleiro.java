@@ -0,0 +1,179 @@
+package jogodamemoria.memorymath.model;
+
+/**
+ * Estado de um tabuleiro em jogo, com cada carta identificada por um índice inteiro.
+ * As cartas de operação ocupam os índices {@code 0..n-1}, na ordem da grade de
+ * operações, e as de resultado os índices {@code n..2n-1}, na ordem da grade de
+ * resultados. Estado, par, resultado, operação e texto de cada carta ficam em
+ * vetores primitivos, de modo que consultas e jogadas não alocam objetos.
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class Tabuleiro {
+
+    /** Carta virada para baixo. */
+    public static final byte OCULTA = 0;
+    /** Carta virada para cima durante a jogada. */
+    public static final byte REVELADA = 1;
+    /** Carta que já faz parte de um par encontrado. */
+    public static final byte ENCONTRADA = 2;
+
+    private final int linhas;
+    private final int colunas;
+    private final int totalPares;
+    private final byte[] estados;
+    private final int[] pares;
+    private final int[] resultados;
+    private final byte[] operacoes;
+    private final String[] textos;
+
+    /**
+     * Monta o tabuleiro a partir do baralho de operações e da ordem das cartas
+     * de resultado gerada pelo {@link Gerador}.
+     *
+     * @param baralho Baralho gerado
+     * @param paresResultados Índice da carta de operação de cada posição do grid de resultados
+     */
+    public Tabuleiro(Baralho baralho, int[] paresResultados) {
+        int n = baralho.getTamanho();
+        if (paresResultados.length != n) {
+            throw new IllegalArgumentException("Esperados " + n + " pares, recebidos " + paresResultados.length);
+        }
+        this.linhas = baralho.getLinhas();
+        this.colunas = baralho.getColunas();
+        this.totalPares = n;
+        this.estados = new byte[2 * n];
+        this.pares = new int[2 * n];
+        this.resultados = new int[2 * n];
+        this.operacoes = new byte[2 * n];
+        this.textos = new String[2 * n];
+
+        for (int i = 0; i < n; i++) {
+            pares[i] = i;
+            resultados[i] = baralho.getResultado(i);
+            operacoes[i] = (byte) baralho.getOperacao(i);
+            textos[i] = String.valueOf(baralho.getOperando1(i)) + Gerador.simbolo(baralho.getOperacao(i)) + baralho.getOperando2(i);
+        }
+        for (int slot = 0; slot < n; slot++) {
+            int par = paresResultados[slot];
+            int carta = n + slot;
+            pares[carta] = par;
+            resultados[carta] = resultados[par];
+            operacoes[carta] = operacoes[par];
+            textos[carta] = String.valueOf(resultados[par]);
+        }
+    }
+
+    public int getLinhas() { return linhas; }
+
+    public int getColunas() { return colunas; }
+
+    public int getTotalPares() { return totalPares; }
+
+    public int getTotalCartas() { return 2 * totalPares; }
+
+    /**
+     * Índice da carta de operação na posição indicada da grade de operações.
+     *
+     * @param linha Linha da grade
+     * @param coluna Coluna da grade
+     * @return Índice da carta
+     */
+    public int indiceOperacao(int linha, int coluna) {
+        return linha * colunas + coluna;
+    }
+
+    /**
+     * Índice da carta de resultado na posição indicada da grade de resultados.
+     *
+     * @param linha Linha da grade
+     * @param coluna Coluna da grade
+     * @return Índice da carta
+     */
+    public int indiceResultado(int linha, int coluna) {
+        return totalPares + linha * colunas + coluna;
+    }
+
+    /**
+     * Posição da carta dentro da sua própria grade.
+     *
+     * @param carta Índice da carta
+     * @return Índice plano na grade de operações ou de resultados
+     */
+    public int posicaoNaGrade(int carta) {
+        return carta < totalPares ? carta : carta - totalPares;
+    }
+
+    public boolean isOperacao(int carta) { return carta < totalPares; }
+
+    public boolean isResultado(int carta) { return carta >= totalPares; }
+
+    public byte getEstado(int carta) { return estados[carta]; }
+
+    public boolean isOculta(int carta) { return estados[carta] == OCULTA; }
+
+    public boolean isRevelada(int carta) { return estados[carta] == REVELADA; }
+
+    public boolean isEncontrada(int carta) { return estados[carta] == ENCONTRADA; }
+
+    public void revelar(int carta) { estados[carta] = REVELADA; }
+
+    public void esconder(int carta) { estados[carta] = OCULTA; }
+
+    public void marcarEncontrada(int carta) { estados[carta] = ENCONTRADA; }
+
+    /**
+     * Define diretamente o estado da carta, ao restaurar uma posição salva.
+     *
+     * @param carta Índice da carta
+     * @param estado {@link #OCULTA}, {@link #REVELADA} ou {@link #ENCONTRADA}
+     */
+    public void setEstado(int carta, byte estado) { estados[carta] = estado; }
+
+    /**
+     * Copia o estado de todas as cartas, para cálculos fora do thread da partida.
+     *
+     * @return Cópia dos estados, por índice de carta
+     */
+    public byte[] copiarEstados() { return estados.clone(); }
+
+    /**
+     * Identificador do par da carta: o índice da carta de operação associada,
+     * definido pelo {@link Gerador} quando embaralha os resultados.
+     *
+     * @param carta Índice da carta
+     * @return Identificador do par
+     */
+    public int getPar(int carta) { return pares[carta]; }
+
+    public int getResultado(int carta) { return resultados[carta]; }
+
+    /**
+     * Código da operação da carta ({@link Gerador#SOMA}, etc.). Para cartas de
+     * resultado é a operação do seu par, usada para colorir a face.
+     *
+     * @param carta Índice da carta
+     * @return Código da operação
+     */
+    public int getOperacao(int carta) { return operacoes[carta]; }
+
+    /**
+     * Texto mostrado na face da carta, montado uma única vez na criação do tabuleiro.
+     *
+     * @param carta Índice da carta
+     * @return Expressão ou resultado
+     */
+    public String getTexto(int carta) { return textos[carta]; }
+
+    /**
+     * Verifica se duas cartas formam um par: uma operação e um resultado de mesmo valor.
+     *
+     * @param carta1 Índice da primeira carta
+     * @param carta2 Índice da segunda carta
+     * @return true se formam par
+     */
+    public boolean formamPar(int carta1, int carta2) {
+        return isOperacao(carta1) != isOperacao(carta2) && resultados[carta1] == resultados[carta2];
+    }
+}
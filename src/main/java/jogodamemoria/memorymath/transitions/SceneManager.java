@@ -5,9 +5,11 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import jogodamemoria.memorymath.Main;
+import jogodamemoria.memorymath.controllers.GameController;
 
 import java.io.IOException;
 import java.net.URL;
+import jogodamemoria.memorymath.util.Log;
 
 /**
  * Gerenciador de transições de cenas da aplicação Memory Math.
@@ -19,8 +21,12 @@ import java.net.URL;
  */
 public class SceneManager {
 
+    private static final String CENA_JOGO = "game-view.fxml";
+
     private static SceneManager instance;
     private Stage primaryStage;
+    private Parent raizJogo;
+    private GameController controladorJogo;
 
     /**
      * Construtor privado para implementar o padrão Singleton.
@@ -48,6 +54,13 @@ public class SceneManager {
         this.primaryStage = stage;
     }
 
+    /**
+     * Obtém o palco principal da aplicação, para abrir diálogos sobre ele.
+     * 
+     * @return Palco principal, ou null antes de ser definido
+     */
+    public Stage getPrimaryStage() { return primaryStage; }
+
     /**
      * Carrega uma nova cena a partir de um arquivo FXML.
      * 
@@ -55,36 +68,23 @@ public class SceneManager {
      */
     public void carregarCena(String nomeArquivoFxml) {
         if (primaryStage == null) {
-            System.err.println("Erro: Stage principal não definido.");
+            Log.erro("Erro: Stage principal não definido.");
             return;
         }
         try {
             URL resourceUrl = Main.class.getResource(nomeArquivoFxml);
-            System.out.println("Tentando carregar o recurso: " + nomeArquivoFxml);
-            System.out.println("URL encontrada: " + resourceUrl);
+            Log.debug(() -> "Tentando carregar o recurso: " + nomeArquivoFxml);
+            Log.debug(() -> "URL encontrada: " + resourceUrl);
 
             if (resourceUrl == null) {
                 throw new IOException("Não foi possível encontrar o recurso FXML: " + nomeArquivoFxml);
             }
 
-            FXMLLoader loader = new FXMLLoader(resourceUrl);
-            Parent newRoot = loader.load();
-
-            if (nomeArquivoFxml.contains("game-view.fxml")) {
-                System.out.println("Carregando cena do jogo - inicializando controller...");
-                Object controller = loader.getController();
-                if (controller instanceof jogodamemoria.memorymath.controllers.GameController) {
-                    jogodamemoria.memorymath.controllers.GameController gameController = 
-                        (jogodamemoria.memorymath.controllers.GameController) controller;
-                    javafx.application.Platform.runLater(() -> {
-                        try {
-                            gameController.inicializar();
-                        } catch (Exception e) {
-                            System.err.println("ERRO ao inicializar GameController: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    });
-                }
+            Parent newRoot;
+            if (nomeArquivoFxml.contains(CENA_JOGO)) {
+                newRoot = carregarCenaJogo(resourceUrl);
+            } else {
+                newRoot = new FXMLLoader(resourceUrl).load();
             }
             
             Scene currentScene = primaryStage.getScene();
@@ -96,8 +96,63 @@ public class SceneManager {
             }
 
         } catch (IOException e) {
-            System.err.println("Falha ao carregar o FXML: " + nomeArquivoFxml);
-            e.printStackTrace();
+            Log.erro("Falha ao carregar o FXML: " + nomeArquivoFxml, e);
+        }
+    }
+
+    /**
+     * Salva a partida em andamento se a tela do jogo estiver aberta, para que
+     * fechar a janela não perca a partida.
+     *
+     * @return true se uma partida foi salva
+     */
+    public boolean salvarPartidaEmAndamento() {
+        if (controladorJogo == null || primaryStage == null || primaryStage.getScene() == null
+                || primaryStage.getScene().getRoot() != raizJogo) {
+            return false;
+        }
+        return controladorJogo.salvarPartidaEmAndamento();
+    }
+
+    /**
+     * Obtém a tela do jogo. Ela é carregada do FXML apenas na primeira partida;
+     * nas seguintes a mesma árvore de nós e o mesmo controlador são reaproveitados
+     * e apenas reiniciados para a nova partida.
+     *
+     * @param resourceUrl URL do FXML da tela do jogo
+     * @return Raiz da tela do jogo
+     * @throws IOException Se o FXML não puder ser carregado
+     */
+    private Parent carregarCenaJogo(URL resourceUrl) throws IOException {
+        if (raizJogo != null && controladorJogo != null) {
+            Log.debug("Reaproveitando cena do jogo - preparando nova partida...");
+            GameController controlador = controladorJogo;
+            javafx.application.Platform.runLater(() -> {
+                try {
+                    controlador.prepararNovaPartida();
+                } catch (Exception e) {
+                    Log.erro("Erro ao preparar nova partida: " + e.getMessage(), e);
+                }
+            });
+            return raizJogo;
+        }
+
+        Log.debug("Carregando cena do jogo - inicializando controller...");
+        FXMLLoader loader = new FXMLLoader(resourceUrl);
+        Parent raiz = loader.load();
+        Object controller = loader.getController();
+        if (controller instanceof GameController) {
+            GameController gameController = (GameController) controller;
+            javafx.application.Platform.runLater(() -> {
+                try {
+                    gameController.inicializar();
+                } catch (Exception e) {
+                    Log.erro("Erro ao inicializar GameController: " + e.getMessage(), e);
+                }
+            });
+            raizJogo = raiz;
+            controladorJogo = gameController;
         }
+        return raiz;
     }
-}
\ No newline at end of file
+}
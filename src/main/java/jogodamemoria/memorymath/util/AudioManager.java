@@ -103,7 +103,7 @@ public class AudioManager {
             }
             
         } catch (Exception e) {
-            System.err.println("Erro ao carregar sons: " + e.getMessage());
+            Log.erro("Erro ao carregar sons: " + e.getMessage());
         }
     }
     
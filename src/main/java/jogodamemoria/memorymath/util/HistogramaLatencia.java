@@ -0,0 +1,126 @@
+package jogodamemoria.memorymath.util;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de durações em nanossegundos, no estilo do HdrHistogram: as
+ * faixas crescem em potências de dois e cada uma é dividida em
+ * {@value #SUBFAIXAS} partes iguais, então qualquer valor fica registrado
+ * com erro relativo abaixo de 1/{@value #SUBFAIXAS}.
+ *
+ * <p>Registrar custa um incremento em um vetor fixo, sem alocação. Valores
+ * acima de {@link #VALOR_MAXIMO} (cerca de 18 minutos) contam na última
+ * faixa. Não é seguro para uso por várias threads: cada histograma deve ser
+ * alimentado por uma só (no jogo, a do JavaFX).</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 6;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int LINEARES = 2 * SUBFAIXAS;
+    private static final int DESLOCAMENTO_MAXIMO = 34;
+
+    /** Maior valor registrado sem saturar, em nanossegundos. */
+    public static final long VALOR_MAXIMO = (2L * SUBFAIXAS << DESLOCAMENTO_MAXIMO) - 1;
+
+    private final long[] contagens = new long[LINEARES + DESLOCAMENTO_MAXIMO * SUBFAIXAS];
+    private long total;
+    private long soma;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+
+    /**
+     * Registra uma duração.
+     *
+     * @param nanos Duração em nanossegundos; negativos contam como zero
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, Math.min(nanos, VALOR_MAXIMO));
+        contagens[indice(valor)]++;
+        total++;
+        soma += valor;
+        if (valor < minimo) {
+            minimo = valor;
+        }
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+
+    private static int indice(long valor) {
+        if (valor < LINEARES) {
+            return (int) valor;
+        }
+        int deslocamento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBFAIXA;
+        return LINEARES + (deslocamento - 1) * SUBFAIXAS + (int) (valor >>> deslocamento) - SUBFAIXAS;
+    }
+
+    /**
+     * Maior valor que cai na mesma posição do vetor que o índice dado.
+     */
+    private static long maiorValorEquivalente(int indice) {
+        if (indice < LINEARES) {
+            return indice;
+        }
+        int deslocamento = (indice - LINEARES) / SUBFAIXAS + 1;
+        long subfaixa = (indice - LINEARES) % SUBFAIXAS + SUBFAIXAS;
+        return ((subfaixa + 1) << deslocamento) - 1;
+    }
+
+    /**
+     * Obtém o valor abaixo do qual está uma fração das amostras.
+     *
+     * @param percentil Percentil entre 0 e 100
+     * @return Duração em nanossegundos, ou 0 se não houver amostras
+     */
+    public long percentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * Math.min(100, percentil) / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(maiorValorEquivalente(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getTotal() { return total; }
+
+    public long getMinimo() { return total == 0 ? 0 : minimo; }
+
+    public long getMaximo() { return maximo; }
+
+    /**
+     * @return Média em nanossegundos, ou 0 se não houver amostras
+     */
+    public double getMedia() { return total == 0 ? 0 : (double) soma / total; }
+
+    /**
+     * Descarta todas as amostras.
+     */
+    public void zerar() {
+        Arrays.fill(contagens, 0);
+        total = 0;
+        soma = 0;
+        minimo = Long.MAX_VALUE;
+        maximo = 0;
+    }
+
+    /**
+     * Resume o histograma em uma linha, com os tempos em microssegundos.
+     *
+     * @return Contagem, média, p50, p90, p99, p99,9 e máximo
+     */
+    public String resumo() {
+        return String.format("n=%d média=%.1f p50=%.1f p90=%.1f p99=%.1f p99,9=%.1f máx=%.1f µs",
+                total, getMedia() / 1e3, percentil(50) / 1e3, percentil(90) / 1e3,
+                percentil(99) / 1e3, percentil(99.9) / 1e3, maximo / 1e3);
+    }
+}
@@ -0,0 +1,218 @@
+package jogodamemoria.memorymath.util;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Registro de mensagens do jogo, com níveis e escrita assíncrona.
+ * Mensagens abaixo do nível ativo são descartadas antes de qualquer
+ * concatenação ou formatação: use as versões com {@link Supplier} ou com
+ * formato e argumentos quando a mensagem tiver partes variáveis.
+ *
+ * <p>As mensagens aceitas vão para uma fila limitada e são escritas no console
+ * por uma thread daemon. Quem registra nunca espera: se a fila estiver cheia a
+ * mensagem é descartada e o total de descartes é informado depois.</p>
+ *
+ * <p>O nível ativo vem da propriedade de sistema {@code memorymath.log}
+ * ({@code DEBUG}, {@code INFO}, {@code AVISO}, {@code ERRO} ou {@code DESLIGADO});
+ * o padrão é {@code INFO}.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class Log {
+
+    /**
+     * Níveis de registro, do mais detalhado ao mais grave.
+     */
+    public enum Nivel { DEBUG, INFO, AVISO, ERRO, DESLIGADO }
+
+    private static final int CAPACIDADE_FILA = 4096;
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private static volatile Nivel nivelAtivo = lerNivelConfigurado();
+
+    private static final BlockingQueue<Registro> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+    private static final AtomicLong descartadas = new AtomicLong();
+
+    static {
+        Thread escritor = new Thread(Log::escrever, "log");
+        escritor.setDaemon(true);
+        escritor.setPriority(Thread.MIN_PRIORITY);
+        escritor.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::esvaziar, "log-encerramento"));
+    }
+
+    private Log() {}
+
+    /**
+     * Define o nível ativo em tempo de execução.
+     *
+     * @param nivel Novo nível mínimo das mensagens registradas
+     */
+    public static void setNivel(Nivel nivel) { nivelAtivo = nivel; }
+
+    public static Nivel getNivel() { return nivelAtivo; }
+
+    /**
+     * Verifica se mensagens do nível informado serão registradas.
+     * Útil para proteger blocos que só existem para montar a mensagem.
+     *
+     * @param nivel Nível da mensagem
+     * @return true se o nível estiver ativo
+     */
+    public static boolean ativo(Nivel nivel) {
+        return nivel.ordinal() >= nivelAtivo.ordinal() && nivel != Nivel.DESLIGADO;
+    }
+
+    public static void debug(String mensagem) { registrar(Nivel.DEBUG, mensagem, null, null); }
+
+    public static void debug(Supplier<String> mensagem) {
+        if (ativo(Nivel.DEBUG)) registrar(Nivel.DEBUG, mensagem.get(), null, null);
+    }
+
+    public static void debug(String formato, Object arg) {
+        if (ativo(Nivel.DEBUG)) registrar(Nivel.DEBUG, formato, new Object[] {arg}, null);
+    }
+
+    public static void debug(String formato, Object arg1, Object arg2) {
+        if (ativo(Nivel.DEBUG)) registrar(Nivel.DEBUG, formato, new Object[] {arg1, arg2}, null);
+    }
+
+    public static void debug(String formato, Object arg1, Object arg2, Object arg3) {
+        if (ativo(Nivel.DEBUG)) registrar(Nivel.DEBUG, formato, new Object[] {arg1, arg2, arg3}, null);
+    }
+
+    public static void info(String mensagem) { registrar(Nivel.INFO, mensagem, null, null); }
+
+    public static void info(Supplier<String> mensagem) {
+        if (ativo(Nivel.INFO)) registrar(Nivel.INFO, mensagem.get(), null, null);
+    }
+
+    public static void info(String formato, Object arg) {
+        if (ativo(Nivel.INFO)) registrar(Nivel.INFO, formato, new Object[] {arg}, null);
+    }
+
+    public static void info(String formato, Object arg1, Object arg2) {
+        if (ativo(Nivel.INFO)) registrar(Nivel.INFO, formato, new Object[] {arg1, arg2}, null);
+    }
+
+    public static void info(String formato, Object arg1, Object arg2, Object arg3) {
+        if (ativo(Nivel.INFO)) registrar(Nivel.INFO, formato, new Object[] {arg1, arg2, arg3}, null);
+    }
+
+    public static void aviso(String mensagem) { registrar(Nivel.AVISO, mensagem, null, null); }
+
+    public static void aviso(String formato, Object arg) {
+        if (ativo(Nivel.AVISO)) registrar(Nivel.AVISO, formato, new Object[] {arg}, null);
+    }
+
+    public static void erro(String mensagem) { registrar(Nivel.ERRO, mensagem, null, null); }
+
+    public static void erro(String formato, Object arg) {
+        if (ativo(Nivel.ERRO)) registrar(Nivel.ERRO, formato, new Object[] {arg}, null);
+    }
+
+    /**
+     * Registra um erro com a pilha de chamadas da exceção.
+     *
+     * @param mensagem Descrição do erro
+     * @param erro Exceção causadora
+     */
+    public static void erro(String mensagem, Throwable erro) { registrar(Nivel.ERRO, mensagem, null, erro); }
+
+    /**
+     * Coloca a mensagem na fila sem bloquear. A formatação dos argumentos
+     * acontece na thread de escrita, por isso eles devem ser valores imutáveis.
+     */
+    private static void registrar(Nivel nivel, String mensagem, Object[] argumentos, Throwable erro) {
+        if (!ativo(nivel)) {
+            return;
+        }
+        Registro registro = new Registro(nivel, System.currentTimeMillis(), Thread.currentThread().getName(),
+                mensagem, argumentos, erro);
+        if (!fila.offer(registro)) {
+            descartadas.incrementAndGet();
+        }
+    }
+
+    private static void escrever() {
+        while (true) {
+            try {
+                imprimir(fila.take());
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Uma mensagem mal formatada não pode derrubar a thread de escrita.
+            }
+        }
+    }
+
+    /**
+     * Escreve o que ainda estiver na fila quando a aplicação termina.
+     */
+    private static void esvaziar() {
+        Registro registro;
+        while ((registro = fila.poll()) != null) {
+            imprimir(registro);
+        }
+    }
+
+    private static void imprimir(Registro registro) {
+        long perdidas = descartadas.getAndSet(0);
+        if (perdidas > 0) {
+            System.err.println(prefixo(registro.instante, Nivel.AVISO, "log")
+                    + perdidas + " mensagens descartadas (fila cheia)");
+        }
+        String texto = registro.argumentos == null
+                ? registro.mensagem
+                : String.format(registro.mensagem, registro.argumentos);
+        PrintStream saida = registro.nivel.ordinal() >= Nivel.AVISO.ordinal() ? System.err : System.out;
+        saida.println(prefixo(registro.instante, registro.nivel, registro.thread) + texto);
+        if (registro.erro != null) {
+            registro.erro.printStackTrace(saida);
+        }
+    }
+
+    private static String prefixo(long instante, Nivel nivel, String thread) {
+        LocalTime hora = LocalTime.ofInstant(Instant.ofEpochMilli(instante), ZoneId.systemDefault());
+        return FORMATO_HORA.format(hora) + " " + nivel + " [" + thread + "] ";
+    }
+
+    private static Nivel lerNivelConfigurado() {
+        String configurado = System.getProperty("memorymath.log");
+        if (configurado != null) {
+            try {
+                return Nivel.valueOf(configurado.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Nível de log desconhecido: " + configurado);
+            }
+        }
+        return Nivel.INFO;
+    }
+
+    private static final class Registro {
+        final Nivel nivel;
+        final long instante;
+        final String thread;
+        final String mensagem;
+        final Object[] argumentos;
+        final Throwable erro;
+
+        Registro(Nivel nivel, long instante, String thread, String mensagem, Object[] argumentos, Throwable erro) {
+            this.nivel = nivel;
+            this.instante = instante;
+            this.thread = thread;
+            this.mensagem = mensagem;
+            this.argumentos = argumentos;
+            this.erro = erro;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package jogodamemoria.memorymath.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+/**
+ * Mede o tempo entre o clique em uma carta e a carta aparecer na tela,
+ * separado por fase, com um {@link HistogramaLatencia} para cada uma.
+ * Implementa o padrão Singleton.
+ *
+ * <p>Todas as medições são feitas no thread do JavaFX. O relatório pode ser
+ * visto no painel de depuração da partida (F3) e é gravado ao fechar o jogo
+ * em {@code ~/.memorymath/latencia.txt}.</p>
+ *
+ * @author Renan Amancio
+ * @version 1.0
+ */
+public final class MedidorLatencia {
+
+    /**
+     * Fases do caminho entre o clique e a carta desenhada.
+     */
+    public enum Fase {
+        /** Do início do tratamento do clique até a jogada chegar ao motor. */
+        MANIPULADOR("manipulador"),
+        /** Regras da jogada no motor, sem a memória das IAs nem a tela. */
+        MODELO("modelo"),
+        /** Atualização da memória das IAs com a carta revelada. */
+        REGISTRO_IA("registro IA"),
+        /** Disparo do som da carta. */
+        AUDIO("áudio"),
+        /** Da troca do estado visual até o fim do layout do pulso seguinte. */
+        RENDERIZACAO("renderização"),
+        /** Do clique até o fim do layout do pulso seguinte. */
+        TOTAL("total");
+
+        private final String nome;
+
+        Fase(String nome) {
+            this.nome = nome;
+        }
+
+        public String getNome() { return nome; }
+    }
+
+    private static MedidorLatencia instance;
+
+    private final HistogramaLatencia[] histogramas = new HistogramaLatencia[Fase.values().length];
+
+    private MedidorLatencia() {
+        for (int i = 0; i < histogramas.length; i++) {
+            histogramas[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Obtém a instância única do MedidorLatencia (Singleton).
+     *
+     * @return Instância do MedidorLatencia
+     */
+    public static MedidorLatencia getInstance() {
+        if (instance == null) {
+            instance = new MedidorLatencia();
+        }
+        return instance;
+    }
+
+    /**
+     * Registra a duração de uma fase.
+     *
+     * @param fase Fase medida
+     * @param nanos Duração em nanossegundos
+     */
+    public void registrar(Fase fase, long nanos) {
+        histogramas[fase.ordinal()].registrar(nanos);
+    }
+
+    public HistogramaLatencia getHistograma(Fase fase) { return histogramas[fase.ordinal()]; }
+
+    /**
+     * Verifica se algum clique já foi medido.
+     *
+     * @return true se houver amostras
+     */
+    public boolean temAmostras() {
+        return histogramas[Fase.TOTAL.ordinal()].getTotal() > 0;
+    }
+
+    /**
+     * Descarta todas as medições.
+     */
+    public void zerar() {
+        for (HistogramaLatencia histograma : histogramas) {
+            histograma.zerar();
+        }
+    }
+
+    /**
+     * Monta o relatório com uma linha por fase.
+     *
+     * @return Relatório em texto
+     */
+    public String relatorio() {
+        StringBuilder texto = new StringBuilder("Latência clique → carta\n");
+        for (Fase fase : Fase.values()) {
+            texto.append(String.format("%-13s %s%n", fase.getNome(), histogramas[fase.ordinal()].resumo()));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Escreve o relatório no log e no arquivo de latência, se houver medições.
+     * Chamado ao fechar o jogo.
+     */
+    public void despejar() {
+        if (!temAmostras()) {
+            return;
+        }
+        String relatorio = relatorio();
+        Log.info(relatorio);
+        Path arquivo = Paths.get(System.getProperty("user.home"), ".memorymath", "latencia.txt");
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Files.writeString(arquivo, LocalDateTime.now() + "\n" + relatorio, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Log.aviso("Não foi possível gravar o relatório de latência: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package jogodamemoria.memorymath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Memória da {@link AIPlayer}: pares prontos encontrados pelo valor do
+ * resultado, cartas encontradas esquecidas, jogada de reserva e decisões
+ * interrompidas.
+ */
+class AIPlayerTest {
+
+    // Tabuleiro de 4 pares: operações 0..3 e resultados 4..7
+    private static final int[] OPERACOES = {0, 1, 2, 3};
+    private static final int[] RESULTADOS = {4, 5, 6, 7};
+
+    @Test
+    void parProntoEhJogadoPelasDuasCartas() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.MEDIO, new SplittableRandom(1));
+        ia.registrarCartaRevelada(2, 12, true);
+        ia.registrarCartaRevelada(5, 12, false);
+        ia.registrarCartaRevelada(6, 30, false);
+
+        assertEquals(2, ia.calcularMelhorJogada(OPERACOES, 4, -1));
+        assertEquals(5, ia.calcularMelhorJogada(RESULTADOS, 4, 2));
+    }
+
+    @Test
+    void operacaoAbertaEncontraResultadoDeMesmoValor() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.FACIL, new SplittableRandom(2));
+        ia.registrarCartaRevelada(7, 9, false);
+        ia.registrarCartaRevelada(1, 9, true);
+        assertEquals(7, ia.calcularMelhorJogada(RESULTADOS, 4, 1));
+    }
+
+    @Test
+    void cartaEncontradaSaiDaMemoria() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.DIFICIL, new SplittableRandom(3));
+        ia.registrarCartaRevelada(0, 8, true);
+        ia.registrarCartaRevelada(4, 8, false);
+        ia.removerCartaDaMemoria(0);
+        ia.removerCartaDaMemoria(4);
+
+        assertTrue(ia.obterEstatisticasMemoria().contains("Cartas na memória: 0"));
+        for (int i = 0; i < 50; i++) {
+            int carta = ia.calcularMelhorJogada(new int[] {1, 2, 3}, 3, -1);
+            assertTrue(carta >= 1 && carta <= 3);
+        }
+    }
+
+    @Test
+    void entreVariosParesProntosSorteiaUmDeles() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.DIFICIL, new SplittableRandom(4));
+        for (int par = 0; par < 4; par++) {
+            ia.registrarCartaRevelada(par, 10 + par, true);
+            ia.registrarCartaRevelada(4 + par, 10 + par, false);
+        }
+        boolean[] escolhidas = new boolean[4];
+        for (int i = 0; i < 200; i++) {
+            escolhidas[ia.calcularMelhorJogada(OPERACOES, 4, -1)] = true;
+        }
+        for (boolean escolhida : escolhidas) {
+            assertTrue(escolhida);
+        }
+    }
+
+    @Test
+    void reservaUsaParProntoDaMemoria() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.ESPECIALISTA, new SplittableRandom(5));
+        ia.registrarCartaRevelada(3, 21, true);
+        ia.registrarCartaRevelada(6, 21, false);
+
+        assertEquals(3, ia.jogadaDeReserva(OPERACOES, 4, -1));
+        assertEquals(6, ia.jogadaDeReserva(RESULTADOS, 4, 3));
+    }
+
+    @Test
+    void reservaSemParProntoSorteiaUmaCandidata() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.ESPECIALISTA, new SplittableRandom(6));
+        ia.registrarCartaRevelada(0, 21, true);
+        int carta = ia.jogadaDeReserva(RESULTADOS, 4, -1);
+        assertTrue(carta >= 4 && carta <= 7);
+        assertEquals(-1, ia.jogadaDeReserva(RESULTADOS, 0, -1));
+    }
+
+    @Test
+    void buscaInterrompidaEhCancelada() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.ESPECIALISTA, new SplittableRandom(7));
+        ia.registrarCartaRevelada(0, 11, true);
+        ia.registrarCartaRevelada(5, 12, false);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> ia.calcularMelhorJogada(OPERACOES, 4, -1));
+        } finally {
+            Thread.interrupted();
+        }
+        // Sem interrupção a mesma decisão sai normalmente
+        int carta = ia.calcularMelhorJogada(OPERACOES, 4, -1);
+        assertTrue(carta >= 0 && carta <= 3);
+    }
+}
@@ -0,0 +1,82 @@
+package jogodamemoria.memorymath.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.model.BuscaMonteCarlo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cancelamento das buscas pedidas pelo {@link DecisoesIA}: ao cancelar, os
+ * threads da busca param em vez de simular até o prazo. Sem o JavaFX
+ * iniciado as respostas nunca são entregues, o que aqui não importa.
+ */
+class DecisoesIATest {
+
+    private final DecisoesIA decisoes = new DecisoesIA();
+
+    @AfterEach
+    void encerrar() {
+        decisoes.encerrar();
+    }
+
+    @Test
+    void cancelarTodasInterrompeABuscaEmAndamento() throws InterruptedException {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch terminou = new CountDownLatch(1);
+        BuscaMonteCarlo.Posicao posicao = new BuscaMonteCarlo.Posicao(8, -1);
+        posicao.conhecerOperacao(3);
+        int[] jogadas = {BuscaMonteCarlo.CARTA_DESCONHECIDA, 3};
+
+        decisoes.sugerir(() -> {
+            iniciou.countDown();
+            try {
+                return BuscaMonteCarlo.getInstance().escolher(posicao, jogadas,
+                        System.nanoTime() + TimeUnit.SECONDS.toNanos(10), new SplittableRandom(1));
+            } finally {
+                terminou.countDown();
+            }
+        }, carta -> { });
+        assertTrue(iniciou.await(2, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        decisoes.cancelarTodas();
+
+        assertEquals(0, decisoes.getPendentes());
+        assertTrue(terminou.await(2, TimeUnit.SECONDS), "Busca não parou ao ser cancelada");
+        assertTrue(ociosaEm(TimeUnit.SECONDS.toNanos(2)), "Tarefas da busca continuaram simulando");
+    }
+
+    @Test
+    void encerrarParaAIaAntesDoPrazo() throws InterruptedException {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.ESPECIALISTA, new SplittableRandom(2));
+        ia.registrarCartaRevelada(0, 11, true);
+        decisoes.decidir(ia, new int[] {0, 1, 2, 3}, -1, carta -> { });
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (BuscaMonteCarlo.getInstance().isOciosa() && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+        assertFalse(BuscaMonteCarlo.getInstance().isOciosa(), "A IA não chegou a buscar");
+        decisoes.encerrar();
+
+        // O prazo da busca é de 375 ms; cancelada, ela para bem antes
+        assertTrue(ociosaEm(TimeUnit.MILLISECONDS.toNanos(150)), "Busca da IA seguiu depois de encerrar");
+    }
+
+    private static boolean ociosaEm(long nanos) throws InterruptedException {
+        long limite = System.nanoTime() + nanos;
+        while (!BuscaMonteCarlo.getInstance().isOciosa()) {
+            if (System.nanoTime() > limite) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
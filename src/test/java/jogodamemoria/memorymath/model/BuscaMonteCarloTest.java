@@ -0,0 +1,90 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Escolhas da {@link BuscaMonteCarlo} em posições com jogada claramente
+ * melhor e cancelamento por interrupção.
+ */
+class BuscaMonteCarloTest {
+
+    private static final long PRAZO_NANOS = 20_000_000L;
+    private static final long PRAZO_LONGO_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int[] JOGADAS_LONGAS = {BuscaMonteCarlo.CARTA_DESCONHECIDA, 3};
+
+    @Test
+    void segundaCartaPrefereResultadoNovoQuandoSoSobraOPar() {
+        // Operação do par 0 aberta; o único resultado oculto é o dela, e o
+        // resultado visto é do par 1
+        BuscaMonteCarlo.Posicao posicao = new BuscaMonteCarlo.Posicao(2, 0);
+        posicao.conhecerResultado(1);
+        int[] jogadas = {BuscaMonteCarlo.CARTA_DESCONHECIDA, 1};
+
+        assertEquals(0, BuscaMonteCarlo.getInstance().escolher(posicao, jogadas,
+                System.nanoTime() + PRAZO_NANOS, new SplittableRandom(1)));
+    }
+
+    @Test
+    void threadJaInterrompidoNemComecaABusca() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> BuscaMonteCarlo.getInstance().escolher(posicaoLonga(),
+                    JOGADAS_LONGAS, System.nanoTime() + PRAZO_LONGO_NANOS, new SplittableRandom(3)));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void interromperDuranteABuscaParaAsTarefas() throws InterruptedException {
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        Thread busca = new Thread(() -> {
+            try {
+                BuscaMonteCarlo.getInstance().escolher(posicaoLonga(), JOGADAS_LONGAS,
+                        System.nanoTime() + PRAZO_LONGO_NANOS, new SplittableRandom(4));
+            } catch (RuntimeException e) {
+                erro.set(e);
+            }
+        });
+        long inicio = System.nanoTime();
+        busca.start();
+        Thread.sleep(50);
+        busca.interrupt();
+        busca.join(TimeUnit.NANOSECONDS.toMillis(PRAZO_LONGO_NANOS));
+
+        assertInstanceOf(CancellationException.class, erro.get());
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(2), "Busca não parou ao ser interrompida");
+        assertTrue(ociosaEm(TimeUnit.SECONDS.toNanos(2)), "Tarefas da busca continuaram simulando");
+    }
+
+    private static BuscaMonteCarlo.Posicao posicaoLonga() {
+        BuscaMonteCarlo.Posicao posicao = new BuscaMonteCarlo.Posicao(8, -1);
+        posicao.conhecerOperacao(3);
+        return posicao;
+    }
+
+    /**
+     * Espera o pool da busca ficar sem tarefas, já que a busca cancelada
+     * responde antes de as tarefas verem a marca.
+     */
+    static boolean ociosaEm(long nanos) throws InterruptedException {
+        long limite = System.nanoTime() + nanos;
+        while (!BuscaMonteCarlo.getInstance().isOciosa()) {
+            if (System.nanoTime() > limite) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Ida e volta dos dois formatos do {@link ExportadorProblemas} com vários
+ * lotes e mais de um trabalhador: cabeçalho, índices, fatos válidos e
+ * reprodutibilidade pela semente.
+ */
+class ExportadorProblemasTest {
+
+    // Três lotes de 8192 problemas, o último incompleto
+    private static final int QUANTIDADE = 20_000;
+    private static final int PARALELISMO = 4;
+    private static final int[] TODAS = {1, 1, 1, 1};
+    private static final String[] SIMBOLOS = {"+", "-", "×", "÷"};
+
+    private static final List<Set<String>> FATOS = new ArrayList<>();
+
+    @TempDir
+    Path pasta;
+
+    @BeforeAll
+    static void carregarFatos() {
+        for (int operacao = Gerador.SOMA; operacao <= Gerador.DIVISAO; operacao++) {
+            TabelaFatos tabela = TabelaFatos.de(operacao);
+            Set<String> fatos = new HashSet<>();
+            for (int i = 0; i < tabela.getTamanho(); i++) {
+                int fato = tabela.getFato(i);
+                fatos.add(chave(TabelaFatos.operando1(fato), TabelaFatos.operando2(fato), TabelaFatos.resultado(fato)));
+            }
+            FATOS.add(fatos);
+        }
+    }
+
+    @Test
+    void binarioTemCabecalhoERegistrosValidos() throws IOException {
+        Path arquivo = exportar("problemas.bin", 11, ExportadorProblemas.Formato.BINARIO, PARALELISMO);
+        ByteBuffer dados = ByteBuffer.wrap(Files.readAllBytes(arquivo)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(12 + 7L * QUANTIDADE, dados.remaining());
+        assertEquals('M', dados.get());
+        assertEquals('M', dados.get());
+        assertEquals('P', dados.get());
+        assertEquals('1', dados.get());
+        assertEquals(QUANTIDADE, dados.getLong());
+        int[] porOperacao = new int[4];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            int operacao = dados.get();
+            int operando1 = dados.getShort();
+            int operando2 = dados.getShort();
+            int resultado = dados.getShort();
+            assertValido(operacao, operando1, operando2, resultado, "registro " + i);
+            porOperacao[operacao]++;
+        }
+        for (int quantidade : porOperacao) {
+            assertTrue(quantidade > QUANTIDADE / 5);
+        }
+    }
+
+    @Test
+    void binarioEhIdenticoParaAMesmaSemente() throws IOException {
+        byte[] paralelo = Files.readAllBytes(exportar("a.bin", 12, ExportadorProblemas.Formato.BINARIO, PARALELISMO));
+        byte[] sequencial = Files.readAllBytes(exportar("b.bin", 12, ExportadorProblemas.Formato.BINARIO, 1));
+        byte[] outraSemente = Files.readAllBytes(exportar("c.bin", 13, ExportadorProblemas.Formato.BINARIO, PARALELISMO));
+
+        assertArrayEquals(paralelo, sequencial);
+        assertFalse(Arrays.equals(paralelo, outraSemente));
+    }
+
+    @Test
+    void csvTemCadaIndiceUmaVezComOsMesmosFatosDoBinario() throws IOException {
+        Path csv = exportar("problemas.csv", 14, ExportadorProblemas.Formato.CSV, PARALELISMO);
+        ByteBuffer binario = ByteBuffer.wrap(Files.readAllBytes(exportar("problemas.bin", 14,
+                ExportadorProblemas.Formato.BINARIO, 1))).order(ByteOrder.LITTLE_ENDIAN);
+
+        List<String> linhas = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals("indice,operando1,operacao,operando2,resultado", linhas.get(0));
+        assertEquals(QUANTIDADE + 1, linhas.size());
+        String[] porIndice = new String[QUANTIDADE];
+        for (String linha : linhas.subList(1, linhas.size())) {
+            String[] campos = linha.split(",");
+            assertEquals(5, campos.length, linha);
+            int indice = Integer.parseInt(campos[0]);
+            assertNull(porIndice[indice], "Índice repetido: " + indice);
+            porIndice[indice] = linha;
+
+            int operacao = Arrays.asList(SIMBOLOS).indexOf(campos[2]);
+            int operando1 = Integer.parseInt(campos[1]);
+            int operando2 = Integer.parseInt(campos[3]);
+            int resultado = Integer.parseInt(campos[4]);
+            assertValido(operacao, operando1, operando2, resultado, linha);
+
+            int registro = 12 + 7 * indice;
+            assertEquals(operacao, binario.get(registro), linha);
+            assertEquals(operando1, binario.getShort(registro + 1), linha);
+            assertEquals(operando2, binario.getShort(registro + 3), linha);
+            assertEquals(resultado, binario.getShort(registro + 5), linha);
+        }
+    }
+
+    @Test
+    void quantidadeZeroGravaSoOCabecalho() throws IOException {
+        Path binario = pasta.resolve("vazio.bin");
+        ExportadorProblemas.exportar(binario, 0, TODAS, 1, ExportadorProblemas.Formato.BINARIO, PARALELISMO);
+        assertEquals(12, Files.size(binario));
+
+        Path csv = pasta.resolve("vazio.csv");
+        ExportadorProblemas.exportar(csv, 0, TODAS, 1, ExportadorProblemas.Formato.CSV, PARALELISMO);
+        assertEquals(List.of("indice,operando1,operacao,operando2,resultado"), Files.readAllLines(csv));
+    }
+
+    private Path exportar(String nome, long semente, ExportadorProblemas.Formato formato, int paralelismo)
+            throws IOException {
+        Path arquivo = pasta.resolve(nome);
+        ExportadorProblemas.exportar(arquivo, QUANTIDADE, TODAS, semente, formato, paralelismo);
+        return arquivo;
+    }
+
+    private static void assertValido(int operacao, int operando1, int operando2, int resultado, String onde) {
+        assertTrue(operacao >= Gerador.SOMA && operacao <= Gerador.DIVISAO, "Operação inválida em " + onde);
+        assertTrue(FATOS.get(operacao).contains(chave(operando1, operando2, resultado)), "Fato inválido em " + onde);
+    }
+
+    private static String chave(int operando1, int operando2, int resultado) {
+        return operando1 + "," + operando2 + "," + resultado;
+    }
+}
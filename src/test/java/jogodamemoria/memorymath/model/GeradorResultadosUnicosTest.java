@@ -0,0 +1,162 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Modo de resultados únicos do {@link Gerador}, que o {@link BaralhoPreparado}
+ * usa em toda partida em que ele é viável: nenhum resultado repetido nos
+ * tamanhos viáveis, recusa dos inviáveis, baralho gerado mesmo quando o
+ * preenchimento fica sem saída e a distribuição de cada carta, uniforme entre
+ * os fatos de resultado ainda livre.
+ */
+class GeradorResultadosUnicosTest {
+
+    // Tamanhos oferecidos na tela de configuração e alguns intermediários
+    private static final int[][] TAMANHOS = {
+        {4, 3}, {6, 5}, {8, 6}, {10, 10}, {20, 20}, {1, 2}, {3, 7}, {6, 7}, {9, 11}, {15, 17},
+    };
+
+    @Test
+    void resultadosDistintosEmTodosOsTamanhosViaveis() {
+        SplittableRandom random = new SplittableRandom(41);
+        int viaveis = 0;
+        for (int mascara = 1; mascara < 16; mascara++) {
+            int[] operacoes = operacoes(mascara);
+            for (int[] tamanho : TAMANHOS) {
+                if (!Gerador.suportaResultadosUnicos(operacoes, tamanho[0] * tamanho[1])) {
+                    continue;
+                }
+                viaveis++;
+                for (int repeticao = 0; repeticao < 5; repeticao++) {
+                    Gerador gerador = new Gerador(tamanho[0], tamanho[1], operacoes, true, random.split());
+                    assertDistintos(gerador.getBaralho(), "operações " + mascara + ", " + tamanho[0] + "x" + tamanho[1]);
+                }
+            }
+        }
+        assertTrue(viaveis > 40);
+    }
+
+    @Test
+    void tamanhoInviavelEhRecusado() {
+        int[] divisao = operacoes(1 << Gerador.DIVISAO);
+        assertTrue(Gerador.suportaResultadosUnicos(divisao, 10));
+        assertFalse(Gerador.suportaResultadosUnicos(divisao, 12));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Gerador(4, 3, divisao, true, new SplittableRandom(1)));
+        assertFalse(Gerador.suportaResultadosUnicos(new int[4], 2));
+    }
+
+    @Test
+    void multiplicacaoEsgotaTodosOsResultados() {
+        // A tabuada de 1 a 10 tem 42 produtos distintos: o baralho de 42
+        // cartas usa todos, e as últimas cartas saem da escolha ponderada
+        int[] multiplicacao = operacoes(1 << Gerador.MULTIPLICACAO);
+        assertEquals(42, TabelaFatos.de(Gerador.MULTIPLICACAO).getQuantidadeResultadosDistintos());
+        assertTrue(Gerador.suportaResultadosUnicos(multiplicacao, 42));
+        assertFalse(Gerador.suportaResultadosUnicos(multiplicacao, 43));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int repeticao = 0; repeticao < 200; repeticao++) {
+            Baralho baralho = new Gerador(6, 7, multiplicacao, true, random.split()).getBaralho();
+            assertEquals(42, assertDistintos(baralho, "multiplicação 6x7"));
+        }
+    }
+
+    @Test
+    void preenchimentoSemSaidaGeraBaralhoComRepeticoes() {
+        // A divisão só tem os resultados 1 e 2 e os usa nas suas duas cartas;
+        // a multiplicação só tem 1, 2 e 3 e precisa de duas. As contagens
+        // passam, mas nenhum preenchimento existe.
+        TabelaFatos[] tabelas = {
+            TabelaFatos.de(Gerador.SOMA).filtrarPorResultado(4, 200),
+            TabelaFatos.de(Gerador.SUBTRACAO),
+            TabelaFatos.de(Gerador.MULTIPLICACAO).filtrarPorResultado(1, 3),
+            TabelaFatos.de(Gerador.DIVISAO).filtrarPorResultado(1, 2),
+        };
+        int[] operacoes = operacoes((1 << Gerador.SOMA) | (1 << Gerador.MULTIPLICACAO) | (1 << Gerador.DIVISAO));
+
+        Baralho baralho = new Gerador(2, 3, operacoes, tabelas, true, new SplittableRandom(5)).getBaralho();
+        int[] porOperacao = new int[4];
+        for (int i = 0; i < baralho.getTamanho(); i++) {
+            int operacao = baralho.getOperacao(i);
+            porOperacao[operacao]++;
+            assertTrue(tabelas[operacao].contarFatosComResultado(baralho.getResultado(i)) > 0);
+        }
+        assertEquals(2, porOperacao[Gerador.SOMA]);
+        assertEquals(2, porOperacao[Gerador.MULTIPLICACAO]);
+        assertEquals(2, porOperacao[Gerador.DIVISAO]);
+    }
+
+    private static int[] operacoes(int mascara) {
+        int[] operacoes = new int[4];
+        for (int operacao = 0; operacao < 4; operacao++) {
+            operacoes[operacao] = (mascara >>> operacao) & 1;
+        }
+        return operacoes;
+    }
+
+    private static int assertDistintos(Baralho baralho, String descricao) {
+        Set<Integer> resultados = new HashSet<>();
+        for (int i = 0; i < baralho.getTamanho(); i++) {
+            assertTrue(resultados.add(baralho.getResultado(i)), "Resultado repetido com " + descricao);
+        }
+        return resultados.size();
+    }
+
+    @Test
+    void partidaPadraoUsaOModoQuandoViavel() {
+        int todas = 0xF;
+        for (long semente = 0; semente < 50; semente++) {
+            Baralho baralho = BaralhoPreparado.gerar(new CodigoPartida(semente, todas, 4, 3)).getGerador().getBaralho();
+            assertDistintos(baralho, "partida padrão 4x3");
+        }
+        // Só soma em 20 x 20 passa dos 201 resultados possíveis: sem o modo
+        Baralho grande = BaralhoPreparado.gerar(new CodigoPartida(1, 1 << Gerador.SOMA, 20, 20)).getGerador().getBaralho();
+        Set<Integer> resultados = new HashSet<>();
+        for (int i = 0; i < grande.getTamanho(); i++) {
+            resultados.add(grande.getResultado(i));
+        }
+        assertTrue(resultados.size() < grande.getTamanho());
+    }
+
+    @Test
+    void cadaCartaEhUniformeEntreOsFatosDeResultadoLivre() {
+        // Baralhos de duas cartas de multiplicação pelo caminho das partidas.
+        // A primeira carta é uniforme entre os 100 fatos; a segunda, entre os
+        // fatos cujo produto difere do da primeira.
+        TabelaFatos tabela = TabelaFatos.de(Gerador.MULTIPLICACAO);
+        int[][] primeira = new int[11][11];
+        int[][] segunda = new int[11][11];
+        for (long semente = 0; semente < 10_000; semente++) {
+            Baralho baralho = BaralhoPreparado.gerar(new CodigoPartida(semente, 1 << Gerador.MULTIPLICACAO, 1, 2))
+                    .getGerador().getBaralho();
+            assertEquals(2, assertDistintos(baralho, "multiplicação 1x2"));
+            primeira[baralho.getOperando1(0)][baralho.getOperando2(0)]++;
+            segunda[baralho.getOperando1(1)][baralho.getOperando2(1)]++;
+        }
+
+        double[][] esperadoPrimeira = new double[11][11];
+        double[][] esperadoSegunda = new double[11][11];
+        for (int a = 1; a <= 10; a++) {
+            for (int b = 1; b <= 10; b++) {
+                esperadoPrimeira[a][b] = 1.0 / 100;
+                for (int c = 1; c <= 10; c++) {
+                    for (int d = 1; d <= 10; d++) {
+                        if (c * d != a * b) {
+                            esperadoSegunda[a][b] += 1.0 / 100 / (100 - tabela.contarFatosComResultado(c * d));
+                        }
+                    }
+                }
+            }
+        }
+        GeradorTest.verificarQuiQuadrado(primeira, esperadoPrimeira);
+        GeradorTest.verificarQuiQuadrado(segunda, esperadoSegunda);
+    }
+}
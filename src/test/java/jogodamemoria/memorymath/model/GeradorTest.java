@@ -0,0 +1,163 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica que o sorteio direto das tabelas de fatos mantém as distribuições
+ * do gerador original, que sorteava os operandos e descartava os inválidos.
+ *
+ * <p>O gerador original produzia cada par de operandos válido com a mesma
+ * probabilidade: soma com {@code a, b} em {@code [0, 100]}, subtração com
+ * {@code 0 <= b < a <= 200}, multiplicação com {@code a, b} em {@code [1, 10]}
+ * e divisão com divisor em {@code [1, 30]} e quociente em {@code [1, 10]}.
+ * Cada teste gera baralhos de uma só operação com semente fixa e compara a
+ * frequência de cada par com essa distribuição por qui-quadrado.</p>
+ */
+class GeradorTest {
+
+    private static final int LINHAS = 20;
+    private static final int COLUNAS = 20;
+    private static final int ESPERADO_POR_PAR = 50;
+    // Quantil normal de 1 - 1e-4: com a semente fixa o teste é determinístico,
+    // e um gerador com viés em qualquer par passa muito longe deste limite.
+    private static final double Z_CRITICO = 3.719;
+
+    @Test
+    void somaMantemDistribuicaoOriginal() {
+        int[][] contagem = sortearPares(Gerador.SOMA, 101 * 101, 201, 101);
+        double[][] esperado = new double[201][101];
+        for (int a = 0; a <= 100; a++) {
+            for (int b = 0; b <= 100; b++) {
+                esperado[a][b] = 1.0 / (101 * 101);
+            }
+        }
+        verificarQuiQuadrado(contagem, esperado);
+    }
+
+    @Test
+    void subtracaoMantemDistribuicaoOriginal() {
+        int validos = 200 * 201 / 2;
+        int[][] contagem = sortearPares(Gerador.SUBTRACAO, validos, 201, 201);
+        double[][] esperado = new double[201][201];
+        for (int a = 0; a <= 200; a++) {
+            for (int b = 0; b <= 200; b++) {
+                esperado[a][b] = a > b ? 1.0 / validos : 0;
+            }
+        }
+        verificarQuiQuadrado(contagem, esperado);
+    }
+
+    @Test
+    void multiplicacaoMantemDistribuicaoOriginal() {
+        int[][] contagem = sortearPares(Gerador.MULTIPLICACAO, 100, 11, 11);
+        double[][] esperado = new double[11][11];
+        for (int a = 1; a <= 10; a++) {
+            for (int b = 1; b <= 10; b++) {
+                esperado[a][b] = 1.0 / 100;
+            }
+        }
+        verificarQuiQuadrado(contagem, esperado);
+    }
+
+    @Test
+    void divisaoMantemDistribuicaoOriginal() {
+        int[][] contagem = sortearPares(Gerador.DIVISAO, 300, 301, 31);
+        double[][] esperado = new double[301][31];
+        for (int divisor = 1; divisor <= 30; divisor++) {
+            for (int quociente = 1; quociente <= 10; quociente++) {
+                esperado[divisor * quociente][divisor] = 1.0 / 300;
+            }
+        }
+        verificarQuiQuadrado(contagem, esperado);
+    }
+
+    @Test
+    void resultadoSempreConfereComOsOperandos() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int operacao = Gerador.SOMA; operacao <= Gerador.DIVISAO; operacao++) {
+            Baralho baralho = new Gerador(LINHAS, COLUNAS, soOperacao(operacao), false, random).getBaralho();
+            for (int i = 0; i < baralho.getTamanho(); i++) {
+                int a = baralho.getOperando1(i);
+                int b = baralho.getOperando2(i);
+                int esperado;
+                switch (operacao) {
+                    case Gerador.SOMA: esperado = a + b; break;
+                    case Gerador.SUBTRACAO: esperado = a - b; break;
+                    case Gerador.MULTIPLICACAO: esperado = a * b; break;
+                    default: esperado = a / b; assertEquals(0, a % b); break;
+                }
+                assertEquals(operacao, baralho.getOperacao(i));
+                assertEquals(esperado, baralho.getResultado(i));
+            }
+        }
+    }
+
+    private static int[] soOperacao(int operacao) {
+        int[] operacoes = new int[4];
+        operacoes[operacao] = 1;
+        return operacoes;
+    }
+
+    /**
+     * Gera baralhos da operação até ter cerca de {@link #ESPERADO_POR_PAR}
+     * cartas por par válido e conta cada par de operandos.
+     */
+    private static int[][] sortearPares(int operacao, int paresValidos, int limite1, int limite2) {
+        SplittableRandom random = new SplittableRandom(0x5EED + operacao);
+        int cartasPorBaralho = LINHAS * COLUNAS;
+        int baralhos = (paresValidos * ESPERADO_POR_PAR + cartasPorBaralho - 1) / cartasPorBaralho;
+        int[][] contagem = new int[limite1][limite2];
+        for (int i = 0; i < baralhos; i++) {
+            Baralho baralho = new Gerador(LINHAS, COLUNAS, soOperacao(operacao), false, random).getBaralho();
+            for (int carta = 0; carta < baralho.getTamanho(); carta++) {
+                contagem[baralho.getOperando1(carta)][baralho.getOperando2(carta)]++;
+            }
+        }
+        return contagem;
+    }
+
+    /**
+     * Compara a contagem de cada par de operandos com as probabilidades por
+     * qui-quadrado. Pares de probabilidade zero não podem aparecer.
+     */
+    static void verificarQuiQuadrado(int[][] contagem, double[][] probabilidades) {
+        long total = 0;
+        for (int[] linha : contagem) {
+            for (int c : linha) {
+                total += c;
+            }
+        }
+        double quiQuadrado = 0;
+        int celulas = 0;
+        for (int a = 0; a < contagem.length; a++) {
+            for (int b = 0; b < contagem[a].length; b++) {
+                double p = probabilidades[a][b];
+                if (p == 0) {
+                    assertEquals(0, contagem[a][b], "Par fora da distribuição original: " + a + ", " + b);
+                    continue;
+                }
+                double esperado = p * total;
+                double diferenca = contagem[a][b] - esperado;
+                quiQuadrado += diferenca * diferenca / esperado;
+                celulas++;
+            }
+        }
+        double limite = valorCritico(celulas - 1);
+        assertTrue(quiQuadrado < limite, String.format(
+                "Qui-quadrado %.1f acima do limite %.1f com %d graus de liberdade", quiQuadrado, limite, celulas - 1));
+    }
+
+    /**
+     * Aproximação de Wilson-Hilferty para o quantil da distribuição
+     * qui-quadrado, boa para os muitos graus de liberdade destes testes.
+     */
+    private static double valorCritico(int grausLiberdade) {
+        double k = 2.0 / (9.0 * grausLiberdade);
+        double base = 1 - k + Z_CRITICO * Math.sqrt(k);
+        return grausLiberdade * base * base * base;
+    }
+}
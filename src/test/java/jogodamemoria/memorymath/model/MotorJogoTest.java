@@ -0,0 +1,240 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.HumanPlayer;
+import jogodamemoria.memorymath.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regras do {@link MotorJogo}: ordem das cartas, pontuação, troca de turno,
+ * fim de jogo e eventos do ouvinte, sem interface gráfica.
+ */
+class MotorJogoTest {
+
+    private Tabuleiro tabuleiro;
+    private Player jogador1;
+    private Player jogador2;
+    private MotorJogo motor;
+    private final List<String> eventos = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        tabuleiro = TabuleirosTeste.distintos(3);
+        jogador1 = new HumanPlayer("Ana");
+        jogador2 = new HumanPlayer("Bia");
+        motor = new MotorJogo(tabuleiro, jogador1, jogador2);
+        motor.setOuvinte(new MotorJogo.Ouvinte() {
+            @Override
+            public void cartaRevelada(int carta) { eventos.add("revelada " + carta); }
+
+            @Override
+            public void parEncontrado(int carta1, int carta2, Player jogador) {
+                eventos.add("par " + carta1 + " " + carta2 + " " + jogador.getName());
+            }
+
+            @Override
+            public void parErrado(int carta1, int carta2, Player jogador) {
+                eventos.add("erro " + carta1 + " " + carta2 + " " + jogador.getName());
+            }
+
+            @Override
+            public void cartasEscondidas(int carta1, int carta2) { eventos.add("escondidas " + carta1 + " " + carta2); }
+
+            @Override
+            public void turnoTrocado(Player jogadorAtual) { eventos.add("vez " + jogadorAtual.getName()); }
+
+            @Override
+            public void fimDeJogo(Player vencedor) { eventos.add("fim " + (vencedor == null ? "empate" : vencedor.getName())); }
+        });
+    }
+
+    @Test
+    void primeiraCartaPrecisaSerOperacao() {
+        assertEquals(MotorJogo.Resultado.GRID_ERRADO, motor.escolherCarta(3));
+        assertEquals(MotorJogo.Fase.PRIMEIRA_CARTA, motor.getFase());
+        assertTrue(eventos.isEmpty());
+
+        assertEquals(MotorJogo.Resultado.REVELADA, motor.escolherCarta(0));
+        assertEquals(MotorJogo.Fase.SEGUNDA_CARTA, motor.getFase());
+        assertTrue(tabuleiro.isRevelada(0));
+        assertEquals(List.of("revelada 0"), eventos);
+    }
+
+    @Test
+    void segundaCartaPrecisaSerResultadoOculto() {
+        motor.escolherCarta(0);
+        assertEquals(MotorJogo.Resultado.GRID_ERRADO, motor.escolherCarta(1));
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(0));
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(-1));
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(tabuleiro.getTotalCartas()));
+        assertEquals(MotorJogo.Fase.SEGUNDA_CARTA, motor.getFase());
+    }
+
+    @Test
+    void parCertoPontuaEMantemAVez() {
+        int resultado = TabuleirosTeste.resultadoDe(tabuleiro, 0);
+        motor.escolherCarta(0);
+        assertEquals(MotorJogo.Resultado.PAR_ENCONTRADO, motor.escolherCarta(resultado));
+
+        assertEquals(MotorJogo.PONTOS_ACERTO, jogador1.getScore());
+        assertSame(jogador1, motor.getJogadorAtual());
+        assertEquals(1, motor.getParesEncontrados());
+        assertTrue(tabuleiro.isEncontrada(0) && tabuleiro.isEncontrada(resultado));
+        assertEquals(MotorJogo.Fase.PRIMEIRA_CARTA, motor.getFase());
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(0));
+        assertEquals(List.of("revelada 0", "revelada " + resultado, "par 0 " + resultado + " Ana"), eventos);
+    }
+
+    @Test
+    void parErradoEsperaConclusaoEPassaAVez() {
+        jogador1.setScore(3);
+        int errado = TabuleirosTeste.resultadoDe(tabuleiro, 1);
+        motor.escolherCarta(0);
+        assertEquals(MotorJogo.Resultado.PAR_ERRADO, motor.escolherCarta(errado));
+        assertEquals(3 + MotorJogo.PONTOS_ERRO, jogador1.getScore());
+        assertEquals(MotorJogo.Fase.AGUARDANDO_CONCLUSAO, motor.getFase());
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(2));
+        assertSame(jogador1, motor.getJogadorAtual());
+
+        motor.concluirJogada();
+        assertTrue(tabuleiro.isOculta(0) && tabuleiro.isOculta(errado));
+        assertSame(jogador2, motor.getJogadorAtual());
+        assertEquals(MotorJogo.Fase.PRIMEIRA_CARTA, motor.getFase());
+        assertEquals(List.of("revelada 0", "revelada " + errado, "erro 0 " + errado + " Ana",
+                "escondidas 0 " + errado, "vez Bia"), eventos);
+
+        eventos.clear();
+        motor.concluirJogada();
+        assertTrue(eventos.isEmpty());
+    }
+
+    @Test
+    void pontuacaoNuncaFicaNegativa() {
+        motor.escolherCarta(0);
+        motor.escolherCarta(TabuleirosTeste.resultadoDe(tabuleiro, 1));
+        assertEquals(0, jogador1.getScore());
+    }
+
+    @Test
+    void resultadosRepetidosFormamParPeloValor() {
+        tabuleiro = TabuleirosTeste.criar(new int[] {4, 4, 9}, new int[] {0, 1, 2});
+        motor = new MotorJogo(tabuleiro, jogador1, jogador2);
+        motor.escolherCarta(0);
+        assertEquals(MotorJogo.Resultado.PAR_ENCONTRADO, motor.escolherCarta(4));
+        assertTrue(tabuleiro.isOculta(3));
+    }
+
+    @Test
+    void ultimoParEncerraComVencedor() {
+        jogar(0, TabuleirosTeste.resultadoDe(tabuleiro, 0));
+        jogar(1, TabuleirosTeste.resultadoDe(tabuleiro, 2));
+        motor.concluirJogada();
+        jogar(1, TabuleirosTeste.resultadoDe(tabuleiro, 1));
+        jogar(2, TabuleirosTeste.resultadoDe(tabuleiro, 2));
+
+        assertTrue(motor.isFimDeJogo());
+        assertSame(jogador2, motor.getVencedor());
+        assertEquals("fim Bia", eventos.get(eventos.size() - 1));
+        assertEquals(MotorJogo.Resultado.INVALIDA, motor.escolherCarta(0));
+    }
+
+    @Test
+    void empateNaoTemVencedor() {
+        byte[] encontradas = new byte[tabuleiro.getTotalCartas()];
+        Arrays.fill(encontradas, Tabuleiro.ENCONTRADA);
+        motor.restaurar(encontradas, 10, 10, true);
+
+        assertTrue(motor.isFimDeJogo());
+        assertNull(motor.getVencedor());
+    }
+
+    @Test
+    void restaurarVoltaAoInicioDaJogada() {
+        jogar(0, TabuleirosTeste.resultadoDe(tabuleiro, 0));
+        motor.escolherCarta(1);
+        byte[] salvo = estados();
+        salvo[1] = Tabuleiro.OCULTA;
+
+        MotorJogo outro = new MotorJogo(TabuleirosTeste.distintos(3), new HumanPlayer("C"), new HumanPlayer("D"));
+        outro.restaurar(salvo, 5, 2, false);
+        assertEquals(1, outro.getParesEncontrados());
+        assertEquals(MotorJogo.Fase.PRIMEIRA_CARTA, outro.getFase());
+        assertSame(outro.getJogador2(), outro.getJogadorAtual());
+        assertEquals(5, outro.getJogador1().getScore());
+        assertEquals(2, outro.getJogador2().getScore());
+        assertTrue(outro.getTabuleiro().isOculta(1));
+        assertTrue(outro.getTabuleiro().isEncontrada(0));
+    }
+
+    @Test
+    void partidaEntreIAsTerminaESeRepeteComAMesmaSemente() {
+        int[] jogadas1 = partidaEntreIAs(42);
+        int[] jogadas2 = partidaEntreIAs(42);
+        assertArrayEquals(jogadas1, jogadas2);
+    }
+
+    @Test
+    void candidatasDaIASaoAsCartasOcultasDoLadoDaVez() {
+        AIPlayer ia = new AIPlayer(AIPlayer.Difficulty.FACIL, new SplittableRandom(1));
+        motor = new MotorJogo(tabuleiro, ia, jogador2);
+        jogar(0, TabuleirosTeste.resultadoDe(tabuleiro, 0));
+        assertArrayEquals(new int[] {1, 2}, motor.candidatasJogadaIA());
+        assertEquals(-1, motor.getCartaAbertaIA());
+
+        motor.escolherCarta(1);
+        assertEquals(1, motor.getCartaAbertaIA());
+        assertEquals(2, motor.candidatasJogadaIA().length);
+
+        motor = new MotorJogo(tabuleiro, jogador2, ia);
+        assertNull(motor.candidatasJogadaIA());
+    }
+
+    private int[] partidaEntreIAs(long semente) {
+        CodigoPartida codigo = new CodigoPartida(semente, 0b1111, 4, 3);
+        Tabuleiro tabuleiroIA = BaralhoPreparado.gerar(codigo).criarTabuleiro();
+        SplittableRandom random = new SplittableRandom(semente);
+        AIPlayer ia1 = new AIPlayer(AIPlayer.Difficulty.MEDIO, random.split());
+        AIPlayer ia2 = new AIPlayer(AIPlayer.Difficulty.DIFICIL, random.split());
+        MotorJogo motorIA = new MotorJogo(tabuleiroIA, ia1, ia2);
+        RegistroJogadas registro = new RegistroJogadas(codigo, ia1.getName(), ia2.getName());
+        motorIA.setRegistro(registro);
+
+        int jogadas = SimuladorPartidas.jogar(motorIA);
+        assertTrue(motorIA.isFimDeJogo());
+        assertEquals(tabuleiroIA.getTotalPares(), motorIA.getParesEncontrados());
+        assertTrue(jogadas >= tabuleiroIA.getTotalPares());
+        for (int carta = 0; carta < tabuleiroIA.getTotalCartas(); carta++) {
+            assertTrue(tabuleiroIA.isEncontrada(carta));
+        }
+        ReplayJogadas replay = ReplayJogadas.ler(registro.toByteArray());
+        int[] cartas = new int[replay.getTotalJogadas()];
+        for (int i = 0; i < cartas.length; i++) {
+            cartas[i] = replay.getCarta(i);
+        }
+        return cartas;
+    }
+
+    private void jogar(int operacao, int resultado) {
+        motor.escolherCarta(operacao);
+        motor.escolherCarta(resultado);
+    }
+
+    private byte[] estados() {
+        byte[] estados = new byte[tabuleiro.getTotalCartas()];
+        for (int carta = 0; carta < estados.length; carta++) {
+            estados[carta] = tabuleiro.getEstado(carta);
+        }
+        return estados;
+    }
+}
@@ -0,0 +1,166 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.HumanPlayer;
+import jogodamemoria.memorymath.Player;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ida e volta da {@link PartidaSalva}: o que é capturado de um motor volta
+ * igual depois de gravado e lido, e a partida retomada continua de forma
+ * reprodutível a partir do código.
+ */
+class PartidaSalvaTest {
+
+    private static final CodigoPartida CODIGO = new CodigoPartida(0xABCDEL, 0b0011, 4, 3);
+
+    @Test
+    void gravaELeJogadoresPosicaoERegistro() {
+        MotorJogo motor = partidaPelaMetade(AIPlayer.Difficulty.MEDIO);
+        PartidaSalva salva = PartidaSalva.capturar(motor, CODIGO);
+        PartidaSalva lida = PartidaSalva.ler(salva.toByteArray());
+
+        assertEquals(CODIGO.codificar(), lida.getCodigo().codificar());
+        Player humano = lida.getJogador1();
+        assertInstanceOf(HumanPlayer.class, humano);
+        assertEquals("Ana", humano.getName());
+        assertEquals(motor.getJogador1().getScore(), humano.getScore());
+
+        AIPlayer ia = assertInstanceOf(AIPlayer.class, lida.getJogador2());
+        AIPlayer original = (AIPlayer) motor.getJogador2();
+        assertEquals("Robô", ia.getName());
+        assertEquals(original.getDifficulty(), ia.getDifficulty());
+        assertEquals(original.getScore(), ia.getScore());
+        assertEquals(cartasNaMemoria(original), cartasNaMemoria(ia));
+        assertEquals(motor.getJogadorAtual() == motor.getJogador1(), lida.isVezDoJogador1());
+        assertArrayEquals(salva.toByteArray(), lida.toByteArray());
+
+        MotorJogo retomado = new MotorJogo(BaralhoPreparado.gerar(CODIGO).criarTabuleiro(), humano, ia);
+        lida.aplicar(retomado);
+        for (int carta = 0; carta < motor.getTabuleiro().getTotalCartas(); carta++) {
+            assertEquals(motor.getTabuleiro().isEncontrada(carta), retomado.getTabuleiro().isEncontrada(carta));
+        }
+        assertEquals(motor.getParesEncontrados(), retomado.getParesEncontrados());
+        assertEquals(motor.getRegistro().getJogadas(), retomado.getRegistro().getJogadas());
+    }
+
+    @Test
+    void parErradoAMostraContaComoEscondidoEPassaAVez() {
+        MotorJogo motor = new MotorJogo(TabuleirosTeste.distintos(3), new HumanPlayer("Ana"), new HumanPlayer("Bia"));
+        motor.escolherCarta(0);
+        motor.escolherCarta(TabuleirosTeste.resultadoDe(motor.getTabuleiro(), 1));
+        assertEquals(MotorJogo.Fase.AGUARDANDO_CONCLUSAO, motor.getFase());
+
+        PartidaSalva lida = PartidaSalva.ler(PartidaSalva.capturar(motor,
+                new CodigoPartida(1, 1, 1, 3)).toByteArray());
+        assertFalse(lida.isVezDoJogador1());
+    }
+
+    @Test
+    void partidaRetomadaRepeteAsEscolhasDaIA() {
+        byte[] dados = PartidaSalva.capturar(partidaPelaMetade(AIPlayer.Difficulty.FACIL), CODIGO).toByteArray();
+        assertArrayEquals(terminarPartida(dados), terminarPartida(dados));
+    }
+
+    @Test
+    void partidaTerminadaNaoPodeSerSalva() {
+        MotorJogo motor = new MotorJogo(TabuleirosTeste.distintos(1), new HumanPlayer("Ana"), new HumanPlayer("Bia"));
+        motor.escolherCarta(0);
+        motor.escolherCarta(1);
+        assertThrows(IllegalStateException.class, () -> PartidaSalva.capturar(motor, new CodigoPartida(1, 1, 1, 1)));
+    }
+
+    @Test
+    void dadosCortadosOuAlheiosViramErroDeFormato() {
+        byte[] dados = PartidaSalva.capturar(partidaPelaMetade(AIPlayer.Difficulty.DIFICIL), CODIGO).toByteArray();
+        for (int tamanho = 0; tamanho < dados.length; tamanho++) {
+            byte[] cortado = Arrays.copyOf(dados, tamanho);
+            assertThrows(IllegalArgumentException.class, () -> PartidaSalva.ler(cortado), "corte em " + tamanho);
+        }
+        byte[] alheio = dados.clone();
+        alheio[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> PartidaSalva.ler(alheio));
+    }
+
+    /**
+     * Humano contra IA, com as jogadas do humano também escolhidas por uma
+     * IA auxiliar, até cerca da metade dos pares.
+     */
+    private static MotorJogo partidaPelaMetade(AIPlayer.Difficulty dificuldade) {
+        Tabuleiro tabuleiro = BaralhoPreparado.gerar(CODIGO).criarTabuleiro();
+        AIPlayer ia = new AIPlayer("Robô", dificuldade, CODIGO.criarFontes().paraIA());
+        MotorJogo motor = new MotorJogo(tabuleiro, new HumanPlayer("Ana"), ia);
+        motor.setRegistro(new RegistroJogadas(CODIGO, "Ana", ia.getName()));
+        AIPlayer ajudante = new AIPlayer(AIPlayer.Difficulty.FACIL, new SplittableRandom(9));
+        while (motor.getParesEncontrados() < tabuleiro.getTotalPares() / 2) {
+            jogarUmaVez(motor, ajudante);
+        }
+        return motor;
+    }
+
+    /**
+     * Retoma a partida com um humano que sempre vira a primeira carta oculta
+     * e devolve as cartas escolhidas até o fim.
+     */
+    private static int[] terminarPartida(byte[] dados) {
+        PartidaSalva salva = PartidaSalva.ler(dados);
+        MotorJogo motor = new MotorJogo(BaralhoPreparado.gerar(CODIGO).criarTabuleiro(),
+                salva.getJogador1(), salva.getJogador2());
+        salva.aplicar(motor);
+        while (!motor.isFimDeJogo()) {
+            jogarUmaVez(motor, null);
+        }
+        ReplayJogadas replay = ReplayJogadas.ler(motor.getRegistro().toByteArray());
+        int[] cartas = new int[replay.getTotalJogadas()];
+        for (int i = 0; i < cartas.length; i++) {
+            cartas[i] = replay.getCarta(i);
+        }
+        return cartas;
+    }
+
+    private static void jogarUmaVez(MotorJogo motor, AIPlayer ajudante) {
+        for (int metade = 0; metade < 2 && !motor.isFimDeJogo(); metade++) {
+            int carta;
+            if (motor.getJogadorAtual() instanceof AIPlayer) {
+                carta = motor.escolherJogadaIA();
+            } else if (ajudante != null) {
+                int quantidade = 0;
+                int[] candidatas = new int[motor.getTabuleiro().getTotalCartas()];
+                for (int c = 0; c < candidatas.length; c++) {
+                    if (motor.getTabuleiro().isOculta(c)
+                            && motor.getTabuleiro().isOperacao(c) == (metade == 0)) {
+                        candidatas[quantidade++] = c;
+                    }
+                }
+                carta = ajudante.calcularMelhorJogada(candidatas, quantidade, motor.getCartaAbertaIA());
+            } else {
+                carta = primeiraOculta(motor.getTabuleiro(), metade == 0);
+            }
+            assertTrue(motor.escolherCarta(carta) != MotorJogo.Resultado.INVALIDA);
+        }
+        motor.concluirJogada();
+    }
+
+    private static int primeiraOculta(Tabuleiro tabuleiro, boolean operacao) {
+        for (int carta = 0; carta < tabuleiro.getTotalCartas(); carta++) {
+            if (tabuleiro.isOculta(carta) && tabuleiro.isOperacao(carta) == operacao) {
+                return carta;
+            }
+        }
+        throw new IllegalStateException("Sem carta oculta");
+    }
+
+    private static String cartasNaMemoria(AIPlayer ia) {
+        String estatisticas = ia.obterEstatisticasMemoria();
+        return estatisticas.substring(0, estatisticas.indexOf(','));
+    }
+}
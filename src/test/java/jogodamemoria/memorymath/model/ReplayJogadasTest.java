@@ -0,0 +1,209 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import jogodamemoria.memorymath.AIPlayer;
+import jogodamemoria.memorymath.HumanPlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ida e volta do registro binário: o que o {@link RegistroJogadas} grava
+ * durante uma partida, o {@link ReplayJogadas} lê de volta jogada por
+ * jogada, com pontos de controle coerentes, e dados corrompidos sempre
+ * viram {@link IllegalArgumentException}.
+ */
+class ReplayJogadasTest {
+
+    private static final CodigoPartida CODIGO = new CodigoPartida(0xC0FFEEL, 0b1111, 10, 10);
+
+    private RegistroJogadas registro;
+    private MotorJogo motor;
+    private int[] cartas;
+    private MotorJogo.Resultado[] resultados;
+
+    /**
+     * Joga uma partida de 100 pares entre duas IAs gravando cada carta; as
+     * cartas de resultado passam de 127 e exigem varints de mais de um byte.
+     */
+    @BeforeEach
+    void gravarPartida() {
+        Tabuleiro tabuleiro = BaralhoPreparado.gerar(CODIGO).criarTabuleiro();
+        SplittableRandom random = new SplittableRandom(3);
+        AIPlayer ia1 = new AIPlayer(AIPlayer.Difficulty.FACIL, random.split());
+        AIPlayer ia2 = new AIPlayer(AIPlayer.Difficulty.MEDIO, random.split());
+        motor = new MotorJogo(tabuleiro, ia1, ia2);
+        registro = new RegistroJogadas(CODIGO, "Ana Luísa", ia2.getName());
+        motor.setRegistro(registro);
+
+        cartas = new int[16];
+        resultados = new MotorJogo.Resultado[16];
+        int jogadas = 0;
+        while (!motor.isFimDeJogo()) {
+            for (int metade = 0; metade < 2; metade++) {
+                int carta = motor.escolherJogadaIA();
+                MotorJogo.Resultado resultado = motor.escolherCarta(carta);
+                if (jogadas == cartas.length) {
+                    cartas = Arrays.copyOf(cartas, 2 * jogadas);
+                    resultados = Arrays.copyOf(resultados, 2 * jogadas);
+                }
+                cartas[jogadas] = carta;
+                resultados[jogadas++] = resultado;
+            }
+            motor.concluirJogada();
+        }
+        cartas = Arrays.copyOf(cartas, jogadas);
+        resultados = Arrays.copyOf(resultados, jogadas);
+    }
+
+    @Test
+    void leDeVoltaCabecalhoECadaJogada() {
+        ReplayJogadas replay = ReplayJogadas.ler(registro.toByteArray());
+
+        assertEquals(CODIGO.codificar(), replay.getCodigo().codificar());
+        assertEquals("Ana Luísa", replay.getNomeJogador1());
+        assertEquals(motor.getJogador2().getName(), replay.getNomeJogador2());
+        assertEquals(cartas.length, replay.getTotalJogadas());
+        assertEquals(registro.getJogadas(), replay.getTotalJogadas());
+        for (int i = 0; i < cartas.length; i++) {
+            assertEquals(cartas[i], replay.getCarta(i));
+            assertEquals(resultados[i], replay.getResultado(i));
+            assertTrue(replay.getIntervalo(i) >= 0);
+        }
+        assertTrue(replay.getTotalPontosControle() >= cartas.length / RegistroJogadas.INTERVALO_PONTOS_CONTROLE - 1);
+    }
+
+    @Test
+    void reproducaoChegaAoMesmoPlacar() {
+        ReprodutorJogadas reprodutor = new ReprodutorJogadas(ReplayJogadas.ler(registro.toByteArray()),
+                new HumanPlayer("1"), new HumanPlayer("2"));
+        while (reprodutor.temProxima()) {
+            reprodutor.proxima();
+        }
+        MotorJogo refeito = reprodutor.getMotor();
+        assertTrue(refeito.isFimDeJogo());
+        assertEquals(motor.getJogador1().getScore(), refeito.getJogador1().getScore());
+        assertEquals(motor.getJogador2().getScore(), refeito.getJogador2().getScore());
+    }
+
+    @Test
+    void pontosControleBatemComAPartidaRefeita() {
+        ReplayJogadas replay = ReplayJogadas.ler(registro.toByteArray());
+        ReprodutorJogadas sequencial = new ReprodutorJogadas(replay, new HumanPlayer("1"), new HumanPlayer("2"));
+        ReprodutorJogadas saltando = new ReprodutorJogadas(replay, new HumanPlayer("3"), new HumanPlayer("4"));
+        saltando.irPara(replay.getTotalJogadas());
+
+        for (int destino = 0; destino <= replay.getTotalJogadas(); destino += 2) {
+            sequencial.irPara(destino);
+            sequencial.getMotor().concluirJogada();
+            saltando.irPara(destino);
+            saltando.getMotor().concluirJogada();
+            MotorJogo esperado = sequencial.getMotor();
+            MotorJogo obtido = saltando.getMotor();
+            assertEquals(esperado.getJogador1().getScore(), obtido.getJogador1().getScore(), "jogada " + destino);
+            assertEquals(esperado.getJogador2().getScore(), obtido.getJogador2().getScore(), "jogada " + destino);
+            assertEquals(esperado.getJogadorAtual() == esperado.getJogador1(),
+                    obtido.getJogadorAtual() == obtido.getJogador1(), "jogada " + destino);
+            for (int carta = 0; carta < esperado.getTabuleiro().getTotalCartas(); carta++) {
+                assertEquals(esperado.getTabuleiro().getEstado(carta), obtido.getTabuleiro().getEstado(carta),
+                        "jogada " + destino + ", carta " + carta);
+            }
+        }
+    }
+
+    @Test
+    void continuarGravaOMesmoFluxo() {
+        byte[] completo = registro.toByteArray();
+        ReplayJogadas original = ReplayJogadas.ler(completo);
+        int metade = original.getTotalJogadas() / 2 & ~1;
+
+        RegistroJogadas parcial = new RegistroJogadas(CODIGO, "Ana Luísa", motor.getJogador2().getName());
+        MotorJogo refeito = new MotorJogo(BaralhoPreparado.gerar(CODIGO).criarTabuleiro(),
+                new HumanPlayer("1"), new HumanPlayer("2"));
+        refeito.setRegistro(parcial);
+        for (int i = 0; i < metade; i++) {
+            refeito.concluirJogada();
+            refeito.escolherCarta(original.getCarta(i));
+        }
+        RegistroJogadas retomado = RegistroJogadas.continuar(parcial.jogadasCompletas());
+        refeito.setRegistro(retomado);
+        for (int i = metade; i < original.getTotalJogadas(); i++) {
+            refeito.concluirJogada();
+            refeito.escolherCarta(original.getCarta(i));
+        }
+
+        ReplayJogadas lido = ReplayJogadas.ler(retomado.toByteArray());
+        assertEquals(original.getTotalJogadas(), lido.getTotalJogadas());
+        for (int i = 0; i < lido.getTotalJogadas(); i++) {
+            assertEquals(original.getCarta(i), lido.getCarta(i));
+            assertEquals(original.getResultado(i), lido.getResultado(i));
+        }
+        assertEquals(original.getTotalPontosControle(), lido.getTotalPontosControle());
+    }
+
+    @Test
+    void qualquerCorteViraRegistroCurtoOuErroDeFormato() {
+        byte[] dados = registro.toByteArray();
+        for (int tamanho = 0; tamanho < dados.length; tamanho++) {
+            byte[] cortado = Arrays.copyOf(dados, tamanho);
+            try {
+                ReplayJogadas lido = ReplayJogadas.ler(cortado);
+                assertTrue(lido.getTotalJogadas() <= cartas.length);
+            } catch (IllegalArgumentException esperado) {
+                assertNotNull(esperado.getMessage());
+            } catch (RuntimeException e) {
+                fail("Corte em " + tamanho + " bytes lançou " + e);
+            }
+        }
+    }
+
+    @Test
+    void cabecalhoCorrompidoViraErroDeFormato() {
+        byte[] dados = registro.toByteArray();
+
+        byte[] assinatura = dados.clone();
+        assinatura[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> ReplayJogadas.ler(assinatura));
+
+        byte[] semLinhas = dados.clone();
+        semLinhas[13] = 0;
+        assertThrows(IllegalArgumentException.class, () -> ReplayJogadas.ler(semLinhas));
+
+        byte[] nomeLongo = comTamanhoDoNome(dados, new byte[] {(byte) 0xFF, (byte) 0xFF, 0x7F});
+        assertThrows(IllegalArgumentException.class, () -> ReplayJogadas.ler(nomeLongo));
+
+        byte[] nomeNegativo = comTamanhoDoNome(dados, new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01});
+        assertThrows(IllegalArgumentException.class, () -> ReplayJogadas.ler(nomeNegativo));
+    }
+
+    /**
+     * Troca o tamanho do nome do primeiro jogador, logo depois dos 23 bytes
+     * fixos do cabeçalho, mantendo o resto do registro.
+     */
+    private static byte[] comTamanhoDoNome(byte[] dados, byte[] varint) {
+        int inicioNome = 23;
+        byte[] alterado = new byte[dados.length - 1 + varint.length];
+        System.arraycopy(dados, 0, alterado, 0, inicioNome);
+        System.arraycopy(varint, 0, alterado, inicioNome, varint.length);
+        System.arraycopy(dados, inicioNome + 1, alterado, inicioNome + varint.length, dados.length - inicioNome - 1);
+        return alterado;
+    }
+
+    @Test
+    void cartaForaDoTabuleiroViraErroDeFormato() {
+        byte[] cabecalho = new RegistroJogadas(CODIGO, "a", "b").toByteArray();
+        byte[] dados = Arrays.copyOf(cabecalho, cabecalho.length + 3);
+        dados[cabecalho.length] = (byte) 0x80;
+        dados[cabecalho.length + 1] = 0x40;
+        assertArrayEquals(cabecalho, Arrays.copyOf(dados, cabecalho.length));
+        assertThrows(IllegalArgumentException.class, () -> ReplayJogadas.ler(dados));
+    }
+}
@@ -0,0 +1,129 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.IntSupplier;
+import jogodamemoria.memorymath.HumanPlayer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Valores do {@link SolucionadorExato} em posições pequenas e dicas do
+ * {@link MotorJogo} em tabuleiros com e sem resultados repetidos.
+ */
+class SolucionadorExatoTest {
+
+    private final SolucionadorExato solucionador = SolucionadorExato.getInstance();
+
+    @Test
+    void valoresDePosicoesTriviais() {
+        assertEquals(0.0, solucionador.valor(0, 0, 0, 0), 1e-9);
+        assertEquals(3.0 * MotorJogo.PONTOS_ACERTO, solucionador.valor(3, 0, 0, 0), 1e-9);
+        // Um único par sem nada visto sai certo na primeira tentativa
+        assertEquals(MotorJogo.PONTOS_ACERTO, solucionador.valor(0, 0, 0, 1), 1e-9);
+        // Operação vista e resultado visto de pares diferentes, mais nada:
+        // a operação nova só pode ser a do resultado visto
+        assertEquals(2.0 * MotorJogo.PONTOS_ACERTO, solucionador.valor(0, 1, 1, 0), 1e-9);
+    }
+
+    @Test
+    void primeiraCartaComResultadoVistoEscolheOperacaoNova() {
+        // Com o resultado do par aberto conhecido a operação nova é par
+        // certo; virar a operação vista arrisca entregar o par ao adversário
+        assertFalse(solucionador.primeiraCartaVista(1, 1, 0));
+        assertTrue(solucionador.primeiraCartaVista(1, 0, 0));
+    }
+
+    @Test
+    void dicaSemNadaVistoApontaAPrimeiraOperacao() {
+        MotorJogo motor = novoMotor(TabuleirosTeste.distintos(4));
+        assertEquals(0, motor.sugerirJogada());
+    }
+
+    @Test
+    void sugestaoPreparadaUsaAPosicaoDoPedido() {
+        Tabuleiro tabuleiro = TabuleirosTeste.distintos(4);
+        MotorJogo motor = novoMotor(tabuleiro);
+        IntSupplier sugestao = motor.prepararSugestao();
+        motor.escolherCarta(0);
+
+        // A posição mudou depois do pedido; o cálculo segue na cópia
+        assertEquals(0, sugestao.getAsInt());
+        assertNotEquals(0, motor.sugerirJogada());
+    }
+
+    @Test
+    void dicaNaSegundaCartaApontaResultadoJaVistoDoPar() {
+        Tabuleiro tabuleiro = TabuleirosTeste.distintos(4);
+        MotorJogo motor = novoMotor(tabuleiro);
+        motor.escolherCarta(0);
+        motor.escolherCarta(TabuleirosTeste.resultadoDe(tabuleiro, 1));
+        motor.concluirJogada();
+
+        motor.escolherCarta(1);
+        assertEquals(TabuleirosTeste.resultadoDe(tabuleiro, 1), motor.sugerirJogada());
+    }
+
+    @Test
+    void parProntoPorValorRepetidoEhSugerido() {
+        // Resultados 4 e 5 valem 5; 6 e 7 valem 7. Nenhuma operação vista
+        // tem o próprio resultado visto, mas as duas têm um de mesmo valor
+        Tabuleiro tabuleiro = TabuleirosTeste.criar(new int[] {5, 5, 7, 7}, new int[] {0, 1, 2, 3});
+        MotorJogo motor = novoMotor(tabuleiro);
+        assertEquals(MotorJogo.Resultado.PAR_ERRADO, jogar(motor, 0, 7));
+        assertEquals(MotorJogo.Resultado.PAR_ERRADO, jogar(motor, 2, 5));
+
+        assertEquals(0, motor.sugerirJogada());
+        motor.escolherCarta(0);
+        assertEquals(5, motor.sugerirJogada());
+        assertEquals(MotorJogo.Resultado.PAR_ENCONTRADO, motor.escolherCarta(5));
+
+        assertEquals(2, motor.sugerirJogada());
+        motor.escolherCarta(2);
+        assertEquals(7, motor.sugerirJogada());
+    }
+
+    @Test
+    void seguirAsDicasTerminaAPartidaSoComJogadasValidas() {
+        int[][] resultados = {
+            {1, 2, 3, 4, 5, 6},
+            {4, 4, 4, 9, 9, 2},
+            {3, 3, 3, 3, 3, 3},
+        };
+        int[] ordem = {5, 2, 0, 4, 1, 3};
+        for (int[] valores : resultados) {
+            Tabuleiro tabuleiro = TabuleirosTeste.criar(valores, ordem);
+            MotorJogo motor = novoMotor(tabuleiro);
+            int jogadas = 0;
+            while (motor.getFase() != MotorJogo.Fase.FIM) {
+                if (motor.getFase() == MotorJogo.Fase.AGUARDANDO_CONCLUSAO) {
+                    motor.concluirJogada();
+                    continue;
+                }
+                int carta = motor.sugerirJogada();
+                assertTrue(tabuleiro.isOculta(carta), "Dica em carta não oculta: " + carta);
+                assertEquals(motor.getFase() == MotorJogo.Fase.PRIMEIRA_CARTA, tabuleiro.isOperacao(carta));
+                MotorJogo.Resultado resultado = motor.escolherCarta(carta);
+                assertNotEquals(MotorJogo.Resultado.INVALIDA, resultado);
+                assertNotEquals(MotorJogo.Resultado.GRID_ERRADO, resultado);
+                assertTrue(++jogadas <= 8 * tabuleiro.getTotalCartas(), "Dicas não terminam a partida");
+            }
+            assertEquals(-1, motor.sugerirJogada());
+        }
+    }
+
+    private static MotorJogo novoMotor(Tabuleiro tabuleiro) {
+        return new MotorJogo(tabuleiro, new HumanPlayer("Ana"), new HumanPlayer("Bia"));
+    }
+
+    private static MotorJogo.Resultado jogar(MotorJogo motor, int operacao, int resultado) {
+        motor.escolherCarta(operacao);
+        MotorJogo.Resultado segunda = motor.escolherCarta(resultado);
+        if (motor.getFase() == MotorJogo.Fase.AGUARDANDO_CONCLUSAO) {
+            motor.concluirJogada();
+        }
+        return segunda;
+    }
+}
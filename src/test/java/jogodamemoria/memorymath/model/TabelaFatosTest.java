@@ -0,0 +1,91 @@
+package jogodamemoria.memorymath.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica, de forma exaustiva, que cada tabela é uma bijeção entre os seus
+ * índices e os fatos que o gerador original aceitava: todo índice leva a um
+ * fato válido, dois índices nunca levam ao mesmo fato e nenhum fato válido
+ * fica de fora. É isso que faz o sorteio uniforme de um índice reproduzir a
+ * distribuição original.
+ */
+class TabelaFatosTest {
+
+    @Test
+    void somaCobreTodosOsParesUmaVez() {
+        boolean[][] validos = new boolean[101][101];
+        for (int a = 0; a <= 100; a++) {
+            for (int b = 0; b <= 100; b++) {
+                validos[a][b] = true;
+            }
+        }
+        verificarBijecao(TabelaFatos.de(Gerador.SOMA), validos, 101 * 101);
+    }
+
+    @Test
+    void subtracaoCobreTodosOsParesUmaVez() {
+        boolean[][] validos = new boolean[201][201];
+        for (int a = 0; a <= 200; a++) {
+            for (int b = 0; b < a; b++) {
+                validos[a][b] = true;
+            }
+        }
+        verificarBijecao(TabelaFatos.de(Gerador.SUBTRACAO), validos, 200 * 201 / 2);
+    }
+
+    @Test
+    void multiplicacaoCobreTodosOsParesUmaVez() {
+        boolean[][] validos = new boolean[11][11];
+        for (int a = 1; a <= 10; a++) {
+            for (int b = 1; b <= 10; b++) {
+                validos[a][b] = true;
+            }
+        }
+        verificarBijecao(TabelaFatos.de(Gerador.MULTIPLICACAO), validos, 100);
+    }
+
+    @Test
+    void divisaoCobreTodosOsParesUmaVez() {
+        boolean[][] validos = new boolean[301][31];
+        for (int divisor = 1; divisor <= 30; divisor++) {
+            for (int quociente = 1; quociente <= 10; quociente++) {
+                validos[divisor * quociente][divisor] = true;
+            }
+        }
+        verificarBijecao(TabelaFatos.de(Gerador.DIVISAO), validos, 300);
+    }
+
+    @Test
+    void indicePorResultadoCobreATabela() {
+        for (int operacao = Gerador.SOMA; operacao <= Gerador.DIVISAO; operacao++) {
+            TabelaFatos tabela = TabelaFatos.de(operacao);
+            int total = 0;
+            for (int resultado = 0; resultado <= tabela.getResultadoMaximo(); resultado++) {
+                int quantidade = tabela.contarFatosComResultado(resultado);
+                for (int k = 0; k < quantidade; k++) {
+                    assertEquals(resultado, TabelaFatos.resultado(tabela.getFatoComResultado(resultado, k)));
+                }
+                total += quantidade;
+            }
+            assertEquals(tabela.getTamanho(), total);
+        }
+    }
+
+    private static void verificarBijecao(TabelaFatos tabela, boolean[][] validos, int quantidadeValidos) {
+        assertEquals(quantidadeValidos, tabela.getTamanho());
+        boolean[][] vistos = new boolean[validos.length][validos[0].length];
+        for (int indice = 0; indice < tabela.getTamanho(); indice++) {
+            int fato = tabela.getFato(indice);
+            int a = TabelaFatos.operando1(fato);
+            int b = TabelaFatos.operando2(fato);
+            assertTrue(a < validos.length && b < validos[a].length && validos[a][b],
+                    "Fato inválido no índice " + indice + ": " + a + ", " + b);
+            assertFalse(vistos[a][b], "Fato repetido no índice " + indice + ": " + a + ", " + b);
+            vistos[a][b] = true;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package jogodamemoria.memorymath.model;
+
+/**
+ * Monta tabuleiros pequenos e conhecidos para os testes.
+ */
+final class TabuleirosTeste {
+
+    private TabuleirosTeste() {}
+
+    /**
+     * Cria um tabuleiro de uma linha com somas {@code 0 + resultado}. A
+     * posição {@code i} do grid de resultados recebe o par
+     * {@code ordemResultados[i]}.
+     *
+     * @param resultados Resultado de cada carta de operação
+     * @param ordemResultados Carta de operação de cada posição do grid de resultados
+     * @return Tabuleiro com todas as cartas ocultas
+     */
+    static Tabuleiro criar(int[] resultados, int[] ordemResultados) {
+        Baralho baralho = new Baralho(1, resultados.length);
+        for (int i = 0; i < resultados.length; i++) {
+            baralho.definir(i, 0, resultados[i], resultados[i], Gerador.SOMA);
+        }
+        return new Tabuleiro(baralho, ordemResultados);
+    }
+
+    /**
+     * Tabuleiro com resultados distintos {@code 1..pares}, com o grid de
+     * resultados na ordem inversa do de operações.
+     *
+     * @param pares Número de pares
+     * @return Tabuleiro com todas as cartas ocultas
+     */
+    static Tabuleiro distintos(int pares) {
+        int[] resultados = new int[pares];
+        int[] ordem = new int[pares];
+        for (int i = 0; i < pares; i++) {
+            resultados[i] = i + 1;
+            ordem[i] = pares - 1 - i;
+        }
+        return criar(resultados, ordem);
+    }
+
+    /**
+     * Carta de resultado que forma par com a operação informada.
+     *
+     * @param tabuleiro Tabuleiro da partida
+     * @param operacao Índice da carta de operação
+     * @return Índice da carta de resultado do mesmo par
+     */
+    static int resultadoDe(Tabuleiro tabuleiro, int operacao) {
+        for (int carta = tabuleiro.getTotalPares(); carta < tabuleiro.getTotalCartas(); carta++) {
+            if (tabuleiro.getPar(carta) == operacao) {
+                return carta;
+            }
+        }
+        throw new IllegalArgumentException("Operação sem resultado: " + operacao);
+    }
+}